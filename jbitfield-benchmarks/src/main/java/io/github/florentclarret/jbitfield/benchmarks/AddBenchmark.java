@@ -0,0 +1,34 @@
+package io.github.florentclarret.jbitfield.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the creation of bit fields from existing ones.
+ *
+ * @author Florent Clarret
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AddBenchmark {
+
+    @Benchmark
+    public Object addChain(final BitFieldState state) {
+        return state.fixture.addChain(state.next());
+    }
+
+    @Benchmark
+    public Object addAll(final BitFieldState state) {
+        return state.fixture.addAll(state.next());
+    }
+}
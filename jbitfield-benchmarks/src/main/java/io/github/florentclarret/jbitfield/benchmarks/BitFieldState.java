@@ -0,0 +1,42 @@
+package io.github.florentclarret.jbitfield.benchmarks;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark state parameterized by the width of the enum and the density of the bit fields. Each call to
+ * {@link #next()} moves to the next sample so the JIT can not constant-fold the inputs.
+ *
+ * @author Florent Clarret
+ */
+@State(Scope.Thread)
+public class BitFieldState {
+
+    /**
+     * The number of constants of the enum.
+     */
+    @Param({"7", "32", "64"})
+    public int width;
+
+    /**
+     * The probability of each position to be set.
+     */
+    @Param({"0.1", "0.5", "0.9"})
+    public double density;
+
+    Fixture<?> fixture;
+
+    private int index;
+
+    @Setup
+    public void setUp() {
+        fixture = Fixture.of(width, density);
+    }
+
+    int next() {
+        index = (index + 1) & (Fixture.SAMPLES - 1);
+        return index;
+    }
+}
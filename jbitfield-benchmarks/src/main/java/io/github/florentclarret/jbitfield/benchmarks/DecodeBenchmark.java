@@ -0,0 +1,44 @@
+package io.github.florentclarret.jbitfield.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the conversion from a bit field value to its elements.
+ *
+ * @author Florent Clarret
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecodeBenchmark {
+
+    @Benchmark
+    public Object constructor(final BitFieldState state) {
+        return state.fixture.decodeWithConstructor(state.next());
+    }
+
+    @Benchmark
+    public Object cache(final BitFieldState state) {
+        return state.fixture.decodeWithCache(state.next());
+    }
+
+    @Benchmark
+    public Object codec(final BitFieldState state) {
+        return state.fixture.decodeWithCodec(state.next());
+    }
+
+    @Benchmark
+    public long forEachSetElement(final BitFieldState state) {
+        return state.fixture.forEachSetElement(state.next());
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.florentclarret.jbitfield.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the conversion from a set to a bit field value.
+ *
+ * @author Florent Clarret
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncodeBenchmark {
+
+    @Benchmark
+    public long constructor(final BitFieldState state) {
+        return state.fixture.encodeWithConstructor(state.next());
+    }
+
+    @Benchmark
+    public long codec(final BitFieldState state) {
+        return state.fixture.encodeWithCodec(state.next());
+    }
+}
@@ -0,0 +1,153 @@
+package io.github.florentclarret.jbitfield.benchmarks;
+
+import io.github.florentclarret.jbitfield.BitField;
+import io.github.florentclarret.jbitfield.BitFieldCodec;
+import io.github.florentclarret.jbitfield.BitFieldElement;
+import io.github.florentclarret.jbitfield.BitFieldHelper;
+import io.github.florentclarret.jbitfield.benchmarks.enums.Flags32;
+import io.github.florentclarret.jbitfield.benchmarks.enums.Flags64;
+import io.github.florentclarret.jbitfield.benchmarks.enums.Flags7;
+
+import java.lang.reflect.Array;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Sample data and operations of a benchmark for a given enum. The samples are generated once with a fixed seed, each
+ * position being set with the probability given by the density.
+ *
+ * @param <T> The enum which represents the value in the bit field.
+ * @author Florent Clarret
+ */
+final class Fixture<T extends Enum<T> & BitFieldElement> {
+
+    /**
+     * The number of samples, must be a power of two.
+     */
+    static final int SAMPLES = 1024;
+
+    private final Class<T> enumClass;
+
+    private final BitFieldCodec<T> codec;
+
+    private final Set<T>[] sets;
+
+    private final T[][] elements;
+
+    private final long[] values;
+
+    private final BitField<T>[] bitFields;
+
+    private final BitField<T>[] lookups;
+
+    private final Map<BitField<T>, Integer> map = new HashMap<>();
+
+    private long sum;
+
+    private final Consumer<T> ordinalSum = element -> sum += element.ordinal();
+
+    @SuppressWarnings("unchecked")
+    Fixture(final Class<T> enumClass, final double density) {
+        final Random random = new Random(42);
+        final T[] constants = enumClass.getEnumConstants();
+
+        this.enumClass = enumClass;
+        this.codec = BitFieldCodec.of(enumClass);
+        this.sets = new Set[SAMPLES];
+        this.elements = (T[][]) new Enum[SAMPLES][];
+        this.values = new long[SAMPLES];
+        this.bitFields = new BitField[SAMPLES];
+        this.lookups = new BitField[SAMPLES];
+
+        for (int i = 0; i < SAMPLES; ++i) {
+            final Set<T> set = EnumSet.noneOf(enumClass);
+            for (final T constant : constants) {
+                if (random.nextDouble() < density) {
+                    set.add(constant);
+                }
+            }
+
+            sets[i] = set;
+            elements[i] = set.toArray((T[]) Array.newInstance(enumClass, set.size()));
+            values[i] = codec.encode(set);
+            bitFields[i] = new BitField<>(enumClass, set);
+            lookups[i] = new BitField<>(enumClass, values[i]);
+            map.put(bitFields[i], i);
+        }
+    }
+
+    static Fixture<?> of(final int width, final double density) {
+        switch (width) {
+            case 7:
+                return new Fixture<>(Flags7.class, density);
+            case 32:
+                return new Fixture<>(Flags32.class, density);
+            case 64:
+                return new Fixture<>(Flags64.class, density);
+            default:
+                throw new IllegalArgumentException("unsupported width [" + width + "]");
+        }
+    }
+
+    long encodeWithConstructor(final int i) {
+        return new BitField<>(enumClass, sets[i]).getBitFieldValue();
+    }
+
+    long encodeWithCodec(final int i) {
+        return codec.encode(sets[i]);
+    }
+
+    Set<T> decodeWithConstructor(final int i) {
+        return new BitField<>(enumClass, values[i]).getSet();
+    }
+
+    BitField<T> decodeWithCache(final int i) {
+        return BitField.of(enumClass, values[i]);
+    }
+
+    Set<T> decodeWithCodec(final int i) {
+        return codec.decode(values[i]);
+    }
+
+    long forEachSetElement(final int i) {
+        sum = 0;
+        codec.forEachSetElement(values[i], ordinalSum);
+        return sum;
+    }
+
+    BitField<T> addChain(final int i) {
+        BitField<T> result = new BitField<>(enumClass);
+        for (final T element : elements[i]) {
+            result = result.add(element);
+        }
+        return result;
+    }
+
+    BitField<T> addAll(final int i) {
+        return bitFields[i].addAll(sets[(i + 1) & (SAMPLES - 1)]);
+    }
+
+    Integer hashMapGet(final int i) {
+        return map.get(lookups[i]);
+    }
+
+    int hashCode(final int i) {
+        return new BitField<>(enumClass, values[i]).hashCode();
+    }
+
+    boolean validateWithHelper() {
+        return BitFieldHelper.isValidEnum(enumClass);
+    }
+
+    BitFieldCodec<T> validateWithCodec() {
+        return BitFieldCodec.of(enumClass);
+    }
+
+    boolean validateValue(final int i) {
+        return codec.isValid(values[i]);
+    }
+}
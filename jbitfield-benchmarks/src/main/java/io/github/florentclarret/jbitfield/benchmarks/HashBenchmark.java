@@ -0,0 +1,34 @@
+package io.github.florentclarret.jbitfield.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of bit fields used as hash map keys.
+ *
+ * @author Florent Clarret
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashBenchmark {
+
+    @Benchmark
+    public Object hashMapGet(final BitFieldState state) {
+        return state.fixture.hashMapGet(state.next());
+    }
+
+    @Benchmark
+    public int hashCode(final BitFieldState state) {
+        return state.fixture.hashCode(state.next());
+    }
+}
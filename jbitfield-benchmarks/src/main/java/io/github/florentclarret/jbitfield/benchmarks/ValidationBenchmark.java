@@ -0,0 +1,61 @@
+package io.github.florentclarret.jbitfield.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the validation of the enums and of the bit field values. The density of the values does not matter
+ * here, so only the width of the enum is a parameter.
+ *
+ * @author Florent Clarret
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidationBenchmark {
+
+    /**
+     * The number of constants of the enum.
+     */
+    @Param({"7", "32", "64"})
+    public int width;
+
+    private Fixture<?> fixture;
+
+    private int index;
+
+    @Setup
+    public void setUp() {
+        fixture = Fixture.of(width, 0.5);
+    }
+
+    @Benchmark
+    public boolean helper() {
+        return fixture.validateWithHelper();
+    }
+
+    @Benchmark
+    public Object codec() {
+        return fixture.validateWithCodec();
+    }
+
+    @Benchmark
+    public boolean value() {
+        index = (index + 1) & (Fixture.SAMPLES - 1);
+        return fixture.validateValue(index);
+    }
+}
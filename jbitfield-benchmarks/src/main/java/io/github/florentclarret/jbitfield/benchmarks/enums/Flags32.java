@@ -0,0 +1,49 @@
+package io.github.florentclarret.jbitfield.benchmarks.enums;
+
+import io.github.florentclarret.jbitfield.BitFieldElement;
+
+public enum Flags32 implements BitFieldElement {
+    FLAG_0(0),
+    FLAG_1(1),
+    FLAG_2(2),
+    FLAG_3(3),
+    FLAG_4(4),
+    FLAG_5(5),
+    FLAG_6(6),
+    FLAG_7(7),
+    FLAG_8(8),
+    FLAG_9(9),
+    FLAG_10(10),
+    FLAG_11(11),
+    FLAG_12(12),
+    FLAG_13(13),
+    FLAG_14(14),
+    FLAG_15(15),
+    FLAG_16(16),
+    FLAG_17(17),
+    FLAG_18(18),
+    FLAG_19(19),
+    FLAG_20(20),
+    FLAG_21(21),
+    FLAG_22(22),
+    FLAG_23(23),
+    FLAG_24(24),
+    FLAG_25(25),
+    FLAG_26(26),
+    FLAG_27(27),
+    FLAG_28(28),
+    FLAG_29(29),
+    FLAG_30(30),
+    FLAG_31(31);
+
+    private final int position;
+
+    Flags32(final int position) {
+        this.position = position;
+    }
+
+    @Override
+    public int getBitFieldPosition() {
+        return position;
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.florentclarret.jbitfield.benchmarks.enums;
+
+import io.github.florentclarret.jbitfield.BitFieldElement;
+
+public enum Flags7 implements BitFieldElement {
+    FLAG_0(0),
+    FLAG_1(1),
+    FLAG_2(2),
+    FLAG_3(3),
+    FLAG_4(4),
+    FLAG_5(5),
+    FLAG_6(6);
+
+    private final int position;
+
+    Flags7(final int position) {
+        this.position = position;
+    }
+
+    @Override
+    public int getBitFieldPosition() {
+        return position;
+    }
+}
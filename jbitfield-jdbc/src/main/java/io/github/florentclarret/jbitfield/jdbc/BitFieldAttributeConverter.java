@@ -0,0 +1,54 @@
+package io.github.florentclarret.jbitfield.jdbc;
+
+import io.github.florentclarret.jbitfield.BitField;
+import io.github.florentclarret.jbitfield.BitFieldCodec;
+import io.github.florentclarret.jbitfield.BitFieldElement;
+
+import javax.persistence.AttributeConverter;
+
+/**
+ * JPA converter storing a BitField attribute in a BIGINT column. JPA needs a concrete converter per enum, so extend this
+ * class with a public no-arg constructor :
+ * <pre>{@code
+ * @Converter(autoApply = true)
+ * public class WeekDayConverter extends BitFieldAttributeConverter<WeekDay> {
+ *     public WeekDayConverter() {
+ *         super(WeekDay.class);
+ *     }
+ * }
+ * }</pre>
+ * The values read from the database are validated and converted to the canonical BitField instances, and a null
+ * column is a null attribute.
+ *
+ * @param <T> The enum which represents the value in the bit field.
+ * @author Florent Clarret
+ */
+public abstract class BitFieldAttributeConverter<T extends Enum<T> & BitFieldElement>
+        implements AttributeConverter<BitField<T>, Long> {
+
+    /**
+     * The class represented in the bit field
+     */
+    private final Class<T> enumClass;
+
+    /**
+     * Creates a converter for the given enum.
+     *
+     * @param enumClass the Class represented in the bit field
+     * @throws NullPointerException if the enumClass is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement
+     */
+    protected BitFieldAttributeConverter(final Class<T> enumClass) {
+        this.enumClass = BitFieldCodec.of(enumClass).getEnumClass();
+    }
+
+    @Override
+    public Long convertToDatabaseColumn(final BitField<T> attribute) {
+        return (attribute == null) ? null : attribute.getBitFieldValue();
+    }
+
+    @Override
+    public BitField<T> convertToEntityAttribute(final Long dbData) {
+        return (dbData == null) ? null : BitField.of(enumClass, dbData);
+    }
+}
@@ -0,0 +1,291 @@
+package io.github.florentclarret.jbitfield.jdbc;
+
+import io.github.florentclarret.jbitfield.BitField;
+import io.github.florentclarret.jbitfield.BitFieldCodec;
+import io.github.florentclarret.jbitfield.BitFieldElement;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Plain JDBC helpers for BitField values stored in BIGINT columns. The bulk methods work on primitive columns : the
+ * values are bound with {@link PreparedStatement#setLong(int, long)} and read with {@link ResultSet#getLong(int)}, so
+ * no value is ever boxed, and the rows are read in batches of the fetch size of the result set.
+ *
+ * @author Florent Clarret
+ */
+public final class BitFieldJdbc {
+
+    /**
+     * The batch size used when the fetch size of the result set is not set.
+     */
+    static final int DEFAULT_BATCH_SIZE = 1024;
+
+    /**
+     * The maximum batch size taken from the fetch size of a result set, some drivers report the size of the whole
+     * result.
+     */
+    static final int MAX_BATCH_SIZE = 65536;
+
+    /**
+     * Receives the values of a column, one batch at a time.
+     */
+    @FunctionalInterface
+    public interface BatchConsumer {
+        /**
+         * Consume a batch of values. The array is reused for the next batch, only its first values are meaningful.
+         *
+         * @param values The bit field values, validated for the enum.
+         * @param length The number of values of the batch.
+         * @throws SQLException if the consumer fails to access the database
+         */
+        void accept(long[] values, int length) throws SQLException;
+    }
+
+    private BitFieldJdbc() {
+        throw new IllegalArgumentException("no instance for you");
+    }
+
+    /**
+     * Bind a bit field to a parameter of the statement, NULL if the bit field is null.
+     *
+     * @param statement The statement.
+     * @param parameterIndex The index of the parameter, starting at 1.
+     * @param bitField The bit field to bind, may be null.
+     * @throws SQLException if the parameter can not be set
+     * @throws NullPointerException if the statement is null
+     */
+    public static void setBitField(final PreparedStatement statement, final int parameterIndex,
+                                   final BitField<?> bitField) throws SQLException {
+        Objects.requireNonNull(statement, "statement can not be null");
+        if (bitField == null) {
+            statement.setNull(parameterIndex, Types.BIGINT);
+        } else {
+            statement.setLong(parameterIndex, bitField.getBitFieldValue());
+        }
+    }
+
+    /**
+     * Return the bit field stored in a column of the current row, null if the column is NULL.
+     *
+     * @param resultSet The result set, on a row.
+     * @param columnIndex The index of the column, starting at 1.
+     * @param enumClass The type of the elements stored in the bit field
+     * @param <T> The BitFieldElement class.
+     * @return The canonical bit field, or null.
+     * @throws SQLException if the column can not be read
+     * @throws NullPointerException if the resultSet or the enumClass is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement or if the value is not valid for
+     *                                  the enum
+     */
+    public static <T extends Enum<T> & BitFieldElement> BitField<T> getBitField(final ResultSet resultSet,
+                                                                                final int columnIndex,
+                                                                                final Class<T> enumClass)
+            throws SQLException {
+        final long value = Objects.requireNonNull(resultSet, "resultSet can not be null").getLong(columnIndex);
+        return resultSet.wasNull() ? null : BitField.of(enumClass, value);
+    }
+
+    /**
+     * Return the bit field stored in a column of the current row, null if the column is NULL.
+     *
+     * @param resultSet The result set, on a row.
+     * @param columnLabel The label of the column.
+     * @param enumClass The type of the elements stored in the bit field
+     * @param <T> The BitFieldElement class.
+     * @return The canonical bit field, or null.
+     * @throws SQLException if the column can not be read
+     * @throws NullPointerException if the resultSet or the enumClass is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement or if the value is not valid for
+     *                                  the enum
+     */
+    public static <T extends Enum<T> & BitFieldElement> BitField<T> getBitField(final ResultSet resultSet,
+                                                                                final String columnLabel,
+                                                                                final Class<T> enumClass)
+            throws SQLException {
+        return getBitField(resultSet, Objects.requireNonNull(resultSet, "resultSet can not be null")
+                .findColumn(columnLabel), enumClass);
+    }
+
+    /**
+     * Execute the statement once per value, binding the value to the given parameter, and sending the rows to the
+     * database in batches of batchSize rows. The other parameters of the statement must be set beforehand, they are
+     * shared by all the rows.
+     *
+     * @param statement The statement.
+     * @param parameterIndex The index of the bit field parameter, starting at 1.
+     * @param values The bit field values.
+     * @param batchSize The maximum number of rows of a batch.
+     * @return The sum of the update counts reported by the driver.
+     * @throws SQLException if a batch fails
+     * @throws NullPointerException if the statement or the values are null
+     * @throws IllegalArgumentException if the batch size is not positive
+     */
+    public static long executeBatch(final PreparedStatement statement, final int parameterIndex, final long[] values,
+                                    final int batchSize) throws SQLException {
+        Objects.requireNonNull(statement, "statement can not be null");
+        Objects.requireNonNull(values, "values can not be null");
+        checkBatchSize(batchSize);
+
+        long updated = 0;
+        for (int from = 0; from < values.length; from += batchSize) {
+            final int to = Math.min(values.length, from + batchSize);
+            for (int i = from; i < to; ++i) {
+                statement.setLong(parameterIndex, values[i]);
+                statement.addBatch();
+            }
+            for (final int count : statement.executeBatch()) {
+                updated += Math.max(count, 0);
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Read a column of all the remaining rows of the result set, in batches of the fetch size of the result set. Each
+     * batch is validated for the enum before being sent to the consumer.
+     *
+     * @param resultSet The result set, before its first remaining row.
+     * @param columnIndex The index of the column, starting at 1.
+     * @param enumClass The type of the elements stored in the bit field
+     * @param consumer The consumer of the batches.
+     * @param <T> The BitFieldElement class.
+     * @return The number of rows read.
+     * @throws SQLException if the result set can not be read, or if a value is NULL
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement or if a value is not valid for
+     *                                  the enum
+     */
+    public static <T extends Enum<T> & BitFieldElement> long forEachBatch(final ResultSet resultSet,
+                                                                          final int columnIndex,
+                                                                          final Class<T> enumClass,
+                                                                          final BatchConsumer consumer)
+            throws SQLException {
+        return forEachBatch(resultSet, columnIndex, enumClass, batchSize(resultSet), consumer);
+    }
+
+    /**
+     * Read a column of all the remaining rows of the result set, in batches of the given size. Each batch is validated
+     * for the enum before being sent to the consumer.
+     *
+     * @param resultSet The result set, before its first remaining row.
+     * @param columnIndex The index of the column, starting at 1.
+     * @param enumClass The type of the elements stored in the bit field
+     * @param batchSize The maximum number of values of a batch.
+     * @param consumer The consumer of the batches.
+     * @param <T> The BitFieldElement class.
+     * @return The number of rows read.
+     * @throws SQLException if the result set can not be read, or if a value is NULL
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement, if the batch size is not
+     *                                  positive or if a value is not valid for the enum
+     */
+    public static <T extends Enum<T> & BitFieldElement> long forEachBatch(final ResultSet resultSet,
+                                                                          final int columnIndex,
+                                                                          final Class<T> enumClass,
+                                                                          final int batchSize,
+                                                                          final BatchConsumer consumer)
+            throws SQLException {
+        Objects.requireNonNull(resultSet, "resultSet can not be null");
+        Objects.requireNonNull(consumer, "consumer can not be null");
+        checkBatchSize(batchSize);
+
+        final BitFieldCodec<T> codec = BitFieldCodec.of(enumClass);
+        final long[] batch = new long[batchSize];
+        long rows = 0;
+        int length = 0;
+        while (resultSet.next()) {
+            batch[length++] = readValue(resultSet, columnIndex, codec, rows++);
+            if (length == batch.length) {
+                consumer.accept(batch, length);
+                length = 0;
+            }
+        }
+        if (length > 0) {
+            consumer.accept(batch, length);
+        }
+        return rows;
+    }
+
+    /**
+     * Read a column of all the remaining rows of the result set into a primitive array.
+     *
+     * @param resultSet The result set, before its first remaining row.
+     * @param columnIndex The index of the column, starting at 1.
+     * @param enumClass The type of the elements stored in the bit field
+     * @param <T> The BitFieldElement class.
+     * @return The bit field values, validated for the enum.
+     * @throws SQLException if the result set can not be read, or if a value is NULL
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement or if a value is not valid for
+     *                                  the enum
+     */
+    public static <T extends Enum<T> & BitFieldElement> long[] readColumn(final ResultSet resultSet,
+                                                                          final int columnIndex,
+                                                                          final Class<T> enumClass)
+            throws SQLException {
+        final long[][] column = {new long[0]};
+        final int[] size = {0};
+        forEachBatch(resultSet, columnIndex, enumClass, (values, length) -> {
+            if (size[0] + length > column[0].length) {
+                column[0] = Arrays.copyOf(column[0], Math.max(size[0] + length, column[0].length * 2));
+            }
+            System.arraycopy(values, 0, column[0], size[0], length);
+            size[0] += length;
+        });
+        return (size[0] == column[0].length) ? column[0] : Arrays.copyOf(column[0], size[0]);
+    }
+
+    /**
+     * Read a column of all the remaining rows of the result set and decode it to the canonical BitField instances.
+     *
+     * @param resultSet The result set, before its first remaining row.
+     * @param columnIndex The index of the column, starting at 1.
+     * @param enumClass The type of the elements stored in the bit field
+     * @param <T> The BitFieldElement class.
+     * @return The bit fields, in the order of the rows.
+     * @throws SQLException if the result set can not be read, or if a value is NULL
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement or if a value is not valid for
+     *                                  the enum
+     */
+    public static <T extends Enum<T> & BitFieldElement> List<BitField<T>> readBitFields(final ResultSet resultSet,
+                                                                                        final int columnIndex,
+                                                                                        final Class<T> enumClass)
+            throws SQLException {
+        final List<BitField<T>> bitFields = new ArrayList<>();
+        forEachBatch(resultSet, columnIndex, enumClass, (values, length) -> {
+            for (int i = 0; i < length; ++i) {
+                bitFields.add(BitField.of(enumClass, values[i]));
+            }
+        });
+        return bitFields;
+    }
+
+    private static void checkBatchSize(final int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException(String.format("the batch size [%d] must be positive", batchSize));
+        }
+    }
+
+    private static int batchSize(final ResultSet resultSet) throws SQLException {
+        final int fetchSize = Objects.requireNonNull(resultSet, "resultSet can not be null").getFetchSize();
+        return (fetchSize > 0) ? Math.min(fetchSize, MAX_BATCH_SIZE) : DEFAULT_BATCH_SIZE;
+    }
+
+    private static long readValue(final ResultSet resultSet, final int columnIndex, final BitFieldCodec<?> codec,
+                                  final long row) throws SQLException {
+        final long value = resultSet.getLong(columnIndex);
+        if (resultSet.wasNull()) {
+            throw new SQLException(String.format("NULL bit field found in column [%d] of row [%d]", columnIndex, row));
+        }
+        codec.checkValid(value);
+        return value;
+    }
+}
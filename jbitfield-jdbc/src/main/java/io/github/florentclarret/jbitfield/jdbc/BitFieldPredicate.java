@@ -0,0 +1,88 @@
+package io.github.florentclarret.jbitfield.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A SQL predicate built by a {@link BitFieldQuery}, with its mask parameters. The SQL uses {@code ?} placeholders, to
+ * be bound in order with {@link #bind(PreparedStatement, int)} once the predicate is embedded in a statement.
+ *
+ * @author Florent Clarret
+ */
+public final class BitFieldPredicate {
+
+    /**
+     * The SQL predicate.
+     */
+    private final String sql;
+
+    /**
+     * The value of each placeholder.
+     */
+    private final long[] parameters;
+
+    BitFieldPredicate(final String sql, final long[] parameters) {
+        this.sql = sql;
+        this.parameters = parameters;
+    }
+
+    /**
+     * Return the SQL predicate, to be used in a WHERE clause.
+     *
+     * @return The SQL predicate.
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Return the value of each placeholder of the SQL predicate.
+     *
+     * @return A copy of the parameters.
+     */
+    public long[] getParameters() {
+        return parameters.clone();
+    }
+
+    /**
+     * Bind the parameters of the predicate to the statement.
+     *
+     * @param statement The statement embedding the predicate.
+     * @param firstIndex The index of the first placeholder of the predicate in the statement, starting at 1.
+     * @return The index of the first placeholder following the predicate.
+     * @throws SQLException if a parameter can not be set
+     * @throws NullPointerException if the statement is null
+     */
+    public int bind(final PreparedStatement statement, final int firstIndex) throws SQLException {
+        Objects.requireNonNull(statement, "statement can not be null");
+        int index = firstIndex;
+        for (final long parameter : parameters) {
+            statement.setLong(index++, parameter);
+        }
+        return index;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final BitFieldPredicate that = (BitFieldPredicate) o;
+        return sql.equals(that.sql) && Arrays.equals(parameters, that.parameters);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * sql.hashCode() + Arrays.hashCode(parameters);
+    }
+
+    @Override
+    public String toString() {
+        return "BitFieldPredicate{" + "sql=" + sql + ", parameters=" + Arrays.toString(parameters) + '}';
+    }
+}
@@ -0,0 +1,193 @@
+package io.github.florentclarret.jbitfield.jdbc;
+
+import io.github.florentclarret.jbitfield.BitField;
+import io.github.florentclarret.jbitfield.BitFieldCodec;
+import io.github.florentclarret.jbitfield.BitFieldColumns.Match;
+import io.github.florentclarret.jbitfield.BitFieldElement;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Builder of SQL predicates on BIGINT bit field columns, so the rows are filtered by the database instead of being
+ * decoded and tested in Java. Each condition is translated to a bitwise predicate on the column :
+ * <ul>
+ *     <li>{@link Match#CONTAINS_ALL} : {@code (column & ?) = ?}</li>
+ *     <li>{@link Match#CONTAINS_ANY} : {@code (column & ?) <> 0}</li>
+ *     <li>{@link Match#CONTAINS_NONE} : {@code (column & ?) = 0}</li>
+ * </ul>
+ * The bitwise AND is written with the syntax of the {@link BitFieldSqlDialect}, and the conditions are combined with
+ * AND, inside parentheses when there are several so the predicate can be negated or combined with any other operator.
+ * The conditions with an empty mask are replaced by constant predicates, and the CONTAINS_ALL conditions on a
+ * single element use the cheaper CONTAINS_ANY form. The instances are not thread-safe.
+ *
+ * @param <T> The enum which represents the value in the bit field.
+ * @author Florent Clarret
+ */
+public final class BitFieldQuery<T extends Enum<T> & BitFieldElement> {
+
+    /**
+     * The accepted column names, optionally qualified by a table name or alias.
+     */
+    private static final Pattern COLUMN = Pattern.compile("[A-Za-z_][A-Za-z0-9_$]*(\\.[A-Za-z_][A-Za-z0-9_$]*)?");
+
+    /**
+     * The predicate of a query without any condition.
+     */
+    private static final String TRUE = "1 = 1";
+
+    /**
+     * The predicate of a condition no row can match.
+     */
+    private static final String FALSE = "1 = 0";
+
+    /**
+     * The codec of the class represented in the bit field
+     */
+    private final BitFieldCodec<T> codec;
+
+    /**
+     * The SQL syntax of the bitwise AND.
+     */
+    private final BitFieldSqlDialect dialect;
+
+    /**
+     * The conditions added so far, combined with AND.
+     */
+    private final StringBuilder sql = new StringBuilder();
+
+    /**
+     * The number of conditions added so far.
+     */
+    private int conditionCount;
+
+    /**
+     * The parameters of the conditions added so far.
+     */
+    private long[] parameters = new long[4];
+
+    /**
+     * The number of parameters added so far.
+     */
+    private int parameterCount;
+
+    /**
+     * Creates a query without any condition.
+     *
+     * @param enumClass The type of the elements stored in the bit field
+     * @param dialect The SQL syntax of the bitwise AND.
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement
+     */
+    public BitFieldQuery(final Class<T> enumClass, final BitFieldSqlDialect dialect) {
+        this.codec = BitFieldCodec.of(enumClass);
+        this.dialect = Objects.requireNonNull(dialect, "dialect can not be null");
+    }
+
+    /**
+     * Add a condition on the column.
+     *
+     * @param column The name of the BIGINT column, optionally qualified.
+     * @param match The predicate to apply.
+     * @param mask The elements to look for.
+     * @return The current query.
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if the column is not a valid column name
+     */
+    public BitFieldQuery<T> where(final String column, final Match match, final BitField<T> mask) {
+        Objects.requireNonNull(column, "column can not be null");
+        Objects.requireNonNull(match, "match can not be null");
+        final long value = Objects.requireNonNull(mask, "mask can not be null").getBitFieldValue();
+        if (!COLUMN.matcher(column).matches()) {
+            throw new IllegalArgumentException(String.format("the column [%s] is not a valid column name", column));
+        }
+
+        if (conditionCount++ > 0) {
+            sql.append(" AND ");
+        }
+
+        if (value == 0) {
+            // Every value contains all and none of the elements of an empty mask, but never any of them
+            sql.append((match == Match.CONTAINS_ANY) ? FALSE : TRUE);
+        } else if (match == Match.CONTAINS_ALL && Long.bitCount(value) > 1) {
+            sql.append(dialect.bitAnd(column, "?")).append(" = ?");
+            addParameter(value);
+            addParameter(value);
+        } else {
+            sql.append(dialect.bitAnd(column, "?")).append((match == Match.CONTAINS_NONE) ? " = 0" : " <> 0");
+            addParameter(value);
+        }
+        return this;
+    }
+
+    /**
+     * Add a condition matching the values of the column containing all the elements of the mask.
+     *
+     * @param column The name of the BIGINT column, optionally qualified.
+     * @param mask The elements to look for.
+     * @return The current query.
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if the column is not a valid column name
+     */
+    public BitFieldQuery<T> containsAll(final String column, final BitField<T> mask) {
+        return where(column, Match.CONTAINS_ALL, mask);
+    }
+
+    /**
+     * Add a condition matching the values of the column containing at least one element of the mask.
+     *
+     * @param column The name of the BIGINT column, optionally qualified.
+     * @param mask The elements to look for.
+     * @return The current query.
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if the column is not a valid column name
+     */
+    public BitFieldQuery<T> containsAny(final String column, final BitField<T> mask) {
+        return where(column, Match.CONTAINS_ANY, mask);
+    }
+
+    /**
+     * Add a condition matching the values of the column containing none of the elements of the mask.
+     *
+     * @param column The name of the BIGINT column, optionally qualified.
+     * @param mask The elements to look for.
+     * @return The current query.
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if the column is not a valid column name
+     */
+    public BitFieldQuery<T> containsNone(final String column, final BitField<T> mask) {
+        return where(column, Match.CONTAINS_NONE, mask);
+    }
+
+    /**
+     * Return the predicate of the conditions added so far, {@code 1 = 1} if there is none. Several conditions are
+     * wrapped in parentheses, e.g. {@code ((days & ?) = ? AND (days & ?) = 0)}, so the predicate can be embedded in a
+     * larger WHERE clause as is.
+     *
+     * @return The predicate.
+     */
+    public BitFieldPredicate build() {
+        final String predicate;
+        if (conditionCount == 0) {
+            predicate = TRUE;
+        } else if (conditionCount == 1) {
+            predicate = sql.toString();
+        } else {
+            predicate = '(' + sql.toString() + ')';
+        }
+        return new BitFieldPredicate(predicate, Arrays.copyOf(parameters, parameterCount));
+    }
+
+    private void addParameter(final long value) {
+        if (parameterCount == parameters.length) {
+            parameters = Arrays.copyOf(parameters, parameterCount * 2);
+        }
+        parameters[parameterCount++] = value;
+    }
+
+    @Override
+    public String toString() {
+        return "BitFieldQuery{" + "enumClass=" + codec.getEnumClass().getName() + ", dialect=" + dialect + '}';
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.florentclarret.jbitfield.jdbc;
+
+import java.util.Objects;
+
+/**
+ * The SQL syntax of the bitwise AND between a BIGINT column and a mask, which is not standardized.
+ *
+ * @author Florent Clarret
+ */
+public enum BitFieldSqlDialect {
+    /**
+     * H2, with the BITAND function.
+     */
+    H2,
+    /**
+     * Oracle, with the BITAND function.
+     */
+    ORACLE,
+    /**
+     * PostgreSQL, with the {@code &} operator.
+     */
+    POSTGRESQL,
+    /**
+     * SQL Server, with the {@code &} operator.
+     */
+    SQL_SERVER,
+    /**
+     * MySQL and MariaDB, with the {@code &} operator. Its result is an unsigned BIGINT, so it is cast back to a signed
+     * one to be compared with a mask using the 64th bit.
+     */
+    MYSQL;
+
+    /**
+     * Return the expression of the bitwise AND between the column and the mask.
+     *
+     * @param column The column, or any BIGINT expression.
+     * @param mask The mask, or any BIGINT expression, e.g. a parameter.
+     * @return The SQL expression.
+     * @throws NullPointerException if any parameter is null
+     */
+    public String bitAnd(final String column, final String mask) {
+        Objects.requireNonNull(column, "column can not be null");
+        Objects.requireNonNull(mask, "mask can not be null");
+        switch (this) {
+            case H2:
+            case ORACLE:
+                return "BITAND(" + column + ", " + mask + ")";
+            case MYSQL:
+                return "CAST(" + column + " & " + mask + " AS SIGNED)";
+            default:
+                return "(" + column + " & " + mask + ")";
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.florentclarret.jbitfield.jdbc;
+
+import io.github.florentclarret.jbitfield.BitField;
+import io.github.florentclarret.jbitfield.jdbc.enums.WeekDay;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BitFieldAttributeConverterTest {
+
+    private static final class WeekDayConverter extends BitFieldAttributeConverter<WeekDay> {
+        WeekDayConverter() {
+            super(WeekDay.class);
+        }
+    }
+
+    private final WeekDayConverter converter = new WeekDayConverter();
+
+    @Test
+    public void testConvertToDatabaseColumn() {
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertEquals(0L, converter.convertToDatabaseColumn(BitField.of(WeekDay.class, 0)));
+        assertEquals(17L, converter.convertToDatabaseColumn(BitField.of(WeekDay.class, EnumSet.of(WeekDay.MONDAY, WeekDay.FRIDAY))));
+    }
+
+    @Test
+    public void testConvertToEntityAttribute() {
+        assertNull(converter.convertToEntityAttribute(null));
+        assertSame(BitField.of(WeekDay.class, 17), converter.convertToEntityAttribute(17L));
+        assertThrows(IllegalArgumentException.class, () -> converter.convertToEntityAttribute(128L));
+    }
+
+    @Test
+    public void testInvalidEnum() {
+        assertThrows(NullPointerException.class, () -> new BitFieldAttributeConverter<WeekDay>(null) { });
+    }
+}
@@ -0,0 +1,180 @@
+package io.github.florentclarret.jbitfield.jdbc;
+
+import io.github.florentclarret.jbitfield.BitField;
+import io.github.florentclarret.jbitfield.BitFieldCounters;
+import io.github.florentclarret.jbitfield.BitFieldMetrics;
+import io.github.florentclarret.jbitfield.jdbc.enums.WeekDay;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BitFieldJdbcTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE days (id IDENTITY PRIMARY KEY, name VARCHAR(16), days BIGINT)");
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    private long[] insertAll(final long[] values, final int batchSize) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO days (name, days) VALUES (?, ?)")) {
+            statement.setString(1, "batch");
+            assertEquals(values.length, BitFieldJdbc.executeBatch(statement, 2, values, batchSize));
+        }
+        return values;
+    }
+
+    private ResultSet select(final Statement statement, final int fetchSize) throws SQLException {
+        final ResultSet resultSet = statement.executeQuery("SELECT days FROM days ORDER BY id");
+        resultSet.setFetchSize(fetchSize);
+        return resultSet;
+    }
+
+    @Test
+    public void testSetAndGetBitField() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO days (days) VALUES (?)")) {
+            BitFieldJdbc.setBitField(statement, 1, BitField.of(WeekDay.class, 17));
+            statement.executeUpdate();
+            BitFieldJdbc.setBitField(statement, 1, null);
+            statement.executeUpdate();
+        }
+
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT days FROM days ORDER BY id")) {
+            resultSet.next();
+            assertSame(BitField.of(WeekDay.class, 17), BitFieldJdbc.getBitField(resultSet, 1, WeekDay.class));
+            assertSame(BitField.of(WeekDay.class, 17), BitFieldJdbc.getBitField(resultSet, "days", WeekDay.class));
+            resultSet.next();
+            assertNull(BitFieldJdbc.getBitField(resultSet, 1, WeekDay.class));
+        }
+    }
+
+    @Test
+    public void testReadColumn() throws SQLException {
+        final long[] values = insertAll(LongStream.range(0, 1000).map(i -> i % 128).toArray(), 64);
+
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = select(statement, 100)) {
+            assertArrayEquals(values, BitFieldJdbc.readColumn(resultSet, 1, WeekDay.class));
+        }
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = select(statement, 0)) {
+            assertArrayEquals(values, BitFieldJdbc.readColumn(resultSet, 1, WeekDay.class));
+        }
+    }
+
+    @Test
+    public void testForEachBatch() throws SQLException {
+        final long[] values = insertAll(LongStream.range(0, 250).map(i -> i % 128).toArray(), 1000);
+        final List<Integer> lengths = new ArrayList<>();
+        final long[] sum = {0};
+
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = select(statement, 100)) {
+            assertEquals(250, BitFieldJdbc.forEachBatch(resultSet, 1, WeekDay.class, 100, (batch, length) -> {
+                lengths.add(length);
+                for (int i = 0; i < length; ++i) {
+                    sum[0] += batch[i];
+                }
+            }));
+        }
+
+        assertEquals(Arrays.asList(100, 100, 50), lengths);
+        assertEquals(LongStream.of(values).sum(), sum[0]);
+    }
+
+    @Test
+    public void testReadBitFields() throws SQLException {
+        insertAll(new long[]{0, 17, 127}, 2);
+
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = select(statement, 0)) {
+            final List<BitField<WeekDay>> bitFields = BitFieldJdbc.readBitFields(resultSet, 1, WeekDay.class);
+            assertEquals(3, bitFields.size());
+            assertSame(BitField.of(WeekDay.class, 0), bitFields.get(0));
+            assertSame(BitField.of(WeekDay.class, 17), bitFields.get(1));
+            assertSame(BitField.of(WeekDay.class, 127), bitFields.get(2));
+        }
+    }
+
+    @Test
+    public void testEmptyColumn() throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = select(statement, 0)) {
+            assertArrayEquals(new long[0], BitFieldJdbc.readColumn(resultSet, 1, WeekDay.class));
+        }
+    }
+
+    @Test
+    public void testInvalidValuesAreCountedByTheMetrics() throws SQLException {
+        insertAll(new long[]{1, 128}, 10);
+        final BitFieldCounters counters = BitFieldMetrics.getCounters(WeekDay.class);
+        final long failures = counters.getValidationFailures();
+
+        BitFieldMetrics.enable();
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = select(statement, 0)) {
+            assertThrows(IllegalArgumentException.class, () -> BitFieldJdbc.readColumn(resultSet, 1, WeekDay.class));
+        } finally {
+            BitFieldMetrics.disable();
+        }
+
+        assertEquals(failures + 1, counters.getValidationFailures());
+    }
+
+    @Test
+    public void testInvalidValues() throws SQLException {
+        insertAll(new long[]{1, 128}, 10);
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = select(statement, 0)) {
+            assertEquals("Invalid value found in bit field [128] for enum [io.github.florentclarret.jbitfield.jdbc.enums.WeekDay]",
+                    assertThrows(IllegalArgumentException.class, () -> BitFieldJdbc.readColumn(resultSet, 1, WeekDay.class)).getMessage());
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO days (days) VALUES (NULL)");
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT days FROM days WHERE days IS NULL OR days = 1 ORDER BY id")) {
+            assertEquals("NULL bit field found in column [1] of row [1]",
+                    assertThrows(SQLException.class, () -> BitFieldJdbc.readColumn(resultSet, 1, WeekDay.class)).getMessage());
+        }
+    }
+
+    @Test
+    public void testInvalidInput() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO days (days) VALUES (?)")) {
+            assertEquals("the batch size [0] must be positive",
+                    assertThrows(IllegalArgumentException.class, () -> BitFieldJdbc.executeBatch(statement, 1, new long[0], 0)).getMessage());
+            assertEquals("values can not be null",
+                    assertThrows(NullPointerException.class, () -> BitFieldJdbc.executeBatch(statement, 1, null, 1)).getMessage());
+        }
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = select(statement, 0)) {
+            assertEquals("the batch size [-1] must be positive",
+                    assertThrows(IllegalArgumentException.class, () -> BitFieldJdbc.forEachBatch(resultSet, 1, WeekDay.class, -1, (values, length) -> { })).getMessage());
+        }
+        assertEquals("statement can not be null",
+                assertThrows(NullPointerException.class, () -> BitFieldJdbc.setBitField(null, 1, null)).getMessage());
+        assertEquals("resultSet can not be null",
+                assertThrows(NullPointerException.class, () -> BitFieldJdbc.readColumn(null, 1, WeekDay.class)).getMessage());
+    }
+}
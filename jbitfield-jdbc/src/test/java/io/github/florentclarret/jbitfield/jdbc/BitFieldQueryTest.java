@@ -0,0 +1,152 @@
+package io.github.florentclarret.jbitfield.jdbc;
+
+import io.github.florentclarret.jbitfield.BitField;
+import io.github.florentclarret.jbitfield.BitFieldColumns.Match;
+import io.github.florentclarret.jbitfield.jdbc.enums.WeekDay;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.EnumSet;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BitFieldQueryTest {
+
+    private static final BitField<WeekDay> WEEK_END = BitField.of(WeekDay.class, EnumSet.of(WeekDay.SATURDAY, WeekDay.SUNDAY));
+
+    private static final BitField<WeekDay> MONDAY = BitField.of(WeekDay.class, EnumSet.of(WeekDay.MONDAY));
+
+    private static final BitField<WeekDay> EMPTY = BitField.of(WeekDay.class, 0);
+
+    private Connection connection;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE days (id IDENTITY PRIMARY KEY, days BIGINT)");
+        }
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO days (days) VALUES (?)")) {
+            BitFieldJdbc.executeBatch(statement, 1, LongStream.range(0, 128).toArray(), 32);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    private long[] select(final BitFieldPredicate predicate) throws SQLException {
+        return select(predicate.getSql(), predicate);
+    }
+
+    private long[] select(final String where, final BitFieldPredicate predicate) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT d.days FROM days d WHERE " + where
+                + " ORDER BY d.id")) {
+            assertEquals(predicate.getParameters().length + 1, predicate.bind(statement, 1));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return BitFieldJdbc.readColumn(resultSet, 1, WeekDay.class);
+            }
+        }
+    }
+
+    private static long[] expected(final Match match, final BitField<WeekDay> mask) {
+        return LongStream.range(0, 128).filter(value -> match.test(value, mask.getBitFieldValue())).toArray();
+    }
+
+    @Test
+    public void testSql() {
+        assertEquals("1 = 1", new BitFieldQuery<>(WeekDay.class, BitFieldSqlDialect.H2).build().getSql());
+
+        final BitFieldPredicate predicate = new BitFieldQuery<>(WeekDay.class, BitFieldSqlDialect.POSTGRESQL)
+                .containsAll("days", WEEK_END)
+                .containsAll("t.days", MONDAY)
+                .containsAny("days", WEEK_END)
+                .containsNone("days", MONDAY)
+                .build();
+        assertEquals("((days & ?) = ? AND (t.days & ?) <> 0 AND (days & ?) <> 0 AND (days & ?) = 0)", predicate.getSql());
+        assertArrayEquals(new long[]{96, 96, 1, 96, 1}, predicate.getParameters());
+    }
+
+    @Test
+    public void testEmptyMask() {
+        final BitFieldPredicate predicate = new BitFieldQuery<>(WeekDay.class, BitFieldSqlDialect.H2)
+                .containsAll("days", EMPTY)
+                .containsAny("days", EMPTY)
+                .containsNone("days", EMPTY)
+                .build();
+
+        assertEquals("(1 = 1 AND 1 = 0 AND 1 = 1)", predicate.getSql());
+        assertArrayEquals(new long[0], predicate.getParameters());
+    }
+
+    @Test
+    public void testMatchesJava() throws SQLException {
+        for (final Match match : Match.values()) {
+            for (final BitField<WeekDay> mask : new BitField[]{EMPTY, MONDAY, WEEK_END, BitField.of(WeekDay.class, 127)}) {
+                final BitFieldPredicate predicate = new BitFieldQuery<>(WeekDay.class, BitFieldSqlDialect.H2)
+                        .where("d.days", match, mask)
+                        .build();
+                assertArrayEquals(expected(match, mask), select(predicate), predicate.toString());
+            }
+        }
+    }
+
+    @Test
+    public void testCombinedConditions() throws SQLException {
+        final BitFieldPredicate predicate = new BitFieldQuery<>(WeekDay.class, BitFieldSqlDialect.H2)
+                .containsAll("days", WEEK_END)
+                .containsNone("days", MONDAY)
+                .build();
+
+        assertArrayEquals(LongStream.range(0, 128).filter(value -> (value & 96) == 96 && (value & 1) == 0).toArray(), select(predicate));
+    }
+
+    @Test
+    public void testNegatedConditions() throws SQLException {
+        final BitFieldPredicate predicate = new BitFieldQuery<>(WeekDay.class, BitFieldSqlDialect.H2)
+                .containsAll("days", WEEK_END)
+                .containsNone("days", MONDAY)
+                .build();
+        final BitFieldPredicate single = new BitFieldQuery<>(WeekDay.class, BitFieldSqlDialect.H2)
+                .containsAll("days", WEEK_END)
+                .build();
+
+        assertArrayEquals(LongStream.range(0, 128).filter(value -> !((value & 96) == 96 && (value & 1) == 0)).toArray(), select("NOT " + predicate.getSql(), predicate));
+        assertArrayEquals(LongStream.range(0, 128).filter(value -> (value & 96) != 96).toArray(), select("NOT " + single.getSql(), single));
+        assertArrayEquals(LongStream.range(0, 128).filter(value -> value == 3 || (value & 96) == 96 && (value & 1) == 0).toArray(), select("d.days = 3 OR " + predicate.getSql(), predicate));
+    }
+
+    @Test
+    public void testPredicate() {
+        final BitFieldPredicate predicate = new BitFieldQuery<>(WeekDay.class, BitFieldSqlDialect.ORACLE).containsAny("days", MONDAY).build();
+
+        assertEquals("BITAND(days, ?) <> 0", predicate.getSql());
+        assertEquals(predicate, new BitFieldQuery<>(WeekDay.class, BitFieldSqlDialect.ORACLE).containsAny("days", MONDAY).build());
+        assertEquals(predicate.hashCode(), new BitFieldQuery<>(WeekDay.class, BitFieldSqlDialect.ORACLE).containsAny("days", MONDAY).build().hashCode());
+        assertEquals("BitFieldPredicate{sql=BITAND(days, ?) <> 0, parameters=[1]}", predicate.toString());
+    }
+
+    @Test
+    public void testInvalidInput() {
+        final BitFieldQuery<WeekDay> query = new BitFieldQuery<>(WeekDay.class, BitFieldSqlDialect.H2);
+
+        assertEquals("the column [days; DROP TABLE days] is not a valid column name",
+                assertThrows(IllegalArgumentException.class, () -> query.containsAll("days; DROP TABLE days", MONDAY)).getMessage());
+        assertEquals("column can not be null", assertThrows(NullPointerException.class, () -> query.containsAll(null, MONDAY)).getMessage());
+        assertEquals("match can not be null", assertThrows(NullPointerException.class, () -> query.where("days", null, MONDAY)).getMessage());
+        assertEquals("mask can not be null", assertThrows(NullPointerException.class, () -> query.containsAny("days", null)).getMessage());
+        assertEquals("dialect can not be null", assertThrows(NullPointerException.class, () -> new BitFieldQuery<>(WeekDay.class, null)).getMessage());
+        assertEquals("1 = 1", query.build().getSql());
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.florentclarret.jbitfield.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BitFieldSqlDialectTest {
+
+    @Test
+    public void testBitAnd() {
+        assertEquals("BITAND(days, ?)", BitFieldSqlDialect.H2.bitAnd("days", "?"));
+        assertEquals("BITAND(t.days, 3)", BitFieldSqlDialect.ORACLE.bitAnd("t.days", "3"));
+        assertEquals("(days & ?)", BitFieldSqlDialect.POSTGRESQL.bitAnd("days", "?"));
+        assertEquals("(days & ?)", BitFieldSqlDialect.SQL_SERVER.bitAnd("days", "?"));
+        assertEquals("CAST(days & ? AS SIGNED)", BitFieldSqlDialect.MYSQL.bitAnd("days", "?"));
+    }
+
+    @Test
+    public void testInvalidInput() {
+        assertEquals("column can not be null", assertThrows(NullPointerException.class, () -> BitFieldSqlDialect.H2.bitAnd(null, "?")).getMessage());
+        assertEquals("mask can not be null", assertThrows(NullPointerException.class, () -> BitFieldSqlDialect.H2.bitAnd("days", null)).getMessage());
+    }
+}
@@ -0,0 +1,28 @@
+package io.github.florentclarret.jbitfield.jdbc.enums;
+
+import io.github.florentclarret.jbitfield.BitFieldElement;
+
+public enum WeekDay implements BitFieldElement {
+    MONDAY(0),
+    TUESDAY(1),
+    WEDNESDAY(2),
+    THURSDAY(3),
+    FRIDAY(4),
+    SATURDAY(5),
+    SUNDAY(6);
+
+    private final int bitFieldPosition;
+
+    WeekDay(final int position) {
+        if (position < 0) {
+            throw new IllegalArgumentException("The bitFieldPosition must be positive or null, current value = [" +
+                    position + "]");
+        }
+        this.bitFieldPosition = position;
+    }
+
+    @Override
+    public int getBitFieldPosition() {
+        return bitFieldPosition;
+    }
+}
\ No newline at end of file
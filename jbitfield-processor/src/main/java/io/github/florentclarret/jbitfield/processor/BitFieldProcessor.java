@@ -0,0 +1,182 @@
+package io.github.florentclarret.jbitfield.processor;
+
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.LiteralTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.ParenthesizedTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.UnaryTree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.Trees;
+import io.github.florentclarret.jbitfield.BitFieldElement;
+import io.github.florentclarret.jbitfield.GenerateBitFields;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generate a specialized codec for each enum annotated with {@link GenerateBitFields}. The
+ * positions of the constants are read from the arguments of their constructor through the compiler tree API, and
+ * validated like {@link io.github.florentclarret.jbitfield.BitFieldHelper#isValidEnum(Class)} does at runtime : any
+ * invalid enum is reported as a compilation error.
+ *
+ * @author Florent Clarret
+ */
+@SupportedAnnotationTypes("io.github.florentclarret.jbitfield.GenerateBitFields")
+public final class BitFieldProcessor extends AbstractProcessor {
+
+    /**
+     * The tree API of the compiler, null if the compiler does not support it.
+     */
+    private Trees trees;
+
+    @Override
+    public synchronized void init(final ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        try {
+            this.trees = Trees.instance(processingEnv);
+        } catch (final IllegalArgumentException e) {
+            this.trees = null;
+        }
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        for (final Element element : roundEnv.getElementsAnnotatedWith(GenerateBitFields.class)) {
+            if (element.getKind() != ElementKind.ENUM) {
+                error(element, "@GenerateBitFields can only be used on enums");
+            } else if (!isBitFieldElement((TypeElement) element)) {
+                error(element, "the enum [%s] must implement %s", element, BitFieldElement.class.getName());
+            } else if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                error(element, "the enum [%s] can not be private", element);
+            } else if (trees == null) {
+                error(element, "@GenerateBitFields requires the compiler tree API of javac");
+            } else {
+                generate((TypeElement) element);
+            }
+        }
+        return true;
+    }
+
+    private boolean isBitFieldElement(final TypeElement element) {
+        final TypeMirror bitFieldElement = processingEnv.getElementUtils()
+                .getTypeElement(BitFieldElement.class.getCanonicalName()).asType();
+        return processingEnv.getTypeUtils().isAssignable(element.asType(), bitFieldElement);
+    }
+
+    private void generate(final TypeElement element) {
+        final int argument = element.getAnnotation(GenerateBitFields.class).positionArgument();
+        final List<String> names = new ArrayList<>();
+        final List<Integer> positions = new ArrayList<>();
+        final Map<Integer, String> namesByPosition = new HashMap<>();
+        boolean valid = true;
+
+        for (final Element constant : element.getEnclosedElements()) {
+            if (constant.getKind() != ElementKind.ENUM_CONSTANT) {
+                continue;
+            }
+
+            final String name = constant.getSimpleName().toString();
+            final Integer position = readPosition(constant, argument);
+            if (position == null) {
+                valid = false;
+            } else if (position < 0) {
+                error(constant, "The bitFieldPosition of [%s] must be positive or null, current value = [%d]", name,
+                        position);
+                valid = false;
+            } else if (position >= Long.SIZE) {
+                error(constant, "the position [%d] of [%s] does not fit in a long, use a LargeBitField instead",
+                        position, name);
+                valid = false;
+            } else if (namesByPosition.containsKey(position)) {
+                error(constant, "the position [%d] of [%s] is already used by [%s]", position, name,
+                        namesByPosition.get(position));
+                valid = false;
+            } else if (BitFieldsSource.RESERVED_NAMES.contains(name)) {
+                error(constant, "the constant name [%s] is reserved by the generated class", name);
+                valid = false;
+            }
+
+            names.add(name);
+            positions.add(position);
+            if (position != null) {
+                namesByPosition.putIfAbsent(position, name);
+            }
+        }
+
+        if (valid) {
+            write(element, new BitFieldsSource(processingEnv.getElementUtils(), element, names, positions));
+        }
+    }
+
+    private Integer readPosition(final Element constant, final int argument) {
+        final Tree tree = trees.getTree(constant);
+        final ExpressionTree initializer = (tree instanceof VariableTree) ? ((VariableTree) tree).getInitializer()
+                : null;
+        if (!(initializer instanceof NewClassTree)) {
+            error(constant, "the position of [%s] can not be read from the source code", constant);
+            return null;
+        }
+
+        final List<? extends ExpressionTree> arguments = ((NewClassTree) initializer).getArguments();
+        if (argument < 0 || argument >= arguments.size()) {
+            error(constant, "the constructor of [%s] has no argument at index [%d]", constant, argument);
+            return null;
+        }
+
+        final Integer position = intLiteral(arguments.get(argument));
+        if (position == null) {
+            error(constant, "the position of [%s] must be an int literal", constant);
+        }
+        return position;
+    }
+
+    private static Integer intLiteral(final ExpressionTree expression) {
+        if (expression.getKind() == Tree.Kind.INT_LITERAL) {
+            return (Integer) ((LiteralTree) expression).getValue();
+        } else if (expression.getKind() == Tree.Kind.UNARY_MINUS) {
+            final Integer value = intLiteral(((UnaryTree) expression).getExpression());
+            return (value == null) ? null : -value;
+        } else if (expression.getKind() == Tree.Kind.PARENTHESIZED) {
+            return intLiteral(((ParenthesizedTree) expression).getExpression());
+        }
+        return null;
+    }
+
+    private void write(final TypeElement element, final BitFieldsSource source) {
+        try {
+            final JavaFileObject file = processingEnv.getFiler().createSourceFile(source.getQualifiedName(), element);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (final IOException e) {
+            error(element, "unable to write [%s] : %s", source.getQualifiedName(), e.getMessage());
+        }
+    }
+
+    private void error(final Element element, final String format, final Object... args) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format(format, args), element);
+    }
+}
@@ -0,0 +1,185 @@
+package io.github.florentclarret.jbitfield.processor;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The source code of the class generated for an enum. For an enum {@code WeekDay}, the class {@code WeekDayBitFields}
+ * contains :
+ * <ul>
+ *     <li>a {@code long} constant per element, named after it, holding its mask</li>
+ *     <li>{@code VALID_MASK} and {@code WIDTH}, the union of all the masks and the number of bits used</li>
+ *     <li>a table of the masks indexed by ordinal, and a table of the elements indexed by position</li>
+ *     <li>static {@code mask}, {@code isValid}, {@code contains}, {@code encode} and {@code decode} methods</li>
+ * </ul>
+ * The positions are read from the constructor arguments, so the class checks once, in its static initializer, that
+ * {@code getBitFieldPosition()} returns the generated position of each constant, and fails to load otherwise.
+ * A nested enum {@code Outer.Inner} generates {@code Outer_InnerBitFields}.
+ *
+ * @author Florent Clarret
+ */
+final class BitFieldsSource {
+
+    /**
+     * The names of the generated members which can not be used as enum constant names.
+     */
+    static final Set<String> RESERVED_NAMES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList("VALID_MASK",
+            "WIDTH", "MASKS_BY_ORDINAL", "ELEMENTS_BY_POSITION")));
+
+    /**
+     * The package of the enum and of the generated class.
+     */
+    private final String packageName;
+
+    /**
+     * The simple name of the generated class.
+     */
+    private final String simpleName;
+
+    /**
+     * The canonical name of the enum, used in the source code.
+     */
+    private final String enumName;
+
+    /**
+     * The binary name of the enum, used in the error messages like {@link Class#getName()}.
+     */
+    private final String enumBinaryName;
+
+    /**
+     * The names of the constants, by ordinal.
+     */
+    private final List<String> names;
+
+    /**
+     * The positions of the constants, by ordinal.
+     */
+    private final List<Integer> positions;
+
+    BitFieldsSource(final Elements elements, final TypeElement element, final List<String> names,
+                    final List<Integer> positions) {
+        this.packageName = elements.getPackageOf(element).getQualifiedName().toString();
+        this.enumName = element.getQualifiedName().toString();
+        this.enumBinaryName = elements.getBinaryName(element).toString();
+
+        final String relativeName = packageName.isEmpty() ? enumBinaryName
+                : enumBinaryName.substring(packageName.length() + 1);
+        this.simpleName = relativeName.replace('$', '_') + "BitFields";
+        this.names = names;
+        this.positions = positions;
+    }
+
+    /**
+     * Return the fully qualified name of the generated class.
+     *
+     * @return The name of the generated class.
+     */
+    String getQualifiedName() {
+        return packageName.isEmpty() ? simpleName : packageName + '.' + simpleName;
+    }
+
+    @Override
+    public String toString() {
+        long validMask = 0;
+        for (final int position : positions) {
+            validMask |= 1L << position;
+        }
+        final int width = Long.SIZE - Long.numberOfLeadingZeros(validMask);
+
+        final String[] elementsByPosition = new String[width];
+        Arrays.fill(elementsByPosition, "null");
+        for (int i = 0; i < names.size(); ++i) {
+            elementsByPosition[positions.get(i)] = enumName + '.' + names.get(i);
+        }
+
+        final StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n")
+                .append(" * Specialized bit field codec of {@link ").append(enumName).append("}.\n")
+                .append(" * Generated by io.github.florentclarret.jbitfield.processor.BitFieldProcessor, do not edit.\n")
+                .append(" */\n")
+                .append("public final class ").append(simpleName).append(" {\n\n");
+
+        for (int i = 0; i < names.size(); ++i) {
+            source.append("    /** The mask of {@link ").append(enumName).append('#').append(names.get(i)).append("}. */\n")
+                    .append("    public static final long ").append(names.get(i)).append(" = ")
+                    .append(hex(1L << positions.get(i))).append(";\n\n");
+        }
+
+        source.append("    /** The union of the masks of all the elements. */\n")
+                .append("    public static final long VALID_MASK = ").append(hex(validMask)).append(";\n\n")
+                .append("    /** The number of bits needed to store any value, i.e. the highest position plus one. */\n")
+                .append("    public static final int WIDTH = ").append(width).append(";\n\n")
+                .append("    private static final long[] MASKS_BY_ORDINAL = {")
+                .append(String.join(", ", names)).append("};\n\n")
+                .append("    private static final ").append(enumName).append("[] ELEMENTS_BY_POSITION = {")
+                .append(String.join(", ", elementsByPosition)).append("};\n\n");
+
+        source.append("    static {\n")
+                .append("        for (final ").append(enumName).append(" element : ").append(enumName)
+                .append(".values()) {\n")
+                .append("            final int position = element.getBitFieldPosition();\n")
+                .append("            final long mask = MASKS_BY_ORDINAL[element.ordinal()];\n")
+                .append("            if (position < 0 || position >= Long.SIZE || mask != 1L << position) {\n")
+                .append("                throw new IllegalStateException(String.format(\"the position [%d] of [%s] does ")
+                .append("not match the generated position [%d] of enum [%s]\", position, element, ")
+                .append("Long.numberOfTrailingZeros(mask), \"").append(enumBinaryName).append("\"));\n")
+                .append("            }\n")
+                .append("        }\n")
+                .append("    }\n\n");
+
+        source.append("    private ").append(simpleName).append("() {\n")
+                .append("        throw new IllegalArgumentException(\"no instance for you\");\n")
+                .append("    }\n\n");
+
+        source.append("    public static long mask(final ").append(enumName).append(" element) {\n")
+                .append("        return MASKS_BY_ORDINAL[element.ordinal()];\n")
+                .append("    }\n\n")
+                .append("    public static boolean isValid(final long bitField) {\n")
+                .append("        return (bitField & ~VALID_MASK) == 0;\n")
+                .append("    }\n\n")
+                .append("    public static boolean contains(final long bitField, final ").append(enumName)
+                .append(" element) {\n")
+                .append("        return (bitField & MASKS_BY_ORDINAL[element.ordinal()]) != 0;\n")
+                .append("    }\n\n")
+                .append("    public static long encode(final java.util.Set<").append(enumName).append("> set) {\n")
+                .append("        long bitField = 0L;\n")
+                .append("        for (final ").append(enumName).append(" element : set) {\n")
+                .append("            bitField |= MASKS_BY_ORDINAL[element.ordinal()];\n")
+                .append("        }\n")
+                .append("        return bitField;\n")
+                .append("    }\n\n")
+                .append("    public static long encode(final ").append(enumName).append("... elements) {\n")
+                .append("        long bitField = 0L;\n")
+                .append("        for (final ").append(enumName).append(" element : elements) {\n")
+                .append("            bitField |= MASKS_BY_ORDINAL[element.ordinal()];\n")
+                .append("        }\n")
+                .append("        return bitField;\n")
+                .append("    }\n\n")
+                .append("    public static java.util.EnumSet<").append(enumName).append("> decode(final long bitField) {\n")
+                .append("        if (!isValid(bitField)) {\n")
+                .append("            throw new IllegalArgumentException(String.format(\"Invalid value found in bit field ")
+                .append("[%s] for enum [%s]\", bitField, \"").append(enumBinaryName).append("\"));\n")
+                .append("        }\n\n")
+                .append("        final java.util.EnumSet<").append(enumName).append("> set = java.util.EnumSet.noneOf(")
+                .append(enumName).append(".class);\n")
+                .append("        for (long remaining = bitField; remaining != 0; remaining &= remaining - 1) {\n")
+                .append("            set.add(ELEMENTS_BY_POSITION[Long.numberOfTrailingZeros(remaining)]);\n")
+                .append("        }\n")
+                .append("        return set;\n")
+                .append("    }\n")
+                .append("}\n");
+        return source.toString();
+    }
+
+    private static String hex(final long value) {
+        return "0x" + Long.toHexString(value) + 'L';
+    }
+}
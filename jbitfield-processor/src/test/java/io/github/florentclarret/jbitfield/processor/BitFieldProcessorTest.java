@@ -0,0 +1,159 @@
+package io.github.florentclarret.jbitfield.processor;
+
+import io.github.florentclarret.jbitfield.BitFieldElement;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BitFieldProcessorTest {
+
+    private static final String ENUM_TEMPLATE = "package test;\n"
+            + "import io.github.florentclarret.jbitfield.BitFieldElement;\n"
+            + "import io.github.florentclarret.jbitfield.GenerateBitFields;\n"
+            + "@GenerateBitFields\n"
+            + "public enum Day implements BitFieldElement {\n"
+            + "    %s;\n"
+            + "    private final int position;\n"
+            + "    Day(final int position) { this.position = position; }\n"
+            + "    @Override public int getBitFieldPosition() { return position; }\n"
+            + "}\n";
+
+    /**
+     * Compile the given source with the processor and return the error messages.
+     */
+    private static List<String> compile(final Path output, final String className, final String source)
+            throws Exception {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        final String classPath = Paths.get(BitFieldElement.class.getProtectionDomain().getCodeSource().getLocation()
+                .toURI()).toString();
+
+        final JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics,
+                Arrays.asList("-classpath", classPath, "-d", output.toString(), "-s", output.toString()), null,
+                Collections.singletonList(new Source(className, source)));
+        task.setProcessors(Collections.singletonList(new BitFieldProcessor()));
+        task.call();
+
+        return diagnostics.getDiagnostics().stream().filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(diagnostic -> diagnostic.getMessage(null)).collect(Collectors.toList());
+    }
+
+    private static String day(final String constants) {
+        return String.format(ENUM_TEMPLATE, constants);
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void testGeneratedClass(@TempDir final Path output) throws Exception {
+        assertEquals(Collections.emptyList(), compile(output, "test.Day", day("MONDAY(0), TUESDAY(1), FRIDAY(4), SUNDAY(6)")));
+        assertTrue(Files.exists(output.resolve("test/DayBitFields.java")));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            final Class<?> generated = loader.loadClass("test.DayBitFields");
+            final Class enumClass = loader.loadClass("test.Day");
+            final Enum friday = Enum.valueOf(enumClass, "FRIDAY");
+
+            assertEquals(16L, generated.getField("FRIDAY").getLong(null));
+            assertEquals(0x53L, generated.getField("VALID_MASK").getLong(null));
+            assertEquals(7, generated.getField("WIDTH").getInt(null));
+            assertEquals(16L, generated.getMethod("mask", enumClass).invoke(null, friday));
+            assertEquals(true, generated.getMethod("isValid", long.class).invoke(null, 0x13L));
+            assertEquals(false, generated.getMethod("isValid", long.class).invoke(null, 0x20L));
+            assertEquals(true, generated.getMethod("contains", long.class, enumClass).invoke(null, 0x13L, friday));
+            assertEquals(17L, generated.getMethod("encode", Set.class).invoke(null, EnumSet.of(Enum.valueOf(enumClass, "MONDAY"), friday)));
+            assertEquals(EnumSet.of(Enum.valueOf(enumClass, "TUESDAY"), Enum.valueOf(enumClass, "SUNDAY")), generated.getMethod("decode", long.class).invoke(null, 0x42L));
+        }
+    }
+
+    @Test
+    public void testNestedEnum(@TempDir final Path output) throws Exception {
+        final String source = "package test;\n"
+                + "public class Outer {\n"
+                + "    @io.github.florentclarret.jbitfield.GenerateBitFields(positionArgument = 1)\n"
+                + "    enum Inner implements io.github.florentclarret.jbitfield.BitFieldElement {\n"
+                + "        A(\"a\", 3), B(\"b\", (5));\n"
+                + "        private final int position;\n"
+                + "        Inner(final String label, final int position) { this.position = position; }\n"
+                + "        @Override public int getBitFieldPosition() { return position; }\n"
+                + "    }\n"
+                + "}\n";
+
+        assertEquals(Collections.emptyList(), compile(output, "test.Outer", source));
+        assertTrue(new String(Files.readAllBytes(output.resolve("test/Outer_InnerBitFields.java"))).contains("public static final long B = 0x20L;"));
+    }
+
+    @Test
+    public void testInvalidPositions(@TempDir final Path output) throws Exception {
+        assertEquals(Collections.singletonList("the position [1] of [TUESDAY] is already used by [MONDAY]"), compile(output, "test.Day", day("MONDAY(1), TUESDAY(1)")));
+        assertEquals(Collections.singletonList("The bitFieldPosition of [MONDAY] must be positive or null, current value = [-1]"), compile(output, "test.Day", day("MONDAY(-1)")));
+        assertEquals(Collections.singletonList("the position [64] of [MONDAY] does not fit in a long, use a LargeBitField instead"), compile(output, "test.Day", day("MONDAY(64)")));
+        assertEquals(Collections.singletonList("the position of [MONDAY] must be an int literal"), compile(output, "test.Day", day("MONDAY(1 + 1)")));
+        assertEquals(Collections.singletonList("the constant name [WIDTH] is reserved by the generated class"), compile(output, "test.Day", day("WIDTH(0)")));
+        assertFalse(Files.exists(output.resolve("test/DayBitFields.java")));
+    }
+
+    @Test
+    public void testMismatchingPosition(@TempDir final Path output) throws Exception {
+        final String source = ENUM_TEMPLATE.replace("return position;", "return position + 1;");
+
+        assertEquals(Collections.emptyList(), compile(output, "test.Day", String.format(source, "MONDAY(0), TUESDAY(1)")));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            final ExceptionInInitializerError error = assertThrows(ExceptionInInitializerError.class, () -> Class.forName("test.DayBitFields", true, loader));
+
+            assertTrue(error.getCause() instanceof IllegalStateException);
+            assertEquals("the position [1] of [MONDAY] does not match the generated position [0] of enum [test.Day]", error.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testInvalidTargets(@TempDir final Path output) throws Exception {
+        final String notAnEnum = "package test;\n@io.github.florentclarret.jbitfield.GenerateBitFields\npublic class Day {}\n";
+        final String notAnElement = "package test;\n@io.github.florentclarret.jbitfield.GenerateBitFields\npublic enum Day { MONDAY }\n";
+
+        assertEquals(Collections.singletonList("@GenerateBitFields can only be used on enums"), compile(output, "test.Day", notAnEnum));
+        assertEquals(Collections.singletonList("the enum [test.Day] must implement io.github.florentclarret.jbitfield.BitFieldElement"), compile(output, "test.Day", notAnElement));
+    }
+
+    /**
+     * An in-memory source file.
+     */
+    private static final class Source extends SimpleJavaFileObject {
+
+        private final String content;
+
+        Source(final String className, final String content) {
+            super(URI.create("string:///" + className.replace('.', File.separatorChar) + Kind.SOURCE.extension), Kind.SOURCE);
+            this.content = content;
+        }
+
+        @Override
+        public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+            return content;
+        }
+    }
+}
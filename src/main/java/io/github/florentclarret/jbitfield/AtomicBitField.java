@@ -0,0 +1,222 @@
+package io.github.florentclarret.jbitfield;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * A mutable bit field which may be updated atomically by several threads. All the updates are lock-free
+ * compare-and-set loops on an {@link AtomicLong}, so aggregating flags does not allocate a new {@link BitField} on
+ * each update. Under heavy contention on OR-only updates, prefer a {@link BitFieldAccumulator}.
+ *
+ * @param <T> The enum which represents the value in the bit field.
+ * @author Florent Clarret
+ */
+public final class AtomicBitField<T extends Enum<T> & BitFieldElement> {
+
+    /**
+     * The codec of the class represented in the bit field
+     */
+    private final BitFieldCodec<T> codec;
+
+    /**
+     * Binary representation of the bit field, always valid for the enum.
+     */
+    private final AtomicLong value;
+
+    /**
+     * Creates an empty atomic bit field.
+     *
+     * @param enumClass the Class represented in the bit field
+     * @throws NullPointerException if the enumClass is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement
+     */
+    public AtomicBitField(final Class<T> enumClass) {
+        this(enumClass, 0L);
+    }
+
+    /**
+     * Creates an atomic bit field with the given initial value.
+     *
+     * @param enumClass the Class represented in the bit field
+     * @param bitField The initial binary representation of the bit field.
+     * @throws NullPointerException if the enumClass is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement or if any value in the field is
+     *                                  not present in the BitFieldElement enum position's
+     */
+    public AtomicBitField(final Class<T> enumClass, final long bitField) {
+        this.codec = BitFieldCodec.of(enumClass);
+        codec.checkValid(bitField);
+        this.value = new AtomicLong(bitField);
+    }
+
+    /**
+     * Atomically add the given element.
+     *
+     * @param element The element to add.
+     * @return true if the element was not already present.
+     * @throws NullPointerException if the element is null
+     */
+    public boolean add(final T element) {
+        final long mask = codec.encodeElement(Objects.requireNonNull(element, "element can not be null"));
+        return (or(mask) & mask) == 0;
+    }
+
+    /**
+     * Atomically remove the given element.
+     *
+     * @param element The element to remove.
+     * @return true if the element was present.
+     * @throws NullPointerException if the element is null
+     */
+    public boolean remove(final T element) {
+        final long mask = codec.encodeElement(Objects.requireNonNull(element, "element can not be null"));
+        long current;
+        do {
+            current = value.get();
+            if ((current & mask) == 0) {
+                return false;
+            }
+        } while (!value.compareAndSet(current, current & ~mask));
+        return true;
+    }
+
+    /**
+     * Atomically add all the given elements.
+     *
+     * @param elements The elements to add.
+     * @return true if at least one element was not already present.
+     * @throws NullPointerException if elements is null
+     */
+    public boolean addAll(final Set<T> elements) {
+        final long mask = codec.encode(Objects.requireNonNull(elements, "elements can not be null"));
+        return (or(mask) & mask) != mask;
+    }
+
+    /**
+     * Atomically add all the elements of the given bit field.
+     *
+     * @param bitField The elements to add.
+     * @return true if at least one element was not already present.
+     * @throws NullPointerException if the bitField is null
+     */
+    public boolean addAll(final BitField<T> bitField) {
+        final long mask = Objects.requireNonNull(bitField, "bitField can not be null").getBitFieldValue();
+        return (or(mask) & mask) != mask;
+    }
+
+    /**
+     * Return true if the bit field currently contains the element.
+     *
+     * @param element The element to look for.
+     * @return true if the element is present.
+     * @throws NullPointerException if the element is null
+     */
+    public boolean contains(final T element) {
+        return codec.contains(value.get(), Objects.requireNonNull(element, "element can not be null"));
+    }
+
+    /**
+     * Atomically set the value to the update if the current value is the expected one.
+     *
+     * @param expect The expected value.
+     * @param update The new value.
+     * @return true if the value was updated.
+     * @throws NullPointerException if any parameter is null
+     */
+    public boolean compareAndSet(final BitField<T> expect, final BitField<T> update) {
+        Objects.requireNonNull(expect, "expect can not be null");
+        Objects.requireNonNull(update, "update can not be null");
+        return value.compareAndSet(expect.getBitFieldValue(), update.getBitFieldValue());
+    }
+
+    /**
+     * Atomically update the value with the result of the function and return the previous value. The function may be
+     * called several times when other threads update the value concurrently, so it should not have side effects.
+     *
+     * @param function The update function.
+     * @return The previous value.
+     * @throws NullPointerException if the function, or its result, is null
+     */
+    public BitField<T> getAndUpdate(final UnaryOperator<BitField<T>> function) {
+        Objects.requireNonNull(function, "function can not be null");
+
+        long current;
+        BitField<T> previous;
+        do {
+            current = value.get();
+            previous = BitField.canonical(codec, current);
+        } while (!value.compareAndSet(current, apply(function, previous)));
+        return previous;
+    }
+
+    /**
+     * Atomically update the value with the result of the function and return the new value. The function may be
+     * called several times when other threads update the value concurrently, so it should not have side effects.
+     *
+     * @param function The update function.
+     * @return The new value.
+     * @throws NullPointerException if the function, or its result, is null
+     */
+    public BitField<T> updateAndGet(final UnaryOperator<BitField<T>> function) {
+        Objects.requireNonNull(function, "function can not be null");
+
+        long current;
+        long next;
+        do {
+            current = value.get();
+            next = apply(function, BitField.canonical(codec, current));
+        } while (!value.compareAndSet(current, next));
+        return BitField.canonical(codec, next);
+    }
+
+    /**
+     * Set the value.
+     *
+     * @param bitField The new value.
+     * @throws NullPointerException if the bitField is null
+     */
+    public void set(final BitField<T> bitField) {
+        value.set(Objects.requireNonNull(bitField, "bitField can not be null").getBitFieldValue());
+    }
+
+    /**
+     * Return a snapshot of the current value.
+     *
+     * @return The canonical bit field of the current value.
+     */
+    public BitField<T> get() {
+        return BitField.canonical(codec, value.get());
+    }
+
+    /**
+     * Return the current binary representation of the bit field.
+     *
+     * @return A long representing the current bit field.
+     */
+    public long getBitFieldValue() {
+        return value.get();
+    }
+
+    private long or(final long mask) {
+        long current;
+        do {
+            current = value.get();
+            if ((current | mask) == current) {
+                return current;
+            }
+        } while (!value.compareAndSet(current, current | mask));
+        return current;
+    }
+
+    private long apply(final UnaryOperator<BitField<T>> function, final BitField<T> current) {
+        return Objects.requireNonNull(function.apply(current), "the result of the function can not be null")
+                .getBitFieldValue();
+    }
+
+    @Override
+    public String toString() {
+        return "AtomicBitField{" + "bitField=" + value.get() + '}';
+    }
+}
@@ -1,17 +1,23 @@
 package io.github.florentclarret.jbitfield;
 
-import java.util.Collections;
-import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Represents a immutable bit field of BitFieldElement enum elements. This class aims to ease conversion between EnumSet and bit field
  * for database storage for instance. However, if not needed, never prefer using a bit field over an EnumSet. See Item
  * 36, Effective Java (Third Edition) by Joshua Bloch for further information. Warning : the representation of the bit
- * field is stored in a long primitive type. It means that you can not have more than 64 different values in this
- * implementation
+ * field is stored in a long primitive type. It means that the positions must be between 0 and 63 in this
+ * implementation, use a {@link LargeBitField} for wider enums.
+ * <p>
+ * The set view, the iterator, the spliterator and the stream return the elements by ascending position in the bit
+ * field, not by ordinal as an EnumSet does. Both orders are the same when the positions follow the declaration order
+ * of the enum.
  *
  * @param <T> The enum which represents the value in the bit field.
  * @author Florent Clarret
@@ -24,14 +30,14 @@ public final class BitField<T extends Enum<T> & BitFieldElement> implements Iter
     private final long bitField;
 
     /**
-     * Set representation of the bit field.
+     * Set view of the bit field, created on the first call to {@link #getSet()}.
      */
-    private final Set<T> set;
+    private Set<T> set;
 
     /**
-     * The class represented in the bit field
+     * The codec of the class represented in the bit field
      */
-    private final Class<T> enumClass;
+    private final BitFieldCodec<T> codec;
 
     /**
      * The cached hash code
@@ -45,7 +51,7 @@ public final class BitField<T extends Enum<T> & BitFieldElement> implements Iter
      * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement
      */
     public BitField(final Class<T> enumClass) {
-        this(enumClass, EnumSet.noneOf(Objects.requireNonNull(enumClass, "enumClass can not be null")));
+        this(enumClass, 0L);
     }
 
     /**
@@ -60,17 +66,9 @@ public final class BitField<T extends Enum<T> & BitFieldElement> implements Iter
      */
     public BitField(final Class<T> enumClass, final Set<T> set) {
         Objects.requireNonNull(set, "set can not be null");
-        Objects.requireNonNull(enumClass, "enumClass can not be null");
 
-        if (!BitFieldHelper.isValidEnum(enumClass)) {
-            throw new IllegalArgumentException(String.format("the class [%s] is not a valid " +
-                    "BitFieldElement", enumClass.getName()));
-        }
-
-        // Not using guava immutable set (instead of unmodifiable set) to avoid relying on external libraries
-        this.set = (set.isEmpty()) ? Collections.unmodifiableSet(EnumSet.noneOf(enumClass)) : Collections.unmodifiableSet(EnumSet.copyOf(set));
-        this.bitField = this.set.stream().mapToLong(element -> (1 << element.getBitFieldPosition())).sum();
-        this.enumClass = enumClass;
+        this.codec = BitFieldCodec.of(enumClass);
+        this.bitField = codec.encode(set);
     }
 
     /**
@@ -84,80 +82,250 @@ public final class BitField<T extends Enum<T> & BitFieldElement> implements Iter
      * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement
      */
     public BitField(final Class<T> enumClass, final long bitField) {
-        Objects.requireNonNull(enumClass, "enumClass can not be null");
+        this(BitFieldCodec.of(enumClass), bitField);
+    }
 
-        if (!BitFieldHelper.isValidEnum(enumClass)) {
-            throw new IllegalArgumentException(String.format("the class [%s] is not a valid " +
-                    "BitFieldElement", enumClass.getName()));
-        }
+    private BitField(final BitFieldCodec<T> codec, final long bitField) {
+        codec.checkValid(bitField);
 
-        long localBitField = bitField;
-        this.set = EnumSet.noneOf(enumClass);
-        this.bitField = localBitField;
-        this.enumClass = enumClass;
-
-        if (localBitField != 0) {
-            for (final T element : EnumSet.allOf(enumClass)) {
-                if (((1 << element.getBitFieldPosition()) & localBitField) != 0) {
-                    this.set.add(element);
-                    // Remove the current bit to ease final comparison
-                    localBitField = localBitField ^ (1 << element.getBitFieldPosition());
-                }
-            }
+        this.codec = codec;
+        this.bitField = bitField;
+    }
+
+    /**
+     * Return the canonical instance of the bit field for the given value. Contrary to the constructors, equal bit fields
+     * obtained from this method are the same instance. The instances are cached per enum, see {@link BitFieldCache} for
+     * the cache limits.
+     *
+     * @param enumClass the Class represented in the bit field
+     * @param bitField  The binary representation of the bit field.
+     * @param <T> The BitFieldElement class.
+     * @return The canonical bit field.
+     * @throws NullPointerException if the enumClass is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement or if any value in the field is
+     *                                  not present in the BitFieldElement enum position's
+     */
+    public static <T extends Enum<T> & BitFieldElement> BitField<T> of(final Class<T> enumClass, final long bitField) {
+        return canonical(BitFieldCodec.of(enumClass), bitField);
+    }
+
+    /**
+     * Return the canonical instance of the bit field for the given set. Duplicated values are used only once.
+     *
+     * @param enumClass the Class represented in the bit field
+     * @param set The set containing the element to place in the bit field.
+     * @param <T> The BitFieldElement class.
+     * @return The canonical bit field.
+     * @throws NullPointerException if the enumClass or the set is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement
+     */
+    public static <T extends Enum<T> & BitFieldElement> BitField<T> of(final Class<T> enumClass, final Set<T> set) {
+        Objects.requireNonNull(set, "set can not be null");
 
-            // If the local bit field is not 0, it means that we have missing position values in the <T> enum
-            if (localBitField != 0) {
-                throw new IllegalArgumentException(String.format("Invalid value found in bit field [%s] for enum [%s]", bitField, enumClass.getName()));
+        final BitFieldCodec<T> codec = BitFieldCodec.of(enumClass);
+        return cached(codec, codec.encode(set));
+    }
+
+    /**
+     * Return a new empty builder, to build a bit field element by element without any intermediate allocation.
+     *
+     * @param enumClass the Class represented in the bit field
+     * @param <T> The BitFieldElement class.
+     * @return A new builder.
+     * @throws NullPointerException if the enumClass is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement
+     */
+    public static <T extends Enum<T> & BitFieldElement> BitFieldBuilder<T> builder(final Class<T> enumClass) {
+        return new BitFieldBuilder<>(enumClass);
+    }
+
+    /**
+     * Return a collector building the canonical bit field of the elements of a stream. The elements are accumulated
+     * in a long, so the collector does not allocate any set and supports parallel streams.
+     *
+     * @param enumClass the Class represented in the bit field
+     * @param <T> The BitFieldElement class.
+     * @return The collector.
+     * @throws NullPointerException if the enumClass is null, or when collecting a null element
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement
+     */
+    public static <T extends Enum<T> & BitFieldElement> Collector<T, long[], BitField<T>> collector(
+            final Class<T> enumClass) {
+        final BitFieldCodec<T> codec = BitFieldCodec.of(enumClass);
+        return Collector.of(() -> new long[1],
+                (accumulator, element) -> accumulator[0] |= codec.encodeElement(Objects.requireNonNull(element,
+                        "element can not be null")),
+                (left, right) -> {
+                    left[0] |= right[0];
+                    return left;
+                },
+                accumulator -> cached(codec, accumulator[0]),
+                Collector.Characteristics.UNORDERED);
+    }
+
+    static <T extends Enum<T> & BitFieldElement> BitField<T> canonical(final BitFieldCodec<T> codec, final long bitField) {
+        codec.checkValid(bitField);
+        return cached(codec, bitField);
+    }
+
+    private static <T extends Enum<T> & BitFieldElement> BitField<T> cached(final BitFieldCodec<T> codec,
+                                                                           final long bitField) {
+        final BitFieldCache<T> cache = codec.getCache();
+        final BitField<T> cached = cache.get(bitField);
+        if (BitFieldMetrics.isEnabled()) {
+            if (cached != null) {
+                BitFieldMetrics.recordCacheHit(codec.getEnumClass(), bitField);
+            } else {
+                BitFieldMetrics.recordCacheMiss(codec.getEnumClass(), bitField);
             }
         }
+        return (cached != null) ? cached : cache.putIfAbsent(new BitField<>(codec, bitField));
     }
 
     /**
-     * Return a new instance of a bit field using the given value. Duplicated values are used only once and
-     * automatically removed.
+     * Return a bit field using the given value. Duplicated values are used only once and automatically removed.
      *
      * @param set The set to define in the bit field.
-     * @return The newly generated bit field.
+     * @return The canonical bit field of the set.
      * @throws NullPointerException if the set is null
      */
     public BitField<T> set(final Set<T> set) {
-        return new BitField<>(enumClass, set);
+        return cached(codec, codec.encode(set));
     }
 
     /**
-     * Create a new instance of the current bit field with the given extra values. If the element is already in the bit
-     * field, nothing will be done. Null values from the elements parameter are ignored.
+     * Return a bit field with the values of the current bit field and the given extra values. If the elements are
+     * already in the bit field, the current instance is returned.
      *
      * @param elements The elements to add to the current bit field
-     * @return The newly generated bit field with the extra values.
+     * @return The canonical bit field with the extra values.
      * @throws NullPointerException if elements is null
      */
     public BitField<T> addAll(final Set<T> elements) {
         Objects.requireNonNull(elements, "elements can not be null");
 
-        if(elements.isEmpty()) {
-            return this;
-        }
-
-        final Set<T> copy = set.isEmpty() ? EnumSet.noneOf(enumClass) : EnumSet.copyOf(set);
-
-        if (!elements.isEmpty()) {
-            copy.addAll(elements);
-        }
-
-        return new BitField<>(enumClass, copy);
+        return derive(bitField | codec.encode(elements));
     }
 
     /**
-     * Create a new instance of the current bit field with the given extra value. If the element is already in the bit
-     * field, nothing will be done.
+     * Return a bit field with the values of the current bit field and the given extra value. If the element is already
+     * in the bit field, the current instance is returned.
      *
      * @param element The element to add to the current bit field
-     * @return The newly generated bit field with the extra value.
+     * @return The canonical bit field with the extra value.
      * @throws NullPointerException if element is null
      */
     public BitField<T> add(final T element) {
-        return this.set.contains(Objects.requireNonNull(element, "element can not be null")) ? this : this.addAll(EnumSet.of(element));
+        return derive(codec.with(bitField, Objects.requireNonNull(element, "element can not be null")));
+    }
+
+    /**
+     * Return a bit field with the values of the current bit field but the given one. If the element is not in the bit
+     * field, the current instance is returned.
+     *
+     * @param element The element to remove from the current bit field
+     * @return The canonical bit field without the value.
+     * @throws NullPointerException if element is null
+     */
+    public BitField<T> remove(final T element) {
+        return derive(codec.without(bitField, Objects.requireNonNull(element, "element can not be null")));
+    }
+
+    /**
+     * Return a bit field with the values of the current bit field but the given ones. If none of the elements is in
+     * the bit field, the current instance is returned.
+     *
+     * @param elements The elements to remove from the current bit field
+     * @return The canonical bit field without the values.
+     * @throws NullPointerException if elements is null
+     */
+    public BitField<T> removeAll(final Set<T> elements) {
+        Objects.requireNonNull(elements, "elements can not be null");
+        return derive(bitField & ~codec.encode(elements));
+    }
+
+    /**
+     * Return a bit field with the values of both bit fields.
+     *
+     * @param other The other bit field.
+     * @return The canonical bit field of the union.
+     * @throws NullPointerException if other is null
+     */
+    public BitField<T> union(final BitField<T> other) {
+        return derive(bitField | valueOf(other));
+    }
+
+    /**
+     * Return a bit field with the values present in both bit fields.
+     *
+     * @param other The other bit field.
+     * @return The canonical bit field of the intersection.
+     * @throws NullPointerException if other is null
+     */
+    public BitField<T> intersect(final BitField<T> other) {
+        return derive(bitField & valueOf(other));
+    }
+
+    /**
+     * Return a bit field with the values of the current bit field which are not in the other one.
+     *
+     * @param other The other bit field.
+     * @return The canonical bit field of the difference.
+     * @throws NullPointerException if other is null
+     */
+    public BitField<T> difference(final BitField<T> other) {
+        return derive(bitField & ~valueOf(other));
+    }
+
+    /**
+     * Return a bit field with the values present in exactly one of the bit fields.
+     *
+     * @param other The other bit field.
+     * @return The canonical bit field of the symmetric difference.
+     * @throws NullPointerException if other is null
+     */
+    public BitField<T> symmetricDifference(final BitField<T> other) {
+        return derive(bitField ^ valueOf(other));
+    }
+
+    /**
+     * Return a bit field with all the values of the enum which are not in the current bit field.
+     *
+     * @return The canonical bit field of the complement.
+     */
+    public BitField<T> complement() {
+        return derive(~bitField & codec.getValidMask());
+    }
+
+    /**
+     * Return true if the current bit field contains all the values of the other one.
+     *
+     * @param other The other bit field.
+     * @return true if the other bit field is a subset of the current one.
+     * @throws NullPointerException if other is null
+     */
+    public boolean containsAll(final BitField<T> other) {
+        final long value = valueOf(other);
+        return (bitField & value) == value;
+    }
+
+    /**
+     * Return true if the bit fields have at least one value in common.
+     *
+     * @param other The other bit field.
+     * @return true if the intersection is not empty.
+     * @throws NullPointerException if other is null
+     */
+    public boolean intersects(final BitField<T> other) {
+        return (bitField & valueOf(other)) != 0;
+    }
+
+    private static long valueOf(final BitField<?> other) {
+        return Objects.requireNonNull(other, "other can not be null").bitField;
+    }
+
+    private BitField<T> derive(final long result) {
+        return (result == bitField) ? this : cached(codec, result);
     }
 
     /**
@@ -170,17 +338,81 @@ public final class BitField<T extends Enum<T> & BitFieldElement> implements Iter
     }
 
     /**
-     * Return the Set containing all the value from the current bit field.
+     * Check if the given element is in the bit field.
+     *
+     * @param element The element to look for.
+     * @return true if the element is in the bit field, false otherwise.
+     * @throws NullPointerException if element is null
+     */
+    public boolean contains(final T element) {
+        return codec.contains(bitField, Objects.requireNonNull(element, "element can not be null"));
+    }
+
+    /**
+     * Return the number of elements in the bit field.
+     *
+     * @return The number of elements in the bit field.
+     */
+    public int size() {
+        return Long.bitCount(bitField);
+    }
+
+    /**
+     * Check if the bit field contains no element.
+     *
+     * @return true if the bit field is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return bitField == 0;
+    }
+
+    /**
+     * Return the Set containing all the value from the current bit field. The set is a read-only view reading the bit
+     * field value, which iterates over the elements by ascending position, not by ordinal.
      *
      * @return A unmodifiable set of the value stored in the current bit field.
      */
     public Set<T> getSet() {
-        return set;
+        return (set == null) ? set = new BitFieldSet<>(codec, bitField) : set;
     }
 
+    /**
+     * Return an iterator over the elements of the bit field, by ascending position.
+     *
+     * @return An iterator which does not support removal.
+     */
     @Override
     public Iterator<T> iterator() {
-        return this.set.iterator();
+        return getSet().iterator();
+    }
+
+    /**
+     * Return a spliterator over the elements of the bit field, by ascending position. The spliterator is sized and
+     * splits the remaining bits in two halves.
+     *
+     * @return A new spliterator.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new BitFieldSpliterator<>(codec, codec.decoded(bitField));
+    }
+
+    /**
+     * Return a sequential stream of the elements of the bit field, by ascending position.
+     *
+     * @return A new stream.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Return the codec of the enum.
+     *
+     * @return The codec.
+     */
+    BitFieldCodec<T> getCodec() {
+        return codec;
     }
 
     @Override
@@ -204,6 +436,6 @@ public final class BitField<T extends Enum<T> & BitFieldElement> implements Iter
 
     @Override
     public String toString() {
-        return "BitField{" + "bitField=" + bitField + ", set=" + set + '}';
+        return "BitField{" + "bitField=" + bitField + ", set=" + getSet() + '}';
     }
 }
@@ -0,0 +1,110 @@
+package io.github.florentclarret.jbitfield;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Accumulates elements from many threads into a single bit field, with a bitwise OR. It is backed by a
+ * {@link LongAccumulator}, which spreads the updates over several cells under contention, so it scales better than an
+ * {@link AtomicBitField} for write-heavy workloads, at the price of a more expensive read.
+ *
+ * @param <T> The enum which represents the value in the bit field.
+ * @author Florent Clarret
+ */
+public final class BitFieldAccumulator<T extends Enum<T> & BitFieldElement> {
+
+    /**
+     * The codec of the class represented in the bit field
+     */
+    private final BitFieldCodec<T> codec;
+
+    /**
+     * The accumulated bit field values.
+     */
+    private final LongAccumulator accumulator;
+
+    /**
+     * Creates an empty accumulator.
+     *
+     * @param enumClass the Class represented in the bit field
+     * @throws NullPointerException if the enumClass is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement
+     */
+    public BitFieldAccumulator(final Class<T> enumClass) {
+        this.codec = BitFieldCodec.of(enumClass);
+        this.accumulator = new LongAccumulator((left, right) -> left | right, 0L);
+    }
+
+    /**
+     * Add the given element.
+     *
+     * @param element The element to add.
+     * @throws NullPointerException if the element is null
+     */
+    public void add(final T element) {
+        accumulator.accumulate(codec.encodeElement(Objects.requireNonNull(element, "element can not be null")));
+    }
+
+    /**
+     * Add all the given elements.
+     *
+     * @param elements The elements to add.
+     * @throws NullPointerException if elements is null
+     */
+    public void addAll(final Set<T> elements) {
+        accumulator.accumulate(codec.encode(Objects.requireNonNull(elements, "elements can not be null")));
+    }
+
+    /**
+     * Add all the elements of the given bit field.
+     *
+     * @param bitField The elements to add.
+     * @throws NullPointerException if the bitField is null
+     */
+    public void addAll(final BitField<T> bitField) {
+        accumulator.accumulate(Objects.requireNonNull(bitField, "bitField can not be null").getBitFieldValue());
+    }
+
+    /**
+     * Add all the elements of the given binary representation.
+     *
+     * @param bitField The binary representation of the bit field.
+     * @throws IllegalArgumentException if any value in the field is not present in the BitFieldElement enum position's
+     */
+    public void accumulate(final long bitField) {
+        codec.checkValid(bitField);
+        accumulator.accumulate(bitField);
+    }
+
+    /**
+     * Return the accumulated elements. The result is not an atomic snapshot : the concurrent updates may or may not be
+     * included.
+     *
+     * @return The canonical bit field of the accumulated elements.
+     */
+    public BitField<T> get() {
+        return BitField.canonical(codec, accumulator.get());
+    }
+
+    /**
+     * Return the accumulated elements and reset the accumulator, see {@link LongAccumulator#getThenReset()}.
+     *
+     * @return The canonical bit field of the accumulated elements.
+     */
+    public BitField<T> getThenReset() {
+        return BitField.canonical(codec, accumulator.getThenReset());
+    }
+
+    /**
+     * Reset the accumulator to the empty bit field.
+     */
+    public void reset() {
+        accumulator.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "BitFieldAccumulator{" + "bitField=" + accumulator.get() + '}';
+    }
+}
@@ -0,0 +1,258 @@
+package io.github.florentclarret.jbitfield;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Bulk conversions between columns of bit field values and sets. Each method has a parallel variant which splits the
+ * column in chunks processed by the common fork-join pool. Like {@link java.util.Arrays#parallelSort(long[])}, the
+ * parallel variants only pay off for large columns.
+ *
+ * @author Florent Clarret
+ */
+public final class BitFieldArrays {
+
+    /**
+     * The number of values processed by a single task, 64KB of longs.
+     */
+    static final int CHUNK_SIZE = 8192;
+
+    private BitFieldArrays() {
+        throw new IllegalArgumentException("no instance for you");
+    }
+
+    /**
+     * Encode each set of the list in the same index of the output array.
+     *
+     * @param enumClass The type of the elements stored in the bit field
+     * @param sets The sets to encode.
+     * @param out The array receiving the bit field values.
+     * @param <T> The BitFieldElement class.
+     * @throws NullPointerException if any parameter or any set is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement or if out is smaller than sets
+     */
+    public static <T extends Enum<T> & BitFieldElement> void encodeAll(final Class<T> enumClass, final List<Set<T>> sets,
+                                                                       final long[] out) {
+        encodeAll(enumClass, sets, out, false);
+    }
+
+    /**
+     * Parallel variant of {@link #encodeAll(Class, List, long[])}. The list should support fast random access.
+     *
+     * @param enumClass The type of the elements stored in the bit field
+     * @param sets The sets to encode.
+     * @param out The array receiving the bit field values.
+     * @param <T> The BitFieldElement class.
+     * @throws NullPointerException if any parameter or any set is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement or if out is smaller than sets
+     */
+    public static <T extends Enum<T> & BitFieldElement> void parallelEncodeAll(final Class<T> enumClass,
+                                                                               final List<Set<T>> sets,
+                                                                               final long[] out) {
+        encodeAll(enumClass, sets, out, true);
+    }
+
+    /**
+     * Decode each value of the array in the same index of the output array. Each output set is a new mutable set.
+     *
+     * @param enumClass The type of the elements stored in the bit field
+     * @param values The bit field values to decode.
+     * @param out The array receiving the sets.
+     * @param <T> The BitFieldElement class.
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement, if out is smaller than values or
+     *                                  if any value is not valid for the enum
+     */
+    public static <T extends Enum<T> & BitFieldElement> void decodeAll(final Class<T> enumClass, final long[] values,
+                                                                       final Set<T>[] out) {
+        decodeAll(enumClass, values, out, false);
+    }
+
+    /**
+     * Parallel variant of {@link #decodeAll(Class, long[], Set[])}.
+     *
+     * @param enumClass The type of the elements stored in the bit field
+     * @param values The bit field values to decode.
+     * @param out The array receiving the sets.
+     * @param <T> The BitFieldElement class.
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement, if out is smaller than values or
+     *                                  if any value is not valid for the enum
+     */
+    public static <T extends Enum<T> & BitFieldElement> void parallelDecodeAll(final Class<T> enumClass,
+                                                                               final long[] values, final Set<T>[] out) {
+        decodeAll(enumClass, values, out, true);
+    }
+
+    /**
+     * Return the index of the first value which is not valid for the enum.
+     *
+     * @param enumClass The type of the elements stored in the bit field
+     * @param values The bit field values to check.
+     * @param <T> The BitFieldElement class.
+     * @return The index of the first invalid value, or -1 if all values are valid.
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement
+     */
+    public static <T extends Enum<T> & BitFieldElement> int validateAll(final Class<T> enumClass, final long[] values) {
+        Objects.requireNonNull(values, "values can not be null");
+        return firstInvalid(values, ~BitFieldCodec.of(enumClass).getValidMask(), 0, values.length);
+    }
+
+    /**
+     * Parallel variant of {@link #validateAll(Class, long[])}.
+     *
+     * @param enumClass The type of the elements stored in the bit field
+     * @param values The bit field values to check.
+     * @param <T> The BitFieldElement class.
+     * @return The index of the first invalid value, or -1 if all values are valid.
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement
+     */
+    public static <T extends Enum<T> & BitFieldElement> int parallelValidateAll(final Class<T> enumClass,
+                                                                                final long[] values) {
+        Objects.requireNonNull(values, "values can not be null");
+        return ForkJoinPool.commonPool().invoke(new ValidateTask(values, ~BitFieldCodec.of(enumClass).getValidMask(), 0,
+                values.length));
+    }
+
+    private static <T extends Enum<T> & BitFieldElement> void encodeAll(final Class<T> enumClass,
+                                                                        final List<Set<T>> sets, final long[] out,
+                                                                        final boolean parallel) {
+        Objects.requireNonNull(sets, "sets can not be null");
+        checkOutput(sets.size(), Objects.requireNonNull(out, "out can not be null").length);
+
+        final BitFieldCodec<T> codec = BitFieldCodec.of(enumClass);
+        run(sets.size(), parallel, (from, to) -> {
+            for (int i = from; i < to; ++i) {
+                out[i] = codec.encode(sets.get(i));
+            }
+        });
+    }
+
+    private static <T extends Enum<T> & BitFieldElement> void decodeAll(final Class<T> enumClass, final long[] values,
+                                                                        final Set<T>[] out, final boolean parallel) {
+        Objects.requireNonNull(values, "values can not be null");
+        checkOutput(values.length, Objects.requireNonNull(out, "out can not be null").length);
+
+        final BitFieldCodec<T> codec = BitFieldCodec.of(enumClass);
+        run(values.length, parallel, (from, to) -> {
+            for (int i = from; i < to; ++i) {
+                out[i] = codec.decode(values[i]);
+            }
+        });
+    }
+
+    private static void checkOutput(final int inputLength, final int outputLength) {
+        if (outputLength < inputLength) {
+            throw new IllegalArgumentException(String.format("out is too small, expected at least [%d] elements but " +
+                    "was [%d]", inputLength, outputLength));
+        }
+    }
+
+    private static int firstInvalid(final long[] values, final long invalidMask, final int from, final int to) {
+        for (int i = from; i < to; ++i) {
+            if ((values[i] & invalidMask) != 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void run(final int length, final boolean parallel, final RangeAction action) {
+        if (parallel && length > CHUNK_SIZE) {
+            ForkJoinPool.commonPool().invoke(new RangeTask(action, 0, length));
+        } else {
+            action.apply(0, length);
+        }
+    }
+
+    /**
+     * An action applied on a range of indexes.
+     */
+    @FunctionalInterface
+    private interface RangeAction {
+        /**
+         * Apply the action on the given range.
+         *
+         * @param from The first index, inclusive.
+         * @param to The last index, exclusive.
+         */
+        void apply(int from, int to);
+    }
+
+    /**
+     * Split a range of indexes in chunks of {@link #CHUNK_SIZE} values.
+     */
+    private static final class RangeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final RangeAction action;
+
+        private final int from;
+
+        private final int to;
+
+        RangeTask(final RangeAction action, final int from, final int to) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK_SIZE) {
+                action.apply(from, to);
+            } else {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new RangeTask(action, from, middle), new RangeTask(action, middle, to));
+            }
+        }
+    }
+
+    /**
+     * Search the first invalid value of a range, splitting it in chunks of {@link #CHUNK_SIZE} values.
+     */
+    private static final class ValidateTask extends RecursiveTask<Integer> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long[] values;
+
+        private final long invalidMask;
+
+        private final int from;
+
+        private final int to;
+
+        ValidateTask(final long[] values, final long invalidMask, final int from, final int to) {
+            this.values = values;
+            this.invalidMask = invalidMask;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= CHUNK_SIZE) {
+                return firstInvalid(values, invalidMask, from, to);
+            }
+
+            final int middle = (from + to) >>> 1;
+            final ValidateTask right = new ValidateTask(values, invalidMask, middle, to);
+            right.fork();
+
+            final int left = new ValidateTask(values, invalidMask, from, middle).compute();
+            if (left >= 0) {
+                right.cancel(false);
+                return left;
+            }
+            return right.join();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package io.github.florentclarret.jbitfield;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Mutable builder of bit fields. The elements are accumulated in a primitive long, so setting flags one at a time does
+ * not allocate anything, and the builder may be reset and reused, e.g. one instance per thread. The instances are not
+ * thread-safe.
+ *
+ * @param <T> The enum which represents the value in the bit field.
+ * @author Florent Clarret
+ */
+public final class BitFieldBuilder<T extends Enum<T> & BitFieldElement> {
+
+    /**
+     * The codec of the class represented in the bit field
+     */
+    private final BitFieldCodec<T> codec;
+
+    /**
+     * Binary representation of the bit field being built.
+     */
+    private long bitField;
+
+    /**
+     * Creates an empty builder.
+     *
+     * @param enumClass the Class represented in the bit field
+     * @throws NullPointerException if the enumClass is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement
+     */
+    public BitFieldBuilder(final Class<T> enumClass) {
+        this.codec = BitFieldCodec.of(enumClass);
+    }
+
+    /**
+     * Set the bit of the given element.
+     *
+     * @param element The element to add.
+     * @return The current builder.
+     * @throws NullPointerException if the element is null
+     */
+    public BitFieldBuilder<T> set(final T element) {
+        bitField |= codec.encodeElement(Objects.requireNonNull(element, "element can not be null"));
+        return this;
+    }
+
+    /**
+     * Set or clear the bit of the given element.
+     *
+     * @param element The element to add or remove.
+     * @param value true to set the bit, false to clear it.
+     * @return The current builder.
+     * @throws NullPointerException if the element is null
+     */
+    public BitFieldBuilder<T> set(final T element, final boolean value) {
+        final long mask = codec.encodeElement(Objects.requireNonNull(element, "element can not be null"));
+        // Branch-free : clear the bit, then set it back if needed
+        bitField = (bitField & ~mask) | (mask & -(value ? 1L : 0L));
+        return this;
+    }
+
+    /**
+     * Set the bits of all the given elements.
+     *
+     * @param elements The elements to add.
+     * @return The current builder.
+     * @throws NullPointerException if elements is null
+     */
+    public BitFieldBuilder<T> setAll(final Set<T> elements) {
+        bitField |= codec.encode(Objects.requireNonNull(elements, "elements can not be null"));
+        return this;
+    }
+
+    /**
+     * Clear the bit of the given element.
+     *
+     * @param element The element to remove.
+     * @return The current builder.
+     * @throws NullPointerException if the element is null
+     */
+    public BitFieldBuilder<T> clear(final T element) {
+        bitField &= ~codec.encodeElement(Objects.requireNonNull(element, "element can not be null"));
+        return this;
+    }
+
+    /**
+     * Flip the bit of the given element.
+     *
+     * @param element The element to add or remove.
+     * @return The current builder.
+     * @throws NullPointerException if the element is null
+     */
+    public BitFieldBuilder<T> toggle(final T element) {
+        bitField ^= codec.encodeElement(Objects.requireNonNull(element, "element can not be null"));
+        return this;
+    }
+
+    /**
+     * Return true if the bit of the given element is set.
+     *
+     * @param element The element to look for.
+     * @return true if the element is present.
+     * @throws NullPointerException if the element is null
+     */
+    public boolean contains(final T element) {
+        return codec.contains(bitField, Objects.requireNonNull(element, "element can not be null"));
+    }
+
+    /**
+     * Clear all the bits, so the builder can be reused.
+     *
+     * @return The current builder.
+     */
+    public BitFieldBuilder<T> reset() {
+        bitField = 0;
+        return this;
+    }
+
+    /**
+     * Return the binary representation of the bit field being built.
+     *
+     * @return A long representing the current bit field.
+     */
+    public long buildValue() {
+        return bitField;
+    }
+
+    /**
+     * Return the canonical bit field of the elements set so far. The builder is not reset.
+     *
+     * @return The canonical bit field.
+     */
+    public BitField<T> build() {
+        return BitField.canonical(codec, bitField);
+    }
+
+    @Override
+    public String toString() {
+        return "BitFieldBuilder{" + "bitField=" + bitField + '}';
+    }
+}
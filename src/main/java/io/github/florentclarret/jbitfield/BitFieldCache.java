@@ -0,0 +1,165 @@
+package io.github.florentclarret.jbitfield;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Cache of the canonical BitField instances of an enum. Narrow enums use a dense array indexed by the bit field value,
+ * so every possible value can be cached. Wider enums use a fixed-size direct-mapped array indexed by a hash of the
+ * value : a lookup never boxes the value nor allocates anything, and a value whose slot is taken by another one
+ * replaces it, so no eviction is ever needed.
+ * <p>
+ * The width limit of the dense mode and the number of slots of the sparse mode can be configured with the
+ * {@value #DENSE_WIDTH_PROPERTY} and {@value #MAX_SIZE_PROPERTY} system properties.
+ *
+ * @param <T> The enum which represents the value in the bit field.
+ * @author Florent Clarret
+ */
+final class BitFieldCache<T extends Enum<T> & BitFieldElement> {
+
+    /**
+     * The system property defining the highest width using the dense mode.
+     */
+    static final String DENSE_WIDTH_PROPERTY = "io.github.florentclarret.jbitfield.cache.denseWidth";
+
+    /**
+     * The system property defining the number of slots of the sparse mode, rounded up to a power of two.
+     */
+    static final String MAX_SIZE_PROPERTY = "io.github.florentclarret.jbitfield.cache.maxSize";
+
+    /**
+     * The default highest width using the dense mode, i.e. 4096 entries.
+     */
+    private static final int DEFAULT_DENSE_WIDTH = 12;
+
+    /**
+     * The default number of slots of the sparse mode.
+     */
+    private static final int DEFAULT_MAX_SIZE = 1024;
+
+    /**
+     * The maximum number of slots of the sparse mode.
+     */
+    private static final int MAX_SLOTS = 1 << 30;
+
+    /**
+     * The cached instances indexed by value, null if the sparse mode is used.
+     */
+    private final AtomicReferenceArray<BitField<T>> dense;
+
+    /**
+     * The cached instances indexed by the hash of their value, null if the dense mode is used.
+     */
+    private final AtomicReferenceArray<BitField<T>> sparse;
+
+    /**
+     * The shift applied on the hash to get the slot of the sparse mode, 64 minus the number of bits of the slots.
+     */
+    private final int shift;
+
+    /**
+     * Creates a cache using the configured limits.
+     *
+     * @param width The number of bits needed to store the enum.
+     */
+    BitFieldCache(final int width) {
+        this(width, Integer.getInteger(DENSE_WIDTH_PROPERTY, DEFAULT_DENSE_WIDTH), Integer.getInteger(MAX_SIZE_PROPERTY,
+                DEFAULT_MAX_SIZE));
+    }
+
+    /**
+     * Creates a cache using the given limits.
+     *
+     * @param width The number of bits needed to store the enum.
+     * @param denseWidth The highest width using the dense mode.
+     * @param maxSize The number of slots of the sparse mode, rounded up to a power of two between 2 and 2^30.
+     */
+    BitFieldCache(final int width, final int denseWidth, final int maxSize) {
+        final boolean isDense = width <= Math.min(denseWidth, Integer.SIZE - 2);
+        final int size = Math.min(MAX_SLOTS, maxSize);
+        final int slots = (size <= 2) ? 2 : Integer.highestOneBit(size - 1) << 1;
+        this.dense = isDense ? new AtomicReferenceArray<>(1 << width) : null;
+        this.sparse = isDense ? null : new AtomicReferenceArray<>(slots);
+        this.shift = Long.SIZE - Integer.numberOfTrailingZeros(slots);
+    }
+
+    /**
+     * Return the cached instance of the given value.
+     *
+     * @param bitField The binary representation of the bit field, which must be valid for the enum.
+     * @return The cached instance, or null if the value is not cached.
+     */
+    BitField<T> get(final long bitField) {
+        if (dense != null) {
+            return dense.get((int) bitField);
+        }
+
+        final BitField<T> cached = sparse.get(slot(bitField));
+        return (cached != null && cached.getBitFieldValue() == bitField) ? cached : null;
+    }
+
+    /**
+     * Cache the given instance if no instance is already cached for its value. In sparse mode, the instance replaces
+     * the one of another value using the same slot.
+     *
+     * @param bitField The instance to cache.
+     * @return The cached instance, which may be an instance cached concurrently.
+     */
+    BitField<T> putIfAbsent(final BitField<T> bitField) {
+        final long value = bitField.getBitFieldValue();
+
+        if (dense != null) {
+            return dense.compareAndSet((int) value, null, bitField) ? bitField : dense.get((int) value);
+        }
+
+        final int slot = slot(value);
+        final BitField<T> current = sparse.get(slot);
+        if (current != null && current.getBitFieldValue() == value) {
+            return current;
+        }
+        if (sparse.compareAndSet(slot, current, bitField)) {
+            return bitField;
+        }
+
+        // Lost a race : keep the concurrent instance if it has the same value
+        final BitField<T> concurrent = sparse.get(slot);
+        return (concurrent != null && concurrent.getBitFieldValue() == value) ? concurrent : bitField;
+    }
+
+    /**
+     * Return the number of cached instances.
+     *
+     * @return The number of cached instances.
+     */
+    int size() {
+        final AtomicReferenceArray<BitField<T>> table = (dense != null) ? dense : sparse;
+
+        int size = 0;
+        for (int i = 0; i < table.length(); ++i) {
+            size += (table.get(i) != null) ? 1 : 0;
+        }
+        return size;
+    }
+
+    /**
+     * Return true if the cache uses a dense array.
+     *
+     * @return true in dense mode, false in sparse mode.
+     */
+    boolean isDense() {
+        return dense != null;
+    }
+
+    /**
+     * Return the number of slots of the sparse mode.
+     *
+     * @return The number of slots, 0 in dense mode.
+     */
+    int getSlotCount() {
+        return (sparse != null) ? sparse.length() : 0;
+    }
+
+    private int slot(final long bitField) {
+        // Fibonacci hashing : the high bits of the product depend on all the bits of the value
+        return (int) ((bitField * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+}
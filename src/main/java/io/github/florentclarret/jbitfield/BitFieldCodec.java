@@ -0,0 +1,360 @@
+package io.github.florentclarret.jbitfield;
+
+import java.lang.reflect.Array;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Precomputed conversion tables between a BitFieldElement enum and its bit field representation. A codec is built and
+ * validated only once per enum class and then shared through a registry, so encoding and decoding never need to call
+ * reflection or to validate the enum again.
+ *
+ * @param <T> The enum which represents the value in the bit field.
+ * @author Florent Clarret
+ */
+public final class BitFieldCodec<T extends Enum<T> & BitFieldElement> {
+
+    /**
+     * The codecs already computed, one per enum class.
+     */
+    private static final ClassValue<BitFieldCodec<?>> REGISTRY = new ClassValue<BitFieldCodec<?>>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected BitFieldCodec<?> computeValue(final Class<?> type) {
+            return new BitFieldCodec(type);
+        }
+    };
+
+    /**
+     * The class represented in the bit field
+     */
+    private final Class<T> enumClass;
+
+    /**
+     * The mask of each constant, indexed by ordinal.
+     */
+    private final long[] masksByOrdinal;
+
+    /**
+     * The constant stored at each position, null if the position is not used.
+     */
+    private final T[] elementsByPosition;
+
+    /**
+     * All the bits used by the enum.
+     */
+    private final long validMask;
+
+    /**
+     * Hash of the name and position of each constant.
+     */
+    private final long layoutFingerprint;
+
+    /**
+     * The canonical BitField instances of the enum.
+     */
+    private final BitFieldCache<T> cache;
+
+    @SuppressWarnings("unchecked")
+    private BitFieldCodec(final Class<T> enumClass) {
+        if (!BitFieldHelper.isValidEnum(enumClass)) {
+            throw new IllegalArgumentException(String.format("the class [%s] is not a valid " +
+                    "BitFieldElement", enumClass.getName()));
+        }
+
+        this.enumClass = enumClass;
+        final T[] constants = enumClass.getEnumConstants();
+        this.masksByOrdinal = new long[constants.length];
+        this.elementsByPosition = (T[]) Array.newInstance(enumClass, Long.SIZE);
+
+        long mask = 0;
+        for (final T element : constants) {
+            final int position = element.getBitFieldPosition();
+            if (position >= Long.SIZE) {
+                throw new IllegalArgumentException(String.format("the position [%d] of [%s] does not fit in a long, " +
+                        "use a LargeBitField instead", position, element));
+            }
+            masksByOrdinal[element.ordinal()] = 1L << position;
+            elementsByPosition[position] = element;
+            mask |= 1L << position;
+        }
+        this.validMask = mask;
+        this.layoutFingerprint = fingerprint(elementsByPosition);
+        this.cache = new BitFieldCache<>(getWidth());
+    }
+
+    /**
+     * Return the codec of the given enum class. The codec is computed and validated on the first call, then cached.
+     *
+     * @param enumClass The type of the elements stored in the bit field
+     * @param <T> The BitFieldElement class.
+     * @return The codec of the enum class.
+     * @throws NullPointerException if the enumClass is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement or if a position is greater than 63
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Enum<T> & BitFieldElement> BitFieldCodec<T> of(final Class<T> enumClass) {
+        return (BitFieldCodec<T>) REGISTRY.get(Objects.requireNonNull(enumClass, "enumClass can not be null"));
+    }
+
+    /**
+     * Return the class handled by this codec.
+     *
+     * @return The enum class.
+     */
+    public Class<T> getEnumClass() {
+        return enumClass;
+    }
+
+    /**
+     * Return a mask with all the bits used by the enum.
+     *
+     * @return The valid bits mask.
+     */
+    public long getValidMask() {
+        return validMask;
+    }
+
+    /**
+     * Return the number of bits needed to store any value of the enum, i.e. the highest position plus one.
+     *
+     * @return The width of the bit field, between 0 and 64.
+     */
+    public int getWidth() {
+        return Long.SIZE - Long.numberOfLeadingZeros(validMask);
+    }
+
+    /**
+     * Return a hash of the name and position of each constant of the enum. Two versions of an enum have the same
+     * fingerprint if their constants have the same names and positions, whatever their declaration order, so stored
+     * values can be checked against the enum before decoding them.
+     *
+     * @return The 64-bit FNV-1a hash of the positions and names of the constants.
+     */
+    public long getLayoutFingerprint() {
+        return layoutFingerprint;
+    }
+
+    /**
+     * Return the mask of a single element.
+     *
+     * @param element The element.
+     * @return A long with only the bit of the element set.
+     * @throws NullPointerException if element is null
+     */
+    public long getMask(final T element) {
+        return masksByOrdinal[element.ordinal()];
+    }
+
+    /**
+     * Return the element stored at the given position.
+     *
+     * @param position The position in the bit field.
+     * @return The element, or null if no element uses this position.
+     */
+    public T getElement(final int position) {
+        return (position < 0 || position >= Long.SIZE) ? null : elementsByPosition[position];
+    }
+
+    /**
+     * Check that all the bits of the given value are used by the enum.
+     *
+     * @param bitField The binary representation of the bit field.
+     * @return true if the value can be decoded, false otherwise.
+     */
+    public boolean isValid(final long bitField) {
+        return (bitField & ~validMask) == 0;
+    }
+
+    /**
+     * Return the binary representation of the given set.
+     *
+     * @param set The elements to encode.
+     * @return The binary representation of the bit field.
+     * @throws NullPointerException if the set or any of its elements is null
+     */
+    public long encode(final Set<T> set) {
+        long bitField = 0;
+        for (final T element : Objects.requireNonNull(set, "set can not be null")) {
+            bitField |= masksByOrdinal[element.ordinal()];
+        }
+        return encoded(bitField);
+    }
+
+    /**
+     * Return the binary representation of the given elements. Duplicated values are used only once.
+     *
+     * @param elements The elements to encode.
+     * @return The binary representation of the bit field.
+     * @throws NullPointerException if the elements or any of them is null
+     */
+    @SafeVarargs
+    public final long encode(final T... elements) {
+        long bitField = 0;
+        for (final T element : Objects.requireNonNull(elements, "elements can not be null")) {
+            bitField |= masksByOrdinal[element.ordinal()];
+        }
+        return encoded(bitField);
+    }
+
+    /**
+     * Check if the given element is in the bit field.
+     *
+     * @param bitField The binary representation of the bit field.
+     * @param element The element to look for.
+     * @return true if the bit of the element is set, false otherwise.
+     * @throws NullPointerException if element is null
+     */
+    public boolean contains(final long bitField, final T element) {
+        return (bitField & masksByOrdinal[element.ordinal()]) != 0;
+    }
+
+    /**
+     * Return the bit field with the bit of the given element set.
+     *
+     * @param bitField The binary representation of the bit field.
+     * @param element The element to add.
+     * @return The binary representation of the bit field with the element.
+     * @throws NullPointerException if element is null
+     */
+    public long with(final long bitField, final T element) {
+        return bitField | encodeElement(element);
+    }
+
+    /**
+     * Return the bit field with the bit of the given element cleared.
+     *
+     * @param bitField The binary representation of the bit field.
+     * @param element The element to remove.
+     * @return The binary representation of the bit field without the element.
+     * @throws NullPointerException if element is null
+     */
+    public long without(final long bitField, final T element) {
+        return bitField & ~encodeElement(element);
+    }
+
+    /**
+     * Return the number of elements in the bit field.
+     *
+     * @param bitField The binary representation of the bit field.
+     * @return The number of bits set.
+     */
+    public int cardinality(final long bitField) {
+        return Long.bitCount(bitField);
+    }
+
+    /**
+     * Return a new mutable set containing the elements of the given bit field.
+     *
+     * @param bitField The binary representation of the bit field.
+     * @return A new set of the elements in the bit field.
+     * @throws IllegalArgumentException if any value in the field is not present in the BitFieldElement enum position's
+     */
+    public EnumSet<T> decode(final long bitField) {
+        checkValid(bitField);
+
+        final EnumSet<T> set = EnumSet.noneOf(enumClass);
+        for (long remaining = decoded(bitField); remaining != 0; remaining &= remaining - 1) {
+            set.add(elementsByPosition[Long.numberOfTrailingZeros(remaining)]);
+        }
+        return set;
+    }
+
+    /**
+     * Call the given action for each element of the bit field, by ascending position, without creating any set.
+     *
+     * @param bitField The binary representation of the bit field.
+     * @param action The action to call for each element.
+     * @throws NullPointerException if the action is null
+     * @throws IllegalArgumentException if any value in the field is not present in the BitFieldElement enum position's
+     */
+    public void forEachSetElement(final long bitField, final Consumer<? super T> action) {
+        Objects.requireNonNull(action, "action can not be null");
+        checkValid(bitField);
+
+        for (long remaining = decoded(bitField); remaining != 0; remaining &= remaining - 1) {
+            action.accept(elementsByPosition[Long.numberOfTrailingZeros(remaining)]);
+        }
+    }
+
+    private static long fingerprint(final Enum<?>[] elementsByPosition) {
+        long hash = 0xcbf29ce484222325L;
+        for (int position = 0; position < elementsByPosition.length; ++position) {
+            if (elementsByPosition[position] != null) {
+                hash = (hash ^ position) * 0x100000001b3L;
+                for (final char c : elementsByPosition[position].name().toCharArray()) {
+                    hash = (hash ^ c) * 0x100000001b3L;
+                }
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Return the mask of the given element to add it to or remove it from a value, counted as an encode by the metrics.
+     *
+     * @param element The element.
+     * @return A long with only the bit of the element set.
+     * @throws NullPointerException if element is null
+     */
+    long encodeElement(final T element) {
+        return encoded(masksByOrdinal[element.ordinal()]);
+    }
+
+    /**
+     * Record the conversion of the given value to its elements in the metrics. This is the single place counting the
+     * decodes : it is called by {@link #decode(long)}, {@link #forEachSetElement(long, Consumer)} and when the
+     * iteration of a set view or of a spliterator starts.
+     *
+     * @param bitField The binary representation of the bit field.
+     * @return The given value.
+     */
+    long decoded(final long bitField) {
+        if (BitFieldMetrics.isEnabled()) {
+            BitFieldMetrics.recordDecode(enumClass, bitField);
+        }
+        return bitField;
+    }
+
+    /**
+     * Record the conversion of elements to the given value in the metrics. This is the single place counting the
+     * encodes : it is called by the encode methods and by {@link #encodeElement(Enum)}.
+     *
+     * @param bitField The binary representation of the encoded elements.
+     * @return The given value.
+     */
+    private long encoded(final long bitField) {
+        if (BitFieldMetrics.isEnabled()) {
+            BitFieldMetrics.recordEncode(enumClass, bitField);
+        }
+        return bitField;
+    }
+
+    BitFieldCache<T> getCache() {
+        return cache;
+    }
+
+    /**
+     * Throw an exception if the given value contains bits not used by the enum. This is the single validation of the
+     * library, so the failures are counted by the {@link BitFieldMetrics}.
+     *
+     * @param bitField The binary representation of the bit field.
+     * @throws IllegalArgumentException if any value in the field is not present in the BitFieldElement enum position's
+     */
+    public void checkValid(final long bitField) {
+        if (!isValid(bitField)) {
+            if (BitFieldMetrics.isEnabled()) {
+                BitFieldMetrics.recordValidationFailure(enumClass, bitField);
+            }
+            throw new IllegalArgumentException(String.format("Invalid value found in bit field [%s] for enum [%s]",
+                    bitField, enumClass.getName()));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BitFieldCodec{" + "enumClass=" + enumClass.getName() + ", validMask=" + validMask + '}';
+    }
+}
@@ -0,0 +1,268 @@
+package io.github.florentclarret.jbitfield;
+
+import java.nio.LongBuffer;
+import java.util.Objects;
+
+/**
+ * Mask queries over columns of bit field values, without decoding them. A column is either a long array or the
+ * remaining values of a LongBuffer (the position of the buffer is not modified). The loops are written without
+ * branches on the values so the JIT compiler can unroll and vectorize them.
+ *
+ * @author Florent Clarret
+ */
+public final class BitFieldColumns {
+
+    /**
+     * The predicate applied on each value of the column.
+     */
+    public enum Match {
+        /**
+         * The value contains all the elements of the mask.
+         */
+        CONTAINS_ALL,
+        /**
+         * The value contains at least one element of the mask.
+         */
+        CONTAINS_ANY,
+        /**
+         * The value contains none of the elements of the mask.
+         */
+        CONTAINS_NONE;
+
+        /**
+         * Apply the predicate on a single value.
+         *
+         * @param value The binary representation of the bit field.
+         * @param mask The binary representation of the mask.
+         * @return true if the value matches.
+         */
+        public boolean test(final long value, final long mask) {
+            switch (this) {
+                case CONTAINS_ALL:
+                    return (value & mask) == mask;
+                case CONTAINS_ANY:
+                    return (value & mask) != 0;
+                default:
+                    return (value & mask) == 0;
+            }
+        }
+    }
+
+    private BitFieldColumns() {
+        throw new IllegalArgumentException("no instance for you");
+    }
+
+    /**
+     * Return the number of values of the column matching the mask.
+     *
+     * @param column The bit field values.
+     * @param match The predicate to apply.
+     * @param mask The elements to look for.
+     * @param <T> The BitFieldElement class.
+     * @return The number of matching values.
+     * @throws NullPointerException if any parameter is null
+     */
+    public static <T extends Enum<T> & BitFieldElement> int count(final long[] column, final Match match,
+                                                                   final BitField<T> mask) {
+        Objects.requireNonNull(column, "column can not be null");
+        return count(column, 0, column.length, match, maskOf(mask));
+    }
+
+    /**
+     * Return the number of remaining values of the buffer matching the mask.
+     *
+     * @param column The bit field values.
+     * @param match The predicate to apply.
+     * @param mask The elements to look for.
+     * @param <T> The BitFieldElement class.
+     * @return The number of matching values.
+     * @throws NullPointerException if any parameter is null
+     */
+    public static <T extends Enum<T> & BitFieldElement> int count(final LongBuffer column, final Match match,
+                                                                   final BitField<T> mask) {
+        Objects.requireNonNull(column, "column can not be null");
+
+        if (column.hasArray()) {
+            final int from = column.arrayOffset() + column.position();
+            return count(column.array(), from, from + column.remaining(), match, maskOf(mask));
+        }
+
+        final long value = maskOf(mask);
+        Objects.requireNonNull(match, "match can not be null");
+        int count = 0;
+        for (int i = column.position(); i < column.limit(); i += Long.SIZE) {
+            count += Long.bitCount(matchWord(column, i, Math.min(i + Long.SIZE, column.limit()), match, value));
+        }
+        return count;
+    }
+
+    /**
+     * Return the indexes of the values of the column matching the mask.
+     *
+     * @param column The bit field values.
+     * @param match The predicate to apply.
+     * @param mask The elements to look for.
+     * @param <T> The BitFieldElement class.
+     * @return The matching indexes, by ascending order.
+     * @throws NullPointerException if any parameter is null
+     */
+    public static <T extends Enum<T> & BitFieldElement> int[] indices(final long[] column, final Match match,
+                                                                     final BitField<T> mask) {
+        return indices(bitmap(column, match, mask));
+    }
+
+    /**
+     * Return the indexes, relative to the position of the buffer, of the remaining values matching the mask.
+     *
+     * @param column The bit field values.
+     * @param match The predicate to apply.
+     * @param mask The elements to look for.
+     * @param <T> The BitFieldElement class.
+     * @return The matching indexes, by ascending order.
+     * @throws NullPointerException if any parameter is null
+     */
+    public static <T extends Enum<T> & BitFieldElement> int[] indices(final LongBuffer column, final Match match,
+                                                                     final BitField<T> mask) {
+        return indices(bitmap(column, match, mask));
+    }
+
+    /**
+     * Return a bitmap of the values of the column matching the mask. The bit i of the result is set if the value i
+     * matches, using the {@link java.util.BitSet#valueOf(long[])} layout.
+     *
+     * @param column The bit field values.
+     * @param match The predicate to apply.
+     * @param mask The elements to look for.
+     * @param <T> The BitFieldElement class.
+     * @return The bitmap of the matching values.
+     * @throws NullPointerException if any parameter is null
+     */
+    public static <T extends Enum<T> & BitFieldElement> long[] bitmap(final long[] column, final Match match,
+                                                                      final BitField<T> mask) {
+        Objects.requireNonNull(column, "column can not be null");
+        Objects.requireNonNull(match, "match can not be null");
+
+        final long value = maskOf(mask);
+        final long[] bitmap = new long[wordCount(column.length)];
+        for (int word = 0; word < bitmap.length; ++word) {
+            final int from = word * Long.SIZE;
+            bitmap[word] = matchWord(column, from, Math.min(from + Long.SIZE, column.length), match, value);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Return a bitmap of the remaining values of the buffer matching the mask. The bit i of the result is set if the
+     * value at the index i, relative to the position of the buffer, matches.
+     *
+     * @param column The bit field values.
+     * @param match The predicate to apply.
+     * @param mask The elements to look for.
+     * @param <T> The BitFieldElement class.
+     * @return The bitmap of the matching values.
+     * @throws NullPointerException if any parameter is null
+     */
+    public static <T extends Enum<T> & BitFieldElement> long[] bitmap(final LongBuffer column, final Match match,
+                                                                      final BitField<T> mask) {
+        Objects.requireNonNull(column, "column can not be null");
+        Objects.requireNonNull(match, "match can not be null");
+
+        final long value = maskOf(mask);
+        final int position = column.position();
+        final long[] bitmap = new long[wordCount(column.remaining())];
+        for (int word = 0; word < bitmap.length; ++word) {
+            final int from = position + word * Long.SIZE;
+            bitmap[word] = matchWord(column, from, Math.min(from + Long.SIZE, column.limit()), match, value);
+        }
+        return bitmap;
+    }
+
+    private static long maskOf(final BitField<?> mask) {
+        return Objects.requireNonNull(mask, "mask can not be null").getBitFieldValue();
+    }
+
+    private static int wordCount(final int length) {
+        return (length + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    private static int[] indices(final long[] bitmap) {
+        int count = 0;
+        for (final long word : bitmap) {
+            count += Long.bitCount(word);
+        }
+
+        final int[] indices = new int[count];
+        int index = 0;
+        for (int word = 0; word < bitmap.length; ++word) {
+            for (long remaining = bitmap[word]; remaining != 0; remaining &= remaining - 1) {
+                indices[index++] = word * Long.SIZE + Long.numberOfTrailingZeros(remaining);
+            }
+        }
+        return indices;
+    }
+
+    private static int count(final long[] column, final int from, final int to, final Match match, final long mask) {
+        int count = 0;
+        switch (Objects.requireNonNull(match, "match can not be null")) {
+            case CONTAINS_ALL:
+                for (int i = from; i < to; ++i) {
+                    count += ((column[i] & mask) == mask) ? 1 : 0;
+                }
+                return count;
+            case CONTAINS_ANY:
+                for (int i = from; i < to; ++i) {
+                    count += ((column[i] & mask) != 0) ? 1 : 0;
+                }
+                return count;
+            default:
+                for (int i = from; i < to; ++i) {
+                    count += ((column[i] & mask) == 0) ? 1 : 0;
+                }
+                return count;
+        }
+    }
+
+    private static long matchWord(final long[] column, final int from, final int to, final Match match,
+                                  final long mask) {
+        long word = 0;
+        switch (match) {
+            case CONTAINS_ALL:
+                for (int i = from; i < to; ++i) {
+                    word |= (((column[i] & mask) == mask) ? 1L : 0L) << (i - from);
+                }
+                return word;
+            case CONTAINS_ANY:
+                for (int i = from; i < to; ++i) {
+                    word |= (((column[i] & mask) != 0) ? 1L : 0L) << (i - from);
+                }
+                return word;
+            default:
+                for (int i = from; i < to; ++i) {
+                    word |= (((column[i] & mask) == 0) ? 1L : 0L) << (i - from);
+                }
+                return word;
+        }
+    }
+
+    private static long matchWord(final LongBuffer column, final int from, final int to, final Match match,
+                                  final long mask) {
+        long word = 0;
+        switch (match) {
+            case CONTAINS_ALL:
+                for (int i = from; i < to; ++i) {
+                    word |= (((column.get(i) & mask) == mask) ? 1L : 0L) << (i - from);
+                }
+                return word;
+            case CONTAINS_ANY:
+                for (int i = from; i < to; ++i) {
+                    word |= (((column.get(i) & mask) != 0) ? 1L : 0L) << (i - from);
+                }
+                return word;
+            default:
+                for (int i = from; i < to; ++i) {
+                    word |= (((column.get(i) & mask) == 0) ? 1L : 0L) << (i - from);
+                }
+                return word;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.github.florentclarret.jbitfield;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The conversion counters of an enum, updated when the metrics are enabled, see {@link BitFieldMetrics}. The counters
+ * are {@link LongAdder}s, so concurrent updates do not contend on a single memory location.
+ *
+ * @author Florent Clarret
+ */
+public final class BitFieldCounters implements BitFieldCountersMBean {
+
+    /**
+     * The name of the enum class.
+     */
+    private final String enumClass;
+
+    private final LongAdder encodes = new LongAdder();
+
+    private final LongAdder decodes = new LongAdder();
+
+    private final LongAdder validationFailures = new LongAdder();
+
+    private final LongAdder cacheHits = new LongAdder();
+
+    private final LongAdder cacheMisses = new LongAdder();
+
+    /**
+     * true once the registration of the counters in the MBean server has been attempted.
+     */
+    private final AtomicBoolean registered = new AtomicBoolean();
+
+    BitFieldCounters(final String enumClass) {
+        this.enumClass = enumClass;
+    }
+
+    /**
+     * Return true if the registration of the counters has already been attempted.
+     *
+     * @return true if the counters do not need to be registered.
+     */
+    boolean isRegistered() {
+        return registered.get();
+    }
+
+    /**
+     * Mark the counters as registered.
+     *
+     * @return true if the caller must register the counters, false if another thread already did.
+     */
+    boolean markRegistered() {
+        return registered.compareAndSet(false, true);
+    }
+
+    @Override
+    public String getEnumClass() {
+        return enumClass;
+    }
+
+    @Override
+    public long getEncodes() {
+        return encodes.sum();
+    }
+
+    @Override
+    public long getDecodes() {
+        return decodes.sum();
+    }
+
+    @Override
+    public long getValidationFailures() {
+        return validationFailures.sum();
+    }
+
+    @Override
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    @Override
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    @Override
+    public void reset() {
+        encodes.reset();
+        decodes.reset();
+        validationFailures.reset();
+        cacheHits.reset();
+        cacheMisses.reset();
+    }
+
+    void incrementEncodes() {
+        encodes.increment();
+    }
+
+    void incrementDecodes() {
+        decodes.increment();
+    }
+
+    void incrementValidationFailures() {
+        validationFailures.increment();
+    }
+
+    void incrementCacheHits() {
+        cacheHits.increment();
+    }
+
+    void incrementCacheMisses() {
+        cacheMisses.increment();
+    }
+
+    @Override
+    public String toString() {
+        return "BitFieldCounters{" + "enumClass=" + enumClass + ", encodes=" + getEncodes() + ", decodes="
+                + getDecodes() + ", validationFailures=" + getValidationFailures() + ", cacheHits=" + getCacheHits()
+                + ", cacheMisses=" + getCacheMisses() + '}';
+    }
+}
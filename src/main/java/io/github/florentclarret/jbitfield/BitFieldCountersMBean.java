@@ -0,0 +1,59 @@
+package io.github.florentclarret.jbitfield;
+
+/**
+ * JMX view of the {@link BitFieldCounters} of an enum.
+ *
+ * @author Florent Clarret
+ */
+public interface BitFieldCountersMBean {
+
+    /**
+     * Return the name of the enum class.
+     *
+     * @return The name of the enum class.
+     */
+    String getEnumClass();
+
+    /**
+     * Return the number of encodes, i.e. of conversions of elements to bits : one per call to an encode method of the
+     * codec, and one per element added or removed, e.g. by {@link BitField#add(Enum)} or {@link BitFieldBuilder}.
+     *
+     * @return The number of encodes.
+     */
+    long getEncodes();
+
+    /**
+     * Return the number of decodes, i.e. of conversions of a value to its elements : one per call to decode or
+     * forEachSetElement of the codec, and one per iteration of a set view or spliterator. Creating a BitField from a
+     * value only validates it and is not counted.
+     *
+     * @return The number of decodes.
+     */
+    long getDecodes();
+
+    /**
+     * Return the number of values rejected by the validation.
+     *
+     * @return The number of validation failures.
+     */
+    long getValidationFailures();
+
+    /**
+     * Return the number of canonical bit fields found in the cache.
+     *
+     * @return The number of cache hits.
+     */
+    long getCacheHits();
+
+    /**
+     * Return the number of canonical bit fields created because they were not in the cache.
+     *
+     * @return The number of cache misses.
+     */
+    long getCacheMisses();
+
+    /**
+     * Reset all the counters to 0.
+     */
+    void reset();
+}
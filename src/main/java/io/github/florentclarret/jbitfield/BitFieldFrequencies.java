@@ -0,0 +1,129 @@
+package io.github.florentclarret.jbitfield;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Objects;
+import java.util.stream.Collector;
+import java.util.stream.LongStream;
+
+/**
+ * Count how many bit fields contain each element of an enum. The counts are accumulated in a long array indexed by the
+ * position of the elements, one per thread in parallel streams, and merged at the end into an {@link EnumMap}. Every
+ * element of the enum is a key of the result, with a count of 0 if it was never seen.
+ *
+ * @author Florent Clarret
+ */
+public final class BitFieldFrequencies {
+
+    private BitFieldFrequencies() {
+        throw new IllegalArgumentException("no instance for you");
+    }
+
+    /**
+     * Return a collector counting the elements of a stream of bit fields. The collector supports parallel streams.
+     *
+     * @param enumClass The type of the elements stored in the bit field
+     * @param <T> The BitFieldElement class.
+     * @return The collector.
+     * @throws NullPointerException if the enumClass is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement
+     */
+    public static <T extends Enum<T> & BitFieldElement> Collector<BitField<T>, long[], EnumMap<T, Long>> counting(
+            final Class<T> enumClass) {
+        final BitFieldCodec<T> codec = BitFieldCodec.of(enumClass);
+        return Collector.of(() -> new long[Long.SIZE],
+                (counts, bitField) -> accumulate(counts, bitField.getBitFieldValue()),
+                BitFieldFrequencies::combine,
+                counts -> toMap(codec, counts),
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Count the elements of a stream of bit field values. The stream may be parallel.
+     *
+     * @param enumClass The type of the elements stored in the bit field
+     * @param values The bit field values.
+     * @param <T> The BitFieldElement class.
+     * @return The number of values containing each element.
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement or if any value is not valid for
+     *                                  the enum
+     */
+    public static <T extends Enum<T> & BitFieldElement> EnumMap<T, Long> count(final Class<T> enumClass,
+                                                                               final LongStream values) {
+        final BitFieldCodec<T> codec = BitFieldCodec.of(enumClass);
+        Objects.requireNonNull(values, "values can not be null");
+
+        return toMap(codec, values.collect(() -> new long[Long.SIZE], (counts, value) -> {
+            codec.checkValid(value);
+            accumulate(counts, value);
+        }, BitFieldFrequencies::combine));
+    }
+
+    /**
+     * Count the elements of an array of bit field values.
+     *
+     * @param enumClass The type of the elements stored in the bit field
+     * @param values The bit field values.
+     * @param <T> The BitFieldElement class.
+     * @return The number of values containing each element.
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement or if any value is not valid for
+     *                                  the enum
+     */
+    public static <T extends Enum<T> & BitFieldElement> EnumMap<T, Long> count(final Class<T> enumClass,
+                                                                               final long[] values) {
+        final BitFieldCodec<T> codec = BitFieldCodec.of(enumClass);
+        Objects.requireNonNull(values, "values can not be null");
+
+        final long invalidMask = ~codec.getValidMask();
+        final long[] counts = new long[Long.SIZE];
+        for (final long value : values) {
+            if ((value & invalidMask) != 0) {
+                codec.checkValid(value);
+            }
+            accumulate(counts, value);
+        }
+        return toMap(codec, counts);
+    }
+
+    /**
+     * Parallel variant of {@link #count(Class, long[])}, splitting the array between the threads of the common
+     * fork-join pool.
+     *
+     * @param enumClass The type of the elements stored in the bit field
+     * @param values The bit field values.
+     * @param <T> The BitFieldElement class.
+     * @return The number of values containing each element.
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement or if any value is not valid for
+     *                                  the enum
+     */
+    public static <T extends Enum<T> & BitFieldElement> EnumMap<T, Long> parallelCount(final Class<T> enumClass,
+                                                                                       final long[] values) {
+        Objects.requireNonNull(values, "values can not be null");
+        return count(enumClass, Arrays.stream(values).parallel());
+    }
+
+    private static void accumulate(final long[] counts, final long value) {
+        for (long remaining = value; remaining != 0; remaining &= remaining - 1) {
+            ++counts[Long.numberOfTrailingZeros(remaining)];
+        }
+    }
+
+    private static long[] combine(final long[] left, final long[] right) {
+        for (int i = 0; i < Long.SIZE; ++i) {
+            left[i] += right[i];
+        }
+        return left;
+    }
+
+    private static <T extends Enum<T> & BitFieldElement> EnumMap<T, Long> toMap(final BitFieldCodec<T> codec,
+                                                                                final long[] counts) {
+        final EnumMap<T, Long> frequencies = new EnumMap<>(codec.getEnumClass());
+        for (final T element : codec.getEnumClass().getEnumConstants()) {
+            frequencies.put(element, counts[element.getBitFieldPosition()]);
+        }
+        return frequencies;
+    }
+}
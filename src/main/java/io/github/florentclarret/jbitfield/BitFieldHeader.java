@@ -0,0 +1,151 @@
+package io.github.florentclarret.jbitfield;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Header of a column of bit field values stored in a buffer. The header is always big-endian and padded to a multiple
+ * of 8 bytes so the values following it are aligned :
+ * <ul>
+ *     <li>magic number, 4 bytes</li>
+ *     <li>format version, 2 bytes</li>
+ *     <li>byte order of the values, 1 byte : 0 for big-endian, 1 for little-endian</li>
+ *     <li>reserved, 1 byte</li>
+ *     <li>layout fingerprint of the enum, 8 bytes, see {@link BitFieldCodec#getLayoutFingerprint()}</li>
+ *     <li>number of values following the header, 8 bytes</li>
+ *     <li>length of the enum class name, 2 bytes</li>
+ *     <li>enum class name, UTF-8</li>
+ *     <li>padding</li>
+ * </ul>
+ * The number of values lets a reader ignore the space left after the last value, e.g. the unused end of a buffer or of
+ * a mapped file, and detect a column truncated after it was written.
+ *
+ * @author Florent Clarret
+ */
+final class BitFieldHeader {
+
+    /**
+     * The magic number, "JBFD" in ASCII.
+     */
+    static final int MAGIC = 0x4A424644;
+
+    /**
+     * The current format version.
+     */
+    static final short VERSION = 2;
+
+    /**
+     * The offset of the number of values from the start of the header.
+     */
+    static final int COUNT_OFFSET = 16;
+
+    /**
+     * The size of the header without the enum class name and the padding.
+     */
+    private static final int FIXED_SIZE = 26;
+
+    private BitFieldHeader() {
+        throw new IllegalArgumentException("no instance for you");
+    }
+
+    /**
+     * Return the size of the header of the given enum, padding included.
+     *
+     * @param codec The codec of the enum.
+     * @return The size of the header in bytes.
+     */
+    static int size(final BitFieldCodec<?> codec) {
+        final int size = FIXED_SIZE + codec.getEnumClass().getName().getBytes(StandardCharsets.UTF_8).length;
+        return (size + 7) & ~7;
+    }
+
+    /**
+     * Write the header of the given enum at the position of the buffer, with no value, and set the byte order of the
+     * buffer to the given one for the values.
+     *
+     * @param buffer The target buffer.
+     * @param codec The codec of the enum.
+     * @param order The byte order of the values.
+     */
+    static void write(final ByteBuffer buffer, final BitFieldCodec<?> codec, final ByteOrder order) {
+        final byte[] name = codec.getEnumClass().getName().getBytes(StandardCharsets.UTF_8);
+        final int start = buffer.position();
+
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.put((byte) (ByteOrder.BIG_ENDIAN.equals(order) ? 0 : 1));
+        buffer.put((byte) 0);
+        buffer.putLong(codec.getLayoutFingerprint());
+        buffer.putLong(0);
+        buffer.putShort((short) name.length);
+        buffer.put(name);
+        while (((buffer.position() - start) & 7) != 0) {
+            buffer.put((byte) 0);
+        }
+        buffer.order(order);
+    }
+
+    /**
+     * Update the number of values of the header written at the given position, without moving the buffer.
+     *
+     * @param buffer The target buffer.
+     * @param start The position of the header in the buffer.
+     * @param count The number of values following the header.
+     */
+    static void writeCount(final ByteBuffer buffer, final int start, final long count) {
+        buffer.putLong(start + COUNT_OFFSET, ByteOrder.BIG_ENDIAN.equals(buffer.order()) ? count
+                : Long.reverseBytes(count));
+    }
+
+    /**
+     * Read and check the header at the position of the buffer, and set the byte order of the buffer to the one of the
+     * values.
+     *
+     * @param buffer The source buffer.
+     * @param codec The codec of the expected enum.
+     * @return The number of values following the header.
+     * @throws IllegalArgumentException if the header is not valid or does not match the enum
+     */
+    static long read(final ByteBuffer buffer, final BitFieldCodec<?> codec) {
+        final int start = buffer.position();
+        final String expectedName = codec.getEnumClass().getName();
+
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        check(buffer.remaining() >= FIXED_SIZE && buffer.getInt() == MAGIC, "not a bit field column");
+
+        final short version = buffer.getShort();
+        check(version == VERSION, "unsupported version [" + version + "]");
+
+        final ByteOrder order = (buffer.get() == 0) ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+        buffer.get();
+        final long fingerprint = buffer.getLong();
+        final long count = buffer.getLong();
+
+        final byte[] name = new byte[buffer.getShort() & 0xFFFF];
+        check(buffer.remaining() >= name.length, "truncated header");
+        buffer.get(name);
+
+        final String actualName = new String(name, StandardCharsets.UTF_8);
+        check(expectedName.equals(actualName), "the column stores [" + actualName + "] instead of [" + expectedName
+                + "]");
+        check(fingerprint == codec.getLayoutFingerprint(), "the layout of [" + expectedName + "] changed since the "
+                + "column was written");
+
+        final int padding = (8 - ((buffer.position() - start) & 7)) & 7;
+        check(buffer.remaining() >= padding, "truncated header");
+        buffer.position(buffer.position() + padding);
+        buffer.order(order);
+
+        check(count >= 0 && count <= buffer.remaining() / Long.BYTES, "truncated column, [" + count + "] values "
+                + "expected but only [" + buffer.remaining() / Long.BYTES + "] found");
+        return count;
+    }
+
+    private static void check(final boolean condition, final String message) {
+        if (!condition) {
+            throw new IllegalArgumentException("Invalid bit field column header : " + message);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package io.github.florentclarret.jbitfield;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Compact serialization of bit fields on {@link DataOutput} and {@link DataInput}. Two encodings are available :
+ * <ul>
+ *     <li>fixed width : each value uses the {@link BitFieldWidth} of its enum, e.g. a single byte for 7 elements</li>
+ *     <li>variable length : each value uses 7 bits per byte, the high bit of each byte telling if another byte
+ *     follows. Small values, i.e. sets of the lowest positions, use fewer bytes</li>
+ * </ul>
+ * The zig-zag helpers map signed values to unsigned ones so that small negative numbers, e.g. the differences between
+ * consecutive values, also get a short variable length encoding.
+ *
+ * @author Florent Clarret
+ */
+public final class BitFieldIO {
+
+    /**
+     * The maximum number of bytes of a variable length long.
+     */
+    static final int MAX_VAR_LONG_BYTES = 10;
+
+    private BitFieldIO() {
+        throw new IllegalArgumentException("no instance for you");
+    }
+
+    /**
+     * Write the bit field using the fixed width of its enum.
+     *
+     * @param out The output.
+     * @param bitField The bit field to write.
+     * @param <T> The BitFieldElement class.
+     * @throws IOException if the value can not be written
+     * @throws NullPointerException if any parameter is null
+     */
+    public static <T extends Enum<T> & BitFieldElement> void write(final DataOutput out, final BitField<T> bitField)
+            throws IOException {
+        Objects.requireNonNull(bitField, "bitField can not be null");
+        BitFieldWidth.ofBits(bitField.getCodec().getWidth()).write(out, bitField.getBitFieldValue());
+    }
+
+    /**
+     * Read a bit field written by {@link #write(DataOutput, BitField)}.
+     *
+     * @param in The input.
+     * @param enumClass The type of the elements stored in the bit field
+     * @param <T> The BitFieldElement class.
+     * @return The canonical bit field.
+     * @throws IOException if the value can not be read
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement or if the value read is not
+     *                                  valid for the enum
+     */
+    public static <T extends Enum<T> & BitFieldElement> BitField<T> read(final DataInput in, final Class<T> enumClass)
+            throws IOException {
+        final BitFieldCodec<T> codec = BitFieldCodec.of(enumClass);
+        return BitField.canonical(codec, BitFieldWidth.ofBits(codec.getWidth()).read(in));
+    }
+
+    /**
+     * Write the bit field using the variable length encoding.
+     *
+     * @param out The output.
+     * @param bitField The bit field to write.
+     * @param <T> The BitFieldElement class.
+     * @throws IOException if the value can not be written
+     * @throws NullPointerException if any parameter is null
+     */
+    public static <T extends Enum<T> & BitFieldElement> void writeVar(final DataOutput out,
+                                                                      final BitField<T> bitField) throws IOException {
+        Objects.requireNonNull(bitField, "bitField can not be null");
+        writeVarLong(out, bitField.getBitFieldValue());
+    }
+
+    /**
+     * Read a bit field written by {@link #writeVar(DataOutput, BitField)}.
+     *
+     * @param in The input.
+     * @param enumClass The type of the elements stored in the bit field
+     * @param <T> The BitFieldElement class.
+     * @return The canonical bit field.
+     * @throws IOException if the value can not be read or is malformed
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement or if the value read is not
+     *                                  valid for the enum
+     */
+    public static <T extends Enum<T> & BitFieldElement> BitField<T> readVar(final DataInput in,
+                                                                            final Class<T> enumClass)
+            throws IOException {
+        final BitFieldCodec<T> codec = BitFieldCodec.of(enumClass);
+        return BitField.canonical(codec, readVarLong(in));
+    }
+
+    /**
+     * Write the value as an unsigned variable length long, from 1 to 10 bytes.
+     *
+     * @param out The output.
+     * @param value The value, read as unsigned.
+     * @throws IOException if the value can not be written
+     * @throws NullPointerException if out is null
+     */
+    public static void writeVarLong(final DataOutput out, final long value) throws IOException {
+        Objects.requireNonNull(out, "out can not be null");
+
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.writeByte((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        out.writeByte((int) remaining);
+    }
+
+    /**
+     * Read an unsigned variable length long written by {@link #writeVarLong(DataOutput, long)}.
+     *
+     * @param in The input.
+     * @return The value.
+     * @throws IOException if the value can not be read or is longer than 10 bytes
+     * @throws NullPointerException if in is null
+     */
+    public static long readVarLong(final DataInput in) throws IOException {
+        Objects.requireNonNull(in, "in can not be null");
+
+        long value = 0;
+        for (int shift = 0; shift < MAX_VAR_LONG_BYTES * 7; shift += 7) {
+            final int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length long, more than " + MAX_VAR_LONG_BYTES + " bytes");
+    }
+
+    /**
+     * Return the number of bytes used by {@link #writeVarLong(DataOutput, long)} for the given value.
+     *
+     * @param value The value, read as unsigned.
+     * @return The number of bytes, between 1 and 10.
+     */
+    public static int varLongSize(final long value) {
+        return Math.max(1, (Long.SIZE - Long.numberOfLeadingZeros(value) + 6) / 7);
+    }
+
+    /**
+     * Write the value as a signed variable length long, using the zig-zag encoding.
+     *
+     * @param out The output.
+     * @param value The signed value.
+     * @throws IOException if the value can not be written
+     * @throws NullPointerException if out is null
+     */
+    public static void writeZigZagLong(final DataOutput out, final long value) throws IOException {
+        writeVarLong(out, zigZagEncode(value));
+    }
+
+    /**
+     * Read a signed variable length long written by {@link #writeZigZagLong(DataOutput, long)}.
+     *
+     * @param in The input.
+     * @return The signed value.
+     * @throws IOException if the value can not be read or is malformed
+     * @throws NullPointerException if in is null
+     */
+    public static long readZigZagLong(final DataInput in) throws IOException {
+        return zigZagDecode(readVarLong(in));
+    }
+
+    /**
+     * Map a signed value to an unsigned one : 0, -1, 1, -2, 2... become 0, 1, 2, 3, 4...
+     *
+     * @param value The signed value.
+     * @return The zig-zag encoded value.
+     */
+    public static long zigZagEncode(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Reverse {@link #zigZagEncode(long)}.
+     *
+     * @param value The zig-zag encoded value.
+     * @return The signed value.
+     */
+    public static long zigZagDecode(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
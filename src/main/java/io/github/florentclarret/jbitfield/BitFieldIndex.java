@@ -0,0 +1,218 @@
+package io.github.florentclarret.jbitfield;
+
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Inverted index from the elements of an enum to the rows containing them. The index keeps one
+ * {@link CompressedBitmap} of row ids per element, so the rows matching a mask are found without scanning the bit
+ * field values. Rows are appended incrementally, and appending them by ascending row id is the fastest path.
+ * The instances are not thread-safe.
+ *
+ * @param <T> The enum which represents the value in the bit field.
+ * @author Florent Clarret
+ */
+public final class BitFieldIndex<T extends Enum<T> & BitFieldElement> {
+
+    /**
+     * The codec of the class represented in the bit field
+     */
+    private final BitFieldCodec<T> codec;
+
+    /**
+     * The rows containing each position, null for the unused positions.
+     */
+    private final CompressedBitmap[] rowsByPosition;
+
+    /**
+     * All the rows of the index.
+     */
+    private final CompressedBitmap rows;
+
+    /**
+     * The row id used by {@link #append(BitField)}, i.e. the highest row id plus one.
+     */
+    private long nextRowId;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param enumClass The type of the elements stored in the bit field
+     * @throws NullPointerException if the enumClass is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement
+     */
+    public BitFieldIndex(final Class<T> enumClass) {
+        this.codec = BitFieldCodec.of(enumClass);
+        this.rowsByPosition = new CompressedBitmap[Long.SIZE];
+        this.rows = new CompressedBitmap();
+
+        for (long remaining = codec.getValidMask(); remaining != 0; remaining &= remaining - 1) {
+            rowsByPosition[Long.numberOfTrailingZeros(remaining)] = new CompressedBitmap();
+        }
+    }
+
+    /**
+     * Index the given bit field under the given row id. Appending the same row id twice merges the elements.
+     *
+     * @param rowId The row id.
+     * @param bitField The bit field of the row.
+     * @return The current index.
+     * @throws NullPointerException if the bitField is null
+     * @throws IllegalArgumentException if the row id is negative
+     */
+    public BitFieldIndex<T> append(final int rowId, final BitField<T> bitField) {
+        Objects.requireNonNull(bitField, "bitField can not be null");
+
+        rows.add(rowId);
+        for (long remaining = bitField.getBitFieldValue(); remaining != 0; remaining &= remaining - 1) {
+            rowsByPosition[Long.numberOfTrailingZeros(remaining)].add(rowId);
+        }
+        nextRowId = Math.max(nextRowId, rowId + 1L);
+        return this;
+    }
+
+    /**
+     * Index the given bit field under the row id following the highest one of the index.
+     *
+     * @param bitField The bit field of the row.
+     * @return The row id of the bit field.
+     * @throws NullPointerException if the bitField is null
+     * @throws IllegalArgumentException if the index is full
+     */
+    public int append(final BitField<T> bitField) {
+        if (nextRowId > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("the index is full, no row id left");
+        }
+
+        final int rowId = (int) nextRowId;
+        append(rowId, bitField);
+        return rowId;
+    }
+
+    /**
+     * Index each bit field of the stream, in the encounter order, under the row ids following the highest one of the
+     * index.
+     *
+     * @param bitFields The bit fields of the rows.
+     * @return The current index.
+     * @throws NullPointerException if the stream or any bit field is null
+     * @throws IllegalArgumentException if the index is full
+     */
+    public BitFieldIndex<T> appendAll(final Stream<BitField<T>> bitFields) {
+        Objects.requireNonNull(bitFields, "bitFields can not be null").sequential().forEachOrdered(this::append);
+        return this;
+    }
+
+    /**
+     * Return the number of rows in the index.
+     *
+     * @return The number of rows.
+     */
+    public long getRowCount() {
+        return rows.cardinality();
+    }
+
+    /**
+     * Return all the rows of the index.
+     *
+     * @return A new bitmap of row ids.
+     */
+    public CompressedBitmap getRows() {
+        return rows.copy();
+    }
+
+    /**
+     * Return the rows containing the given element.
+     *
+     * @param element The element to look for.
+     * @return A new bitmap of row ids.
+     * @throws NullPointerException if the element is null
+     */
+    public CompressedBitmap getRows(final T element) {
+        Objects.requireNonNull(element, "element can not be null");
+        return rowsByPosition[element.getBitFieldPosition()].copy();
+    }
+
+    /**
+     * Return the rows whose bit field matches the mask. An empty mask is contained by all the rows, and is never
+     * intersected.
+     *
+     * @param match The predicate to apply.
+     * @param mask The elements to look for.
+     * @return A new bitmap of row ids.
+     * @throws NullPointerException if any parameter is null
+     */
+    public CompressedBitmap query(final BitFieldColumns.Match match, final BitField<T> mask) {
+        Objects.requireNonNull(match, "match can not be null");
+        Objects.requireNonNull(mask, "mask can not be null");
+
+        final CompressedBitmap[] bitmaps = bitmapsOf(mask.getBitFieldValue());
+        switch (match) {
+            case CONTAINS_ALL:
+                return and(bitmaps);
+            case CONTAINS_ANY:
+                return or(bitmaps);
+            default:
+                return rows.andNot(or(bitmaps));
+        }
+    }
+
+    /**
+     * Return the rows of the index which are not in the given bitmap.
+     *
+     * @param bitmap The rows to exclude.
+     * @return A new bitmap of row ids.
+     * @throws NullPointerException if the bitmap is null
+     */
+    public CompressedBitmap not(final CompressedBitmap bitmap) {
+        return rows.andNot(bitmap);
+    }
+
+    private CompressedBitmap[] bitmapsOf(final long mask) {
+        final CompressedBitmap[] bitmaps = new CompressedBitmap[Long.bitCount(mask)];
+        int index = 0;
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            bitmaps[index++] = rowsByPosition[Long.numberOfTrailingZeros(remaining)];
+        }
+        return bitmaps;
+    }
+
+    private CompressedBitmap and(final CompressedBitmap[] bitmaps) {
+        if (bitmaps.length == 0) {
+            return rows.copy();
+        }
+
+        // Start from the smallest bitmaps so the intermediate results stay small. The cardinality walks all the
+        // containers, so it is computed once per bitmap and the (at most 64) bitmaps are sorted by insertion
+        final long[] cardinalities = new long[bitmaps.length];
+        for (int i = 0; i < bitmaps.length; ++i) {
+            final CompressedBitmap bitmap = bitmaps[i];
+            final long cardinality = bitmap.cardinality();
+            int j = i;
+            for (; j > 0 && cardinalities[j - 1] > cardinality; --j) {
+                cardinalities[j] = cardinalities[j - 1];
+                bitmaps[j] = bitmaps[j - 1];
+            }
+            cardinalities[j] = cardinality;
+            bitmaps[j] = bitmap;
+        }
+        CompressedBitmap result = bitmaps[0].copy();
+        for (int i = 1; i < bitmaps.length && !result.isEmpty(); ++i) {
+            result = result.and(bitmaps[i]);
+        }
+        return result;
+    }
+
+    private CompressedBitmap or(final CompressedBitmap[] bitmaps) {
+        CompressedBitmap result = new CompressedBitmap();
+        for (final CompressedBitmap bitmap : bitmaps) {
+            result = result.or(bitmap);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "BitFieldIndex{" + "enumClass=" + codec.getEnumClass().getName() + ", rows=" + getRowCount() + '}';
+    }
+}
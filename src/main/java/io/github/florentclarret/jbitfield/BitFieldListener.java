@@ -0,0 +1,59 @@
+package io.github.florentclarret.jbitfield;
+
+/**
+ * Listener notified of the conversions of the library, when the metrics are enabled, see {@link BitFieldMetrics}.
+ * The listeners are either registered with {@link BitFieldMetrics#addListener(BitFieldListener)}, or discovered with
+ * a {@link java.util.ServiceLoader} when the metrics are first enabled : list the implementation in a
+ * {@code META-INF/services/io.github.florentclarret.jbitfield.BitFieldListener} resource.
+ * <p>
+ * The methods are called synchronously on the conversion path, so they should be fast and should not throw.
+ *
+ * @author Florent Clarret
+ */
+public interface BitFieldListener {
+
+    /**
+     * Called when elements are encoded to a bit field.
+     *
+     * @param enumClass The enum of the elements.
+     * @param bitField The binary representation of the bit field.
+     */
+    default void onEncode(final Class<?> enumClass, final long bitField) {
+    }
+
+    /**
+     * Called when a bit field is decoded to elements.
+     *
+     * @param enumClass The enum of the elements.
+     * @param bitField The binary representation of the bit field.
+     */
+    default void onDecode(final Class<?> enumClass, final long bitField) {
+    }
+
+    /**
+     * Called when a bit field is rejected because it contains bits not used by the enum.
+     *
+     * @param enumClass The enum of the elements.
+     * @param bitField The invalid binary representation.
+     */
+    default void onValidationFailure(final Class<?> enumClass, final long bitField) {
+    }
+
+    /**
+     * Called when a canonical bit field is found in the cache.
+     *
+     * @param enumClass The enum of the elements.
+     * @param bitField The binary representation of the bit field.
+     */
+    default void onCacheHit(final Class<?> enumClass, final long bitField) {
+    }
+
+    /**
+     * Called when a canonical bit field is not found in the cache and has to be created.
+     *
+     * @param enumClass The enum of the elements.
+     * @param bitField The binary representation of the bit field.
+     */
+    default void onCacheMiss(final Class<?> enumClass, final long bitField) {
+    }
+}
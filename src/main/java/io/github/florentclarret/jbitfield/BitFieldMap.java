@@ -0,0 +1,420 @@
+package io.github.florentclarret.jbitfield;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.LongFunction;
+
+/**
+ * A map whose keys are bit fields, stored as primitive longs. The lookups take the raw value of the bit field, so they
+ * never box nor create a {@link BitField}. Two layouts are used depending on the width of the enum :
+ * <ul>
+ *     <li>up to {@value #DIRECT_MAX_WIDTH} bits, the values are stored in an array directly indexed by the key</li>
+ *     <li>above, an open addressing table with linear probing, indexed by a Fibonacci hash of the key which spreads
+ *     the values of the low bits over the whole table</li>
+ * </ul>
+ * The hash table is limited to {@value #MAX_CAPACITY} slots, i.e. {@code 2^29} entries with its load factor of 1/2.
+ * The null values are not supported, so {@link #get(long)} returning null always means that the key is absent. The
+ * instances are not thread-safe.
+ *
+ * @param <T> The enum which represents the value in the bit field.
+ * @param <V> The type of the values.
+ * @author Florent Clarret
+ */
+public final class BitFieldMap<T extends Enum<T> & BitFieldElement, V> {
+
+    /**
+     * The maximum width of the enums using the direct layout, i.e. an array of 4096 references at most.
+     */
+    static final int DIRECT_MAX_WIDTH = 12;
+
+    /**
+     * The 64 bits golden ratio, multiplier of the Fibonacci hash.
+     */
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The minimum capacity of the hash table.
+     */
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * The maximum capacity of the hash table, the highest power of two of an int.
+     */
+    static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * The codec of the class represented in the bit field
+     */
+    private final BitFieldCodec<T> codec;
+
+    /**
+     * true if the values are indexed by the keys.
+     */
+    private final boolean direct;
+
+    /**
+     * The keys of the hash table, unused in the direct layout.
+     */
+    private long[] keys;
+
+    /**
+     * The values, null for the free slots.
+     */
+    private Object[] values;
+
+    /**
+     * The number of bits of the index in the hash table.
+     */
+    private int indexBits;
+
+    private int size;
+
+    /**
+     * The maximum capacity of the hash table.
+     */
+    private final int maxCapacity;
+
+    /**
+     * Creates an empty map.
+     *
+     * @param enumClass The type of the elements stored in the bit field
+     * @throws NullPointerException if the enumClass is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement
+     */
+    public BitFieldMap(final Class<T> enumClass) {
+        this(enumClass, MIN_CAPACITY);
+    }
+
+    /**
+     * Creates an empty map able to store the expected number of entries without resizing.
+     *
+     * @param enumClass The type of the elements stored in the bit field
+     * @param expectedSize The expected number of entries.
+     * @throws NullPointerException if the enumClass is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement, if expectedSize is negative or
+     *                                  if it is greater than 2^29
+     */
+    public BitFieldMap(final Class<T> enumClass, final int expectedSize) {
+        this(enumClass, expectedSize, MAX_CAPACITY);
+    }
+
+    /**
+     * Creates an empty map able to store the expected number of entries without resizing, whose hash table can not
+     * grow above the given capacity.
+     *
+     * @param enumClass The type of the elements stored in the bit field
+     * @param expectedSize The expected number of entries.
+     * @param maxCapacity The maximum capacity of the hash table, a power of two.
+     */
+    BitFieldMap(final Class<T> enumClass, final int expectedSize, final int maxCapacity) {
+        this.codec = BitFieldCodec.of(enumClass);
+        this.maxCapacity = maxCapacity;
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException(String.format("expectedSize can not be negative [%d]", expectedSize));
+        } else if (expectedSize > (maxCapacity >>> 1)) {
+            throw new IllegalArgumentException(String.format("expectedSize can not be greater than [%d], current "
+                    + "value = [%d]", maxCapacity >>> 1, expectedSize));
+        }
+
+        this.direct = codec.getWidth() <= DIRECT_MAX_WIDTH;
+        if (direct) {
+            this.values = new Object[1 << codec.getWidth()];
+        } else {
+            // Keep the load factor under 1/2, the shift is done on a long as it overflows for 2^29
+            final long capacity = (long) Integer.highestOneBit(Math.max(1, expectedSize)) << 2;
+            allocate((int) Math.max(MIN_CAPACITY, Math.min(maxCapacity, capacity)));
+        }
+    }
+
+    /**
+     * Return the value of the given key.
+     *
+     * @param bitField The binary representation of the key.
+     * @return The value, or null if the key is absent.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(final long bitField) {
+        if (direct) {
+            return ((bitField & ~(values.length - 1L)) == 0) ? (V) values[(int) bitField] : null;
+        }
+
+        final int index = find(bitField);
+        return (index >= 0) ? (V) values[index] : null;
+    }
+
+    /**
+     * Return the value of the given key.
+     *
+     * @param bitField The key.
+     * @return The value, or null if the key is absent.
+     * @throws NullPointerException if the key is null
+     */
+    public V get(final BitField<T> bitField) {
+        return get(keyOf(bitField));
+    }
+
+    /**
+     * Return true if the map contains the given key.
+     *
+     * @param bitField The binary representation of the key.
+     * @return true if the key is present.
+     */
+    public boolean containsKey(final long bitField) {
+        return get(bitField) != null;
+    }
+
+    /**
+     * Associate the value to the given key.
+     *
+     * @param bitField The binary representation of the key.
+     * @param value The value.
+     * @return The previous value, or null if the key was absent.
+     * @throws NullPointerException if the value is null
+     * @throws IllegalArgumentException if the key is not valid for the enum
+     * @throws IllegalStateException if the key is absent and the map already holds 2^29 entries
+     */
+    @SuppressWarnings("unchecked")
+    public V put(final long bitField, final V value) {
+        Objects.requireNonNull(value, "value can not be null");
+        codec.checkValid(bitField);
+
+        if (direct) {
+            final V previous = (V) values[(int) bitField];
+            values[(int) bitField] = value;
+            size += (previous == null) ? 1 : 0;
+            return previous;
+        }
+
+        final int index = find(bitField);
+        if (index >= 0) {
+            final V previous = (V) values[index];
+            values[index] = value;
+            return previous;
+        }
+
+        insert(-index - 1, bitField, value);
+        return null;
+    }
+
+    /**
+     * Associate the value to the given key.
+     *
+     * @param bitField The key.
+     * @param value The value.
+     * @return The previous value, or null if the key was absent.
+     * @throws NullPointerException if any parameter is null
+     */
+    public V put(final BitField<T> bitField, final V value) {
+        return put(keyOf(bitField), value);
+    }
+
+    /**
+     * Return the value of the given key, computing and storing it first if the key is absent.
+     *
+     * @param bitField The binary representation of the key.
+     * @param function The function computing the value of an absent key.
+     * @return The current or computed value.
+     * @throws NullPointerException if the function, or its result, is null
+     * @throws IllegalArgumentException if the key is not valid for the enum
+     */
+    public V computeIfAbsent(final long bitField, final LongFunction<? extends V> function) {
+        Objects.requireNonNull(function, "function can not be null");
+
+        final V current = get(bitField);
+        if (current != null) {
+            return current;
+        }
+
+        final V value = Objects.requireNonNull(function.apply(bitField), "the result of the function can not be null");
+        put(bitField, value);
+        return value;
+    }
+
+    /**
+     * Remove the given key.
+     *
+     * @param bitField The binary representation of the key.
+     * @return The removed value, or null if the key was absent.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(final long bitField) {
+        if (direct) {
+            if ((bitField & ~(values.length - 1L)) != 0) {
+                return null;
+            }
+
+            final V previous = (V) values[(int) bitField];
+            values[(int) bitField] = null;
+            size -= (previous == null) ? 0 : 1;
+            return previous;
+        }
+
+        final int index = find(bitField);
+        if (index < 0) {
+            return null;
+        }
+
+        final V previous = (V) values[index];
+        delete(index);
+        return previous;
+    }
+
+    /**
+     * Return the number of entries.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return true if the map has no entry.
+     *
+     * @return true if the map is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove all the entries.
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Apply the action on each entry, in no particular order.
+     *
+     * @param action The action to apply.
+     * @throws NullPointerException if the action is null
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(final EntryConsumer<? super V> action) {
+        Objects.requireNonNull(action, "action can not be null");
+        for (int i = 0; i < values.length; ++i) {
+            if (values[i] != null) {
+                action.accept(direct ? i : keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * Return true if the values are stored in an array indexed by the keys.
+     *
+     * @return true for the direct layout.
+     */
+    boolean isDirect() {
+        return direct;
+    }
+
+    /**
+     * Return the number of slots of the table.
+     *
+     * @return The capacity of the table.
+     */
+    int getCapacity() {
+        return values.length;
+    }
+
+    private static long keyOf(final BitField<?> bitField) {
+        return Objects.requireNonNull(bitField, "bitField can not be null").getBitFieldValue();
+    }
+
+    private int slot(final long bitField) {
+        return (int) ((bitField * GOLDEN_RATIO) >>> (Long.SIZE - indexBits));
+    }
+
+    /**
+     * Return the index of the key, or (-(insertion index) - 1) if it is absent.
+     */
+    private int find(final long bitField) {
+        final int mask = values.length - 1;
+        for (int index = slot(bitField); ; index = (index + 1) & mask) {
+            if (values[index] == null) {
+                return -index - 1;
+            } else if (keys[index] == bitField) {
+                return index;
+            }
+        }
+    }
+
+    private void insert(final int index, final long bitField, final Object value) {
+        if (size >= (values.length >>> 1) && values.length >= maxCapacity) {
+            throw new IllegalStateException(String.format("the map can not hold more than [%d] entries", size));
+        }
+
+        keys[index] = bitField;
+        values[index] = value;
+        if (++size > (values.length >>> 1)) {
+            resize(values.length << 1);
+        }
+    }
+
+    /**
+     * Remove the entry at the given index, and shift back the following entries of the cluster so that no lookup
+     * stops on the freed slot.
+     */
+    private void delete(final int index) {
+        final int mask = values.length - 1;
+        int free = index;
+        for (int next = (free + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+            final int slot = slot(keys[next]);
+            // Move the entry if its home slot is not in the cyclic range (free, next]
+            if (((next - slot) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                values[free] = values[next];
+                free = next;
+            }
+        }
+        values[free] = null;
+        --size;
+    }
+
+    private void allocate(final int capacity) {
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.indexBits = Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private void resize(final int capacity) {
+        final long[] oldKeys = keys;
+        final Object[] oldValues = values;
+        allocate(capacity);
+
+        final int mask = capacity - 1;
+        for (int i = 0; i < oldValues.length; ++i) {
+            if (oldValues[i] != null) {
+                int index = slot(oldKeys[i]);
+                while (values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BitFieldMap{" + "enumClass=" + codec.getEnumClass().getName() + ", size=" + size + '}';
+    }
+
+    /**
+     * An action applied on an entry of the map, without boxing the key.
+     *
+     * @param <V> The type of the values.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        /**
+         * Apply the action on the given entry.
+         *
+         * @param bitField The binary representation of the key.
+         * @param value The value.
+         */
+        void accept(long bitField, V value);
+    }
+}
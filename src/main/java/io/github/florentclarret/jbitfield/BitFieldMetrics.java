@@ -0,0 +1,212 @@
+package io.github.florentclarret.jbitfield;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Optional metrics of the conversions of the library. The metrics are disabled by default : the conversion paths
+ * then only pay a volatile read. They are enabled with {@link #enable()} or with the system property
+ * {@value #ENABLED_PROPERTY} set to true.
+ * <p>
+ * When enabled, the library counts per enum the encodes, the decodes, the validation failures and the hits and misses
+ * of the canonical instance cache. The encodes and decodes are both counted at a single place of the
+ * {@link BitFieldCodec}, see {@link BitFieldCountersMBean#getEncodes()} and {@link BitFieldCountersMBean#getDecodes()}
+ * for what they include. The {@link BitFieldCounters} of each enum are registered in the platform MBean
+ * server, under the name {@code io.github.florentclarret.jbitfield:type=BitFieldCounters,enum="<enum class name>"},
+ * and the {@link BitFieldListener}s are notified of each event. The listeners of the {@link ServiceLoader} are only
+ * loaded when the metrics are enabled for the first time.
+ *
+ * @author Florent Clarret
+ */
+public final class BitFieldMetrics {
+
+    /**
+     * System property enabling the metrics at startup.
+     */
+    public static final String ENABLED_PROPERTY = "io.github.florentclarret.jbitfield.metrics.enabled";
+
+    /**
+     * The JMX domain of the counters.
+     */
+    static final String DOMAIN = "io.github.florentclarret.jbitfield";
+
+    /**
+     * The counters of each enum, created on first use. The computation has no side effect as several threads may run
+     * it concurrently : only the installed instance is registered, see {@link #counters(Class)}.
+     */
+    private static final ClassValue<BitFieldCounters> COUNTERS = new ClassValue<BitFieldCounters>() {
+        @Override
+        protected BitFieldCounters computeValue(final Class<?> type) {
+            return new BitFieldCounters(type.getName());
+        }
+    };
+
+    /**
+     * The registered listeners, completed with the ones of the service loader when the metrics are first enabled.
+     */
+    private static final List<BitFieldListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    /**
+     * true once the listeners of the service loader are loaded.
+     */
+    private static boolean serviceListenersLoaded;
+
+    private static volatile boolean enabled;
+
+    static {
+        if (Boolean.getBoolean(ENABLED_PROPERTY)) {
+            enable();
+        }
+    }
+
+    private BitFieldMetrics() {
+        throw new IllegalArgumentException("no instance for you");
+    }
+
+    /**
+     * Return true if the metrics are enabled.
+     *
+     * @return true if the metrics are enabled.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable the metrics.
+     */
+    public static void enable() {
+        loadServiceListeners();
+        enabled = true;
+    }
+
+    /**
+     * Disable the metrics. The counters keep their values.
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Return the counters of the given enum.
+     *
+     * @param enumClass The enum class.
+     * @param <T> The BitFieldElement class.
+     * @return The live counters of the enum.
+     * @throws NullPointerException if the enumClass is null
+     */
+    public static <T extends Enum<T> & BitFieldElement> BitFieldCounters getCounters(final Class<T> enumClass) {
+        return counters(Objects.requireNonNull(enumClass, "enumClass can not be null"));
+    }
+
+    /**
+     * Register a listener.
+     *
+     * @param listener The listener to notify.
+     * @throws NullPointerException if the listener is null
+     */
+    public static void addListener(final BitFieldListener listener) {
+        LISTENERS.add(Objects.requireNonNull(listener, "listener can not be null"));
+    }
+
+    /**
+     * Unregister a listener.
+     *
+     * @param listener The listener to remove.
+     * @return true if the listener was registered.
+     */
+    public static boolean removeListener(final BitFieldListener listener) {
+        return LISTENERS.remove(listener);
+    }
+
+    static void recordEncode(final Class<?> enumClass, final long bitField) {
+        counters(enumClass).incrementEncodes();
+        for (final BitFieldListener listener : LISTENERS) {
+            listener.onEncode(enumClass, bitField);
+        }
+    }
+
+    static void recordDecode(final Class<?> enumClass, final long bitField) {
+        counters(enumClass).incrementDecodes();
+        for (final BitFieldListener listener : LISTENERS) {
+            listener.onDecode(enumClass, bitField);
+        }
+    }
+
+    static void recordValidationFailure(final Class<?> enumClass, final long bitField) {
+        counters(enumClass).incrementValidationFailures();
+        for (final BitFieldListener listener : LISTENERS) {
+            listener.onValidationFailure(enumClass, bitField);
+        }
+    }
+
+    static void recordCacheHit(final Class<?> enumClass, final long bitField) {
+        counters(enumClass).incrementCacheHits();
+        for (final BitFieldListener listener : LISTENERS) {
+            listener.onCacheHit(enumClass, bitField);
+        }
+    }
+
+    static void recordCacheMiss(final Class<?> enumClass, final long bitField) {
+        counters(enumClass).incrementCacheMisses();
+        for (final BitFieldListener listener : LISTENERS) {
+            listener.onCacheMiss(enumClass, bitField);
+        }
+    }
+
+    /**
+     * Return true if the listeners of the service loader are loaded.
+     *
+     * @return true once the metrics have been enabled.
+     */
+    static synchronized boolean isServiceListenersLoaded() {
+        return serviceListenersLoaded;
+    }
+
+    private static synchronized void loadServiceListeners() {
+        if (!serviceListenersLoaded) {
+            final List<BitFieldListener> listeners = new ArrayList<>();
+            for (final BitFieldListener listener : ServiceLoader.load(BitFieldListener.class)) {
+                listeners.add(listener);
+            }
+            LISTENERS.addAll(0, listeners);
+            serviceListenersLoaded = true;
+        }
+    }
+
+    /**
+     * Return the JMX name of the counters of the given enum.
+     *
+     * @param enumClass The name of the enum class.
+     * @return The JMX name.
+     * @throws JMException if the name is not valid
+     */
+    static ObjectName objectName(final String enumClass) throws JMException {
+        return new ObjectName(DOMAIN + ":type=BitFieldCounters,enum=" + ObjectName.quote(enumClass));
+    }
+
+    /**
+     * Return the installed counters of the given enum, registered in the MBean server on first use.
+     */
+    private static BitFieldCounters counters(final Class<?> enumClass) {
+        final BitFieldCounters counters = COUNTERS.get(enumClass);
+        if (!counters.isRegistered() && counters.markRegistered()) {
+            register(counters);
+        }
+        return counters;
+    }
+
+    private static void register(final BitFieldCounters counters) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(counters, objectName(counters.getEnumClass()));
+        } catch (final JMException | SecurityException e) {
+            // The metrics stay available through getCounters, e.g. for an enum of the same name in another class loader
+        }
+    }
+}
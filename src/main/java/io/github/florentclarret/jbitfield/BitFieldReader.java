@@ -0,0 +1,154 @@
+package io.github.florentclarret.jbitfield;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+
+/**
+ * Reads a column of bit field values written by a {@link BitFieldWriter}. The values are never copied : they are read
+ * in place from the buffer, which may be a MappedByteBuffer over a file, and the mask queries of
+ * {@link BitFieldColumns} run directly on it.
+ *
+ * @param <T> The enum which represents the value in the bit field.
+ * @author Florent Clarret
+ */
+public final class BitFieldReader<T extends Enum<T> & BitFieldElement> {
+
+    /**
+     * The codec of the class represented in the bit field
+     */
+    private final BitFieldCodec<T> codec;
+
+    /**
+     * The values of the column, following the header and limited to the number of values of the header.
+     */
+    private final LongBuffer values;
+
+    /**
+     * Creates a reader over the column starting at the position of the buffer. The position of the given buffer is not
+     * modified.
+     *
+     * @param enumClass The type of the elements stored in the bit field
+     * @param buffer The source buffer.
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement, if the header is not valid, if
+     *                                  the column was written for another enum or another layout of the enum or if the
+     *                                  buffer holds fewer values than recorded in the header
+     */
+    public BitFieldReader(final Class<T> enumClass, final ByteBuffer buffer) {
+        this.codec = BitFieldCodec.of(enumClass);
+
+        final ByteBuffer source = Objects.requireNonNull(buffer, "buffer can not be null").duplicate();
+        final long count = BitFieldHeader.read(source, codec);
+        if (count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("the column has too many values [" + count + "]");
+        }
+
+        this.values = source.slice().order(source.order()).asLongBuffer();
+        this.values.limit((int) count);
+    }
+
+    /**
+     * Map the given file in read-only mode and create a reader over it.
+     *
+     * @param enumClass The type of the elements stored in the bit field
+     * @param channel The file, opened for reading.
+     * @param <T> The BitFieldElement class.
+     * @return A reader over the mapped file.
+     * @throws IOException if the file can not be mapped
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement, if the header is not valid, if
+     *                                  the column was written for another enum or another layout of the enum or if the
+     *                                  file holds fewer values than recorded in the header
+     */
+    public static <T extends Enum<T> & BitFieldElement> BitFieldReader<T> map(final Class<T> enumClass,
+                                                                              final FileChannel channel)
+            throws IOException {
+        Objects.requireNonNull(channel, "channel can not be null");
+        return new BitFieldReader<>(enumClass, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+
+    /**
+     * Return the number of values in the column, as recorded in the header. Any space after the last value is ignored.
+     *
+     * @return The number of values.
+     */
+    public int size() {
+        return values.limit();
+    }
+
+    /**
+     * Return the value at the given index, without checking it.
+     *
+     * @param index The index of the value.
+     * @return The binary representation of the bit field.
+     * @throws IndexOutOfBoundsException if the index is out of the column
+     */
+    public long getValue(final int index) {
+        return values.get(index);
+    }
+
+    /**
+     * Return the canonical bit field at the given index.
+     *
+     * @param index The index of the value.
+     * @return The bit field.
+     * @throws IndexOutOfBoundsException if the index is out of the column
+     * @throws IllegalArgumentException if the value is not valid for the enum
+     */
+    public BitField<T> get(final int index) {
+        return BitField.canonical(codec, values.get(index));
+    }
+
+    /**
+     * Return a read-only view of the values, without copying them.
+     *
+     * @return A new read-only buffer over the values.
+     */
+    public LongBuffer getValues() {
+        return values.asReadOnlyBuffer();
+    }
+
+    /**
+     * Return the index of the first value which is not valid for the enum.
+     *
+     * @return The index of the first invalid value, or -1 if all values are valid.
+     */
+    public int validate() {
+        final long invalidMask = ~codec.getValidMask();
+        for (int i = 0; i < values.limit(); ++i) {
+            if ((values.get(i) & invalidMask) != 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Return the number of values matching the mask, see {@link BitFieldColumns#count(LongBuffer,
+     * BitFieldColumns.Match, BitField)}.
+     *
+     * @param match The predicate to apply.
+     * @param mask The elements to look for.
+     * @return The number of matching values.
+     * @throws NullPointerException if any parameter is null
+     */
+    public int count(final BitFieldColumns.Match match, final BitField<T> mask) {
+        return BitFieldColumns.count(values.duplicate(), match, mask);
+    }
+
+    /**
+     * Return the indexes of the values matching the mask, see {@link BitFieldColumns#indices(LongBuffer,
+     * BitFieldColumns.Match, BitField)}.
+     *
+     * @param match The predicate to apply.
+     * @param mask The elements to look for.
+     * @return The matching indexes, by ascending order.
+     * @throws NullPointerException if any parameter is null
+     */
+    public int[] indices(final BitFieldColumns.Match match, final BitField<T> mask) {
+        return BitFieldColumns.indices(values.duplicate(), match, mask);
+    }
+}
@@ -0,0 +1,215 @@
+package io.github.florentclarret.jbitfield;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Translate bit field values stored with a previous layout of an enum to its current layout, e.g. after constants
+ * were moved or retired. The mapping from the previous positions to the current elements is compiled into one lookup
+ * table per byte of the previous values, so translating a value costs at most 8 table lookups whatever the number of
+ * bits set.
+ * <p>
+ * The previous positions absent from the mapping are unknown : a {@link Mode#STRICT strict} remapping rejects the
+ * values containing them, a {@link Mode#LENIENT lenient} one drops them, and {@link #getUnknownBits(long)} returns
+ * them. The positions mapped to null are retired : they are silently dropped in both modes.
+ *
+ * @param <T> The enum of the current layout.
+ * @author Florent Clarret
+ */
+public final class BitFieldRemapping<T extends Enum<T> & BitFieldElement> {
+
+    /**
+     * The behavior on unknown bits.
+     */
+    public enum Mode {
+        /**
+         * Throw an IllegalArgumentException.
+         */
+        STRICT,
+        /**
+         * Drop the unknown bits.
+         */
+        LENIENT
+    }
+
+    /**
+     * The codec of the current layout.
+     */
+    private final BitFieldCodec<T> codec;
+
+    /**
+     * The behavior on unknown bits.
+     */
+    private final Mode mode;
+
+    /**
+     * The previous positions present in the mapping, retired ones included.
+     */
+    private final long knownMask;
+
+    /**
+     * For each byte of the previous values, the current value of each of the 256 possible bytes.
+     */
+    private final long[][] tables;
+
+    private BitFieldRemapping(final BitFieldCodec<T> codec, final Mode mode, final long[] masksByPosition,
+                              final long knownMask) {
+        this.codec = codec;
+        this.mode = mode;
+        this.knownMask = knownMask;
+
+        final int width = Long.SIZE - Long.numberOfLeadingZeros(knownMask);
+        this.tables = new long[(width + Byte.SIZE - 1) / Byte.SIZE][1 << Byte.SIZE];
+        for (int table = 0; table < tables.length; ++table) {
+            for (int value = 1; value < (1 << Byte.SIZE); ++value) {
+                // Reuse the entry of the value without its lowest bit
+                final int lowest = Integer.numberOfTrailingZeros(value);
+                tables[table][value] = tables[table][value & (value - 1)] | masksByPosition[table * Byte.SIZE + lowest];
+            }
+        }
+    }
+
+    /**
+     * Creates a remapping from the previous positions to the elements of the current enum.
+     *
+     * @param enumClass The current enum.
+     * @param mapping The element of each previous position, null for the retired positions.
+     * @param mode The behavior on unknown bits.
+     * @param <T> The BitFieldElement class.
+     * @return The compiled remapping.
+     * @throws NullPointerException if any parameter, or any key of the mapping, is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement or if a previous position is not
+     *                                  between 0 and 63
+     */
+    public static <T extends Enum<T> & BitFieldElement> BitFieldRemapping<T> of(final Class<T> enumClass,
+                                                                               final Map<Integer, T> mapping,
+                                                                               final Mode mode) {
+        final BitFieldCodec<T> codec = BitFieldCodec.of(enumClass);
+        Objects.requireNonNull(mapping, "mapping can not be null");
+        Objects.requireNonNull(mode, "mode can not be null");
+
+        final long[] masksByPosition = new long[Long.SIZE];
+        long knownMask = 0;
+        for (final Map.Entry<Integer, T> entry : mapping.entrySet()) {
+            final int position = Objects.requireNonNull(entry.getKey(), "the positions can not be null");
+            if (position < 0 || position >= Long.SIZE) {
+                throw new IllegalArgumentException(String.format("the previous position [%d] must be between 0 and 63",
+                        position));
+            }
+
+            knownMask |= 1L << position;
+            masksByPosition[position] = (entry.getValue() == null) ? 0 : codec.getMask(entry.getValue());
+        }
+        return new BitFieldRemapping<>(codec, mode, masksByPosition, knownMask);
+    }
+
+    /**
+     * Creates a remapping from a previous version of an enum, kept under another name, to the current one. The
+     * elements are matched by name : the previous elements absent from the current enum are retired.
+     *
+     * @param previousClass The previous enum.
+     * @param enumClass The current enum.
+     * @param mode The behavior on unknown bits.
+     * @param <S> The previous BitFieldElement class.
+     * @param <T> The current BitFieldElement class.
+     * @return The compiled remapping.
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if any of the enums is not a valid BtFieldElement
+     */
+    public static <S extends Enum<S> & BitFieldElement, T extends Enum<T> & BitFieldElement> BitFieldRemapping<T> of(
+            final Class<S> previousClass, final Class<T> enumClass, final Mode mode) {
+        final BitFieldCodec<S> previous = BitFieldCodec.of(previousClass);
+        final BitFieldCodec<T> codec = BitFieldCodec.of(enumClass);
+        Objects.requireNonNull(mode, "mode can not be null");
+
+        final long[] masksByPosition = new long[Long.SIZE];
+        for (final S element : previousClass.getEnumConstants()) {
+            for (final T current : enumClass.getEnumConstants()) {
+                if (current.name().equals(element.name())) {
+                    masksByPosition[element.getBitFieldPosition()] = codec.getMask(current);
+                }
+            }
+        }
+        return new BitFieldRemapping<>(codec, mode, masksByPosition, previous.getValidMask());
+    }
+
+    /**
+     * Translate a previous value to the current layout.
+     *
+     * @param bitField The previous binary representation.
+     * @return The current binary representation.
+     * @throws IllegalArgumentException in strict mode, if the value contains unknown bits
+     */
+    public long remap(final long bitField) {
+        if (mode == Mode.STRICT && (bitField & ~knownMask) != 0) {
+            throw new IllegalArgumentException(String.format("Unknown bits [%s] found in bit field [%s] remapped to " +
+                    "enum [%s]", bitField & ~knownMask, bitField, codec.getEnumClass().getName()));
+        }
+
+        long result = 0;
+        long remaining = bitField;
+        for (final long[] table : tables) {
+            result |= table[(int) (remaining & 0xFF)];
+            remaining >>>= Byte.SIZE;
+        }
+        return result;
+    }
+
+    /**
+     * Translate a previous value to the canonical bit field of the current layout.
+     *
+     * @param bitField The previous binary representation.
+     * @return The current bit field.
+     * @throws IllegalArgumentException in strict mode, if the value contains unknown bits
+     */
+    public BitField<T> toBitField(final long bitField) {
+        return BitField.canonical(codec, remap(bitField));
+    }
+
+    /**
+     * Translate each previous value of the array in the same index of the output array, which may be the input array
+     * itself.
+     *
+     * @param values The previous binary representations.
+     * @param out The array receiving the current binary representations.
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if out is smaller than values, or in strict mode, if a value contains unknown
+     *                                  bits. The values before it are already translated.
+     */
+    public void remapAll(final long[] values, final long[] out) {
+        Objects.requireNonNull(values, "values can not be null");
+        Objects.requireNonNull(out, "out can not be null");
+        if (out.length < values.length) {
+            throw new IllegalArgumentException(String.format("out is too small, expected at least [%d] elements but " +
+                    "was [%d]", values.length, out.length));
+        }
+
+        for (int i = 0; i < values.length; ++i) {
+            out[i] = remap(values[i]);
+        }
+    }
+
+    /**
+     * Return the bits of the previous value which are not in the mapping.
+     *
+     * @param bitField The previous binary representation.
+     * @return The unknown bits, 0 if there is none.
+     */
+    public long getUnknownBits(final long bitField) {
+        return bitField & ~knownMask;
+    }
+
+    /**
+     * Return the behavior on unknown bits.
+     *
+     * @return The mode.
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    @Override
+    public String toString() {
+        return "BitFieldRemapping{" + "enumClass=" + codec.getEnumClass().getName() + ", mode=" + mode + '}';
+    }
+}
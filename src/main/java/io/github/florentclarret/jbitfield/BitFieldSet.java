@@ -0,0 +1,82 @@
+package io.github.florentclarret.jbitfield;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Read-only Set view of a bit field value. The elements are never stored, all the operations are answered from the
+ * long value. The iteration order is the ascending position of the elements in the bit field.
+ *
+ * @param <T> The enum which represents the value in the bit field.
+ * @author Florent Clarret
+ */
+final class BitFieldSet<T extends Enum<T> & BitFieldElement> extends AbstractSet<T> {
+
+    /**
+     * The codec of the class represented in the bit field
+     */
+    private final BitFieldCodec<T> codec;
+
+    /**
+     * Binary representation of the bit field, which must be valid for the enum.
+     */
+    private final long bitField;
+
+    BitFieldSet(final BitFieldCodec<T> codec, final long bitField) {
+        this.codec = codec;
+        this.bitField = bitField;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private long remaining = codec.decoded(bitField);
+
+            @Override
+            public boolean hasNext() {
+                return remaining != 0;
+            }
+
+            @Override
+            public T next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+
+                final T element = codec.getElement(Long.numberOfTrailingZeros(remaining));
+                remaining &= remaining - 1;
+                return element;
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new BitFieldSpliterator<>(codec, codec.decoded(bitField));
+    }
+
+    @Override
+    public void forEach(final Consumer<? super T> action) {
+        codec.forEachSetElement(bitField, Objects.requireNonNull(action));
+    }
+
+    @Override
+    public int size() {
+        return Long.bitCount(bitField);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return bitField == 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean contains(final Object o) {
+        return codec.getEnumClass().isInstance(o) && codec.contains(bitField, (T) o);
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.florentclarret.jbitfield;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over the elements of a bit field value, by ascending position. The elements left to traverse are a
+ * long, so the size is exact and a split only divides the remaining bits between two instances.
+ *
+ * @param <T> The enum which represents the value in the bit field.
+ * @author Florent Clarret
+ */
+final class BitFieldSpliterator<T extends Enum<T> & BitFieldElement> implements Spliterator<T> {
+
+    /**
+     * The characteristics of all the instances.
+     */
+    static final int CHARACTERISTICS = SIZED | SUBSIZED | DISTINCT | ORDERED | NONNULL | IMMUTABLE;
+
+    /**
+     * The codec of the class represented in the bit field
+     */
+    private final BitFieldCodec<T> codec;
+
+    /**
+     * The bits of the elements left to traverse.
+     */
+    private long remaining;
+
+    BitFieldSpliterator(final BitFieldCodec<T> codec, final long bitField) {
+        this.codec = codec;
+        this.remaining = bitField;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        if (remaining == 0) {
+            return false;
+        }
+
+        final T element = codec.getElement(Long.numberOfTrailingZeros(remaining));
+        remaining &= remaining - 1;
+        action.accept(element);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        for (; remaining != 0; remaining &= remaining - 1) {
+            action.accept(codec.getElement(Long.numberOfTrailingZeros(remaining)));
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        final int half = Long.bitCount(remaining) >>> 1;
+        if (half == 0) {
+            return null;
+        }
+
+        // The prefix, i.e. the lowest half of the bits, goes to the new spliterator to keep the encounter order
+        long high = remaining;
+        for (int i = 0; i < half; ++i) {
+            high &= high - 1;
+        }
+        final long low = remaining ^ high;
+        remaining = high;
+        return new BitFieldSpliterator<>(codec, low);
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.bitCount(remaining);
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+}
@@ -0,0 +1,421 @@
+package io.github.florentclarret.jbitfield;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Conversions between bit field values and their text forms :
+ * <ul>
+ *     <li>lists of element names separated by a delimiter, e.g. {@code MONDAY|FRIDAY}</li>
+ *     <li>JSON arrays of element names, e.g. {@code ["MONDAY","FRIDAY"]}</li>
+ *     <li>hexadecimal, e.g. {@code 11}</li>
+ *     <li>URL-safe base64 of the big-endian bytes of the {@link BitFieldWidth width} of the enum, without padding,
+ *     e.g. {@code EQ}</li>
+ * </ul>
+ * The names are parsed in place from the CharSequence, without any substring : each name is looked up in a perfect
+ * hash table computed once per enum, so a lookup costs a single hash and a single comparison. The text codecs are
+ * shared through a registry, like the {@link BitFieldCodec}s.
+ *
+ * @param <T> The enum which represents the value in the bit field.
+ * @author Florent Clarret
+ */
+public final class BitFieldTextCodec<T extends Enum<T> & BitFieldElement> {
+
+    /**
+     * The text codecs already computed, one per enum class.
+     */
+    private static final ClassValue<BitFieldTextCodec<?>> REGISTRY = new ClassValue<BitFieldTextCodec<?>>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected BitFieldTextCodec<?> computeValue(final Class<?> type) {
+            return new BitFieldTextCodec(BitFieldCodec.of((Class) type));
+        }
+    };
+
+    /**
+     * The URL-safe base64 alphabet.
+     */
+    private static final char[] BASE64 = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+
+    /**
+     * The value of each base64 digit, -1 for the other ASCII characters.
+     */
+    private static final int[] BASE64_VALUES = new int[128];
+
+    /**
+     * The maximum number of bits of the perfect hash table before giving up.
+     */
+    private static final int MAX_TABLE_BITS = 16;
+
+    static {
+        Arrays.fill(BASE64_VALUES, -1);
+        for (int i = 0; i < BASE64.length; ++i) {
+            BASE64_VALUES[BASE64[i]] = i;
+        }
+    }
+
+    /**
+     * The codec of the class represented in the bit field
+     */
+    private final BitFieldCodec<T> codec;
+
+    /**
+     * The number of bytes of the base64 form.
+     */
+    private final int bytes;
+
+    /**
+     * The multiplier of the hash function, chosen so no two names collide.
+     */
+    private final int seed;
+
+    /**
+     * The shift applied on the hash to get the slot, 32 minus the number of bits of the table.
+     */
+    private final int shift;
+
+    /**
+     * The name of the element in each slot, null if the slot is empty.
+     */
+    private final String[] names;
+
+    /**
+     * The mask of the element in each slot.
+     */
+    private final long[] masks;
+
+    private BitFieldTextCodec(final BitFieldCodec<T> codec) {
+        this.codec = codec;
+        this.bytes = BitFieldWidth.ofBits(codec.getWidth()).getBytes();
+
+        final T[] constants = codec.getEnumClass().getEnumConstants();
+        // Start with a load factor of at most 1/2 and grow the table until a collision-free seed is found
+        int bits = Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(Math.max(2, constants.length * 2) - 1));
+        for (; bits <= MAX_TABLE_BITS; ++bits) {
+            for (int attempt = 0; attempt < 64; ++attempt) {
+                final int candidate = (0x9E3779B9 + attempt * 0x3C6EF372) | 1;
+                final String[] candidateNames = new String[1 << bits];
+                final long[] candidateMasks = new long[1 << bits];
+                if (fill(constants, candidate, Integer.SIZE - bits, candidateNames, candidateMasks)) {
+                    this.seed = candidate;
+                    this.shift = Integer.SIZE - bits;
+                    this.names = candidateNames;
+                    this.masks = candidateMasks;
+                    return;
+                }
+            }
+        }
+        throw new IllegalStateException(String.format("can not build a perfect hash table for the enum [%s]",
+                codec.getEnumClass().getName()));
+    }
+
+    /**
+     * Return the text codec of the given enum class. The codec is computed on the first call, then cached.
+     *
+     * @param enumClass The type of the elements stored in the bit field
+     * @param <T> The BitFieldElement class.
+     * @return The text codec of the enum class.
+     * @throws NullPointerException if the enumClass is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Enum<T> & BitFieldElement> BitFieldTextCodec<T> of(final Class<T> enumClass) {
+        return (BitFieldTextCodec<T>) REGISTRY.get(Objects.requireNonNull(enumClass, "enumClass can not be null"));
+    }
+
+    /**
+     * Parse a list of element names separated by the given delimiter. The whitespaces around the names are ignored,
+     * and an empty or blank text is the empty bit field. A name may be repeated.
+     *
+     * @param text The text to parse.
+     * @param delimiter The character between two names.
+     * @return The binary representation of the bit field.
+     * @throws NullPointerException if the text is null
+     * @throws IllegalArgumentException if a name is empty or is not an element of the enum
+     */
+    public long parse(final CharSequence text, final char delimiter) {
+        Objects.requireNonNull(text, "text can not be null");
+
+        final int length = text.length();
+        if (skipWhitespaces(text, 0, length) == length) {
+            return 0;
+        }
+
+        long bitField = 0;
+        int from = 0;
+        while (from <= length) {
+            int to = from;
+            while (to < length && text.charAt(to) != delimiter) {
+                ++to;
+            }
+            bitField |= lookup(text, from, to);
+            from = to + 1;
+        }
+        return bitField;
+    }
+
+    /**
+     * Parse a JSON array of element names. A name may be repeated, escape sequences are not supported.
+     *
+     * @param json The text to parse.
+     * @return The binary representation of the bit field.
+     * @throws NullPointerException if the json is null
+     * @throws IllegalArgumentException if the json is not an array of strings or if a name is not an element of the
+     *                                  enum
+     */
+    public long parseJson(final CharSequence json) {
+        Objects.requireNonNull(json, "json can not be null");
+
+        final int length = json.length();
+        int index = expect(json, skipWhitespaces(json, 0, length), '[');
+        index = skipWhitespaces(json, index, length);
+        if (index < length && json.charAt(index) == ']') {
+            return checkEnd(json, index + 1, 0);
+        }
+
+        long bitField = 0;
+        while (true) {
+            final int from = expect(json, index, '"');
+            int to = from;
+            while (to < length && json.charAt(to) != '"') {
+                if (json.charAt(to) == '\\') {
+                    throw malformed(json, to, "escape sequences are not supported");
+                }
+                ++to;
+            }
+            if (to == length) {
+                throw malformed(json, to, "unterminated string");
+            }
+            bitField |= lookup(json, from, to);
+
+            index = skipWhitespaces(json, to + 1, length);
+            if (index < length && json.charAt(index) == ']') {
+                return checkEnd(json, index + 1, bitField);
+            }
+            index = skipWhitespaces(json, expect(json, index, ','), length);
+        }
+    }
+
+    /**
+     * Return the names of the elements of the bit field separated by the given delimiter, by ascending position.
+     *
+     * @param bitField The binary representation of the bit field.
+     * @param delimiter The character between two names.
+     * @return The list of names, empty for the empty bit field.
+     * @throws IllegalArgumentException if the bit field is not valid for the enum
+     */
+    public String format(final long bitField, final char delimiter) {
+        codec.checkValid(bitField);
+
+        final StringBuilder builder = new StringBuilder(Long.bitCount(bitField) * 10);
+        for (long remaining = bitField; remaining != 0; remaining &= remaining - 1) {
+            if (remaining != bitField) {
+                builder.append(delimiter);
+            }
+            builder.append(codec.getElement(Long.numberOfTrailingZeros(remaining)).name());
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Return the JSON array of the names of the elements of the bit field, by ascending position.
+     *
+     * @param bitField The binary representation of the bit field.
+     * @return The JSON array, without whitespaces.
+     * @throws IllegalArgumentException if the bit field is not valid for the enum
+     */
+    public String formatJson(final long bitField) {
+        codec.checkValid(bitField);
+
+        final StringBuilder builder = new StringBuilder(2 + Long.bitCount(bitField) * 12).append('[');
+        for (long remaining = bitField; remaining != 0; remaining &= remaining - 1) {
+            if (remaining != bitField) {
+                builder.append(',');
+            }
+            builder.append('"').append(codec.getElement(Long.numberOfTrailingZeros(remaining)).name()).append('"');
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * Return the lower case hexadecimal form of the bit field, without leading zeros.
+     *
+     * @param bitField The binary representation of the bit field.
+     * @return The hexadecimal form.
+     * @throws IllegalArgumentException if the bit field is not valid for the enum
+     */
+    public String toHex(final long bitField) {
+        codec.checkValid(bitField);
+        return Long.toHexString(bitField);
+    }
+
+    /**
+     * Parse the hexadecimal form of a bit field, case insensitive, of at most 16 digits.
+     *
+     * @param hex The text to parse.
+     * @return The binary representation of the bit field.
+     * @throws NullPointerException if hex is null
+     * @throws IllegalArgumentException if the text is not a valid hexadecimal form or if the bit field is not valid for
+     *                                  the enum
+     */
+    public long fromHex(final CharSequence hex) {
+        Objects.requireNonNull(hex, "hex can not be null");
+        if (hex.length() == 0 || hex.length() > Long.SIZE / 4) {
+            throw new IllegalArgumentException(String.format("Invalid hexadecimal bit field [%s]", hex));
+        }
+
+        long bitField = 0;
+        for (int i = 0; i < hex.length(); ++i) {
+            final int digit = Character.digit(hex.charAt(i), 16);
+            if (digit < 0) {
+                throw new IllegalArgumentException(String.format("Invalid hexadecimal bit field [%s]", hex));
+            }
+            bitField = (bitField << 4) | digit;
+        }
+        codec.checkValid(bitField);
+        return bitField;
+    }
+
+    /**
+     * Return the URL-safe base64 form, without padding, of the big-endian bytes of the bit field. The number of bytes
+     * is the one of the {@link BitFieldWidth} of the enum, so all the values of an enum have the same length.
+     *
+     * @param bitField The binary representation of the bit field.
+     * @return The base64 form.
+     * @throws IllegalArgumentException if the bit field is not valid for the enum
+     */
+    public String toBase64(final long bitField) {
+        codec.checkValid(bitField);
+
+        final int bits = bytes * Byte.SIZE;
+        final char[] chars = new char[base64Length()];
+        for (int i = 0; i < chars.length; ++i) {
+            final int offset = i * 6;
+            final long digit = (offset + 6 <= bits) ? bitField >>> (bits - offset - 6) : bitField << (offset + 6 - bits);
+            chars[i] = BASE64[(int) (digit & 0x3F)];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Parse the base64 form of a bit field, see {@link #toBase64(long)}.
+     *
+     * @param base64 The text to parse.
+     * @return The binary representation of the bit field.
+     * @throws NullPointerException if base64 is null
+     * @throws IllegalArgumentException if the text is not a valid base64 form or if the bit field is not valid for
+     *                                  the enum
+     */
+    public long fromBase64(final CharSequence base64) {
+        Objects.requireNonNull(base64, "base64 can not be null");
+        if (base64.length() != base64Length()) {
+            throw new IllegalArgumentException(String.format("Invalid base64 bit field [%s], expected [%d] characters",
+                    base64, base64Length()));
+        }
+
+        final int bits = bytes * Byte.SIZE;
+        long bitField = 0;
+        for (int i = 0; i < base64.length(); ++i) {
+            final char c = base64.charAt(i);
+            final int digit = (c < BASE64_VALUES.length) ? BASE64_VALUES[c] : -1;
+            final int offset = i * 6;
+            final int dropped = offset + 6 - bits;
+            // The trailing bits of the last digit are padding and must be zero
+            if (digit < 0 || (dropped > 0 && (digit & ((1 << dropped) - 1)) != 0)) {
+                throw new IllegalArgumentException(String.format("Invalid base64 bit field [%s]", base64));
+            }
+            bitField |= (dropped <= 0) ? (long) digit << -dropped : (long) digit >>> dropped;
+        }
+        codec.checkValid(bitField);
+        return bitField;
+    }
+
+    private int base64Length() {
+        return (bytes * Byte.SIZE + 5) / 6;
+    }
+
+    private boolean fill(final T[] constants, final int candidate, final int candidateShift,
+                         final String[] candidateNames, final long[] candidateMasks) {
+        for (final T element : constants) {
+            final String name = element.name();
+            final int slot = hash(name, 0, name.length(), candidate) >>> candidateShift;
+            if (candidateNames[slot] != null) {
+                return false;
+            }
+            candidateNames[slot] = name;
+            candidateMasks[slot] = codec.getMask(element);
+        }
+        return true;
+    }
+
+    private static int hash(final CharSequence text, final int from, final int to, final int multiplier) {
+        int hash = to - from;
+        for (int i = from; i < to; ++i) {
+            hash = (hash ^ text.charAt(i)) * multiplier;
+        }
+        return (hash ^ (hash >>> 16)) * multiplier;
+    }
+
+    /**
+     * Return the mask of the name between from and to, ignoring the whitespaces around it.
+     */
+    private long lookup(final CharSequence text, final int start, final int end) {
+        final int from = skipWhitespaces(text, start, end);
+        int to = end;
+        while (to > from && Character.isWhitespace(text.charAt(to - 1))) {
+            --to;
+        }
+        if (from == to) {
+            throw new IllegalArgumentException(String.format("Empty element name at index [%d] of [%s]", start, text));
+        }
+
+        final int slot = hash(text, from, to, seed) >>> shift;
+        final String name = names[slot];
+        if (name == null || name.length() != to - from || !regionMatches(text, from, name)) {
+            throw new IllegalArgumentException(String.format("Unknown element [%s] for enum [%s]",
+                    text.subSequence(from, to), codec.getEnumClass().getName()));
+        }
+        return masks[slot];
+    }
+
+    private static boolean regionMatches(final CharSequence text, final int from, final String name) {
+        for (int i = 0; i < name.length(); ++i) {
+            if (text.charAt(from + i) != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipWhitespaces(final CharSequence text, final int from, final int to) {
+        int index = from;
+        while (index < to && Character.isWhitespace(text.charAt(index))) {
+            ++index;
+        }
+        return index;
+    }
+
+    private static int expect(final CharSequence json, final int index, final char expected) {
+        if (index >= json.length() || json.charAt(index) != expected) {
+            throw malformed(json, index, "expected '" + expected + "'");
+        }
+        return index + 1;
+    }
+
+    private static long checkEnd(final CharSequence json, final int index, final long bitField) {
+        if (skipWhitespaces(json, index, json.length()) != json.length()) {
+            throw malformed(json, index, "unexpected content after the array");
+        }
+        return bitField;
+    }
+
+    private static IllegalArgumentException malformed(final CharSequence json, final int index, final String reason) {
+        return new IllegalArgumentException(String.format("Malformed JSON array of names [%s] at index [%d] : %s",
+                json, index, reason));
+    }
+
+    @Override
+    public String toString() {
+        return "BitFieldTextCodec{" + "enumClass=" + codec.getEnumClass().getName() + '}';
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.florentclarret.jbitfield;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * The smallest primitive type able to store any bit field value of an enum, derived from the highest position of its
+ * elements. For example, the values of an enum of 7 elements fit in a single byte instead of a full long.
+ *
+ * @author Florent Clarret
+ */
+public enum BitFieldWidth {
+    /**
+     * Positions from 0 to 7, stored in 1 byte.
+     */
+    BYTE(Byte.BYTES),
+    /**
+     * Positions from 0 to 15, stored in 2 bytes.
+     */
+    SHORT(Short.BYTES),
+    /**
+     * Positions from 0 to 31, stored in 4 bytes.
+     */
+    INT(Integer.BYTES),
+    /**
+     * Positions from 0 to 63, stored in 8 bytes.
+     */
+    LONG(Long.BYTES);
+
+    /**
+     * The number of bytes used to store a value.
+     */
+    private final int bytes;
+
+    BitFieldWidth(final int bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * Return the smallest width able to store any value of the given enum.
+     *
+     * @param enumClass The type of the elements stored in the bit field
+     * @param <T> The BitFieldElement class.
+     * @return The width of the enum.
+     * @throws NullPointerException if the enumClass is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement
+     */
+    public static <T extends Enum<T> & BitFieldElement> BitFieldWidth of(final Class<T> enumClass) {
+        return ofBits(BitFieldCodec.of(enumClass).getWidth());
+    }
+
+    /**
+     * Return the smallest width able to store the given number of bits.
+     *
+     * @param bits The number of bits, between 0 and 64.
+     * @return The width.
+     */
+    static BitFieldWidth ofBits(final int bits) {
+        if (bits <= Byte.SIZE) {
+            return BYTE;
+        } else if (bits <= Short.SIZE) {
+            return SHORT;
+        } else if (bits <= Integer.SIZE) {
+            return INT;
+        }
+        return LONG;
+    }
+
+    /**
+     * Return the number of bytes used to store a value.
+     *
+     * @return The number of bytes.
+     */
+    public int getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Write the given value using this width. The value must fit in the width, the higher bits are dropped.
+     *
+     * @param out The output.
+     * @param value The binary representation of the bit field.
+     * @throws IOException if the value can not be written
+     * @throws NullPointerException if out is null
+     */
+    public void write(final DataOutput out, final long value) throws IOException {
+        Objects.requireNonNull(out, "out can not be null");
+        switch (this) {
+            case BYTE:
+                out.writeByte((int) value);
+                break;
+            case SHORT:
+                out.writeShort((int) value);
+                break;
+            case INT:
+                out.writeInt((int) value);
+                break;
+            default:
+                out.writeLong(value);
+                break;
+        }
+    }
+
+    /**
+     * Read a value written with this width.
+     *
+     * @param in The input.
+     * @return The binary representation of the bit field.
+     * @throws IOException if the value can not be read
+     * @throws NullPointerException if in is null
+     */
+    public long read(final DataInput in) throws IOException {
+        Objects.requireNonNull(in, "in can not be null");
+        switch (this) {
+            case BYTE:
+                return in.readUnsignedByte();
+            case SHORT:
+                return in.readUnsignedShort();
+            case INT:
+                return in.readInt() & 0xFFFFFFFFL;
+            default:
+                return in.readLong();
+        }
+    }
+}
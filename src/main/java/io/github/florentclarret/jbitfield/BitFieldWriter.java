@@ -0,0 +1,164 @@
+package io.github.florentclarret.jbitfield;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+
+/**
+ * Writes a column of bit field values into a ByteBuffer, which may be a MappedByteBuffer over a file. The column starts
+ * with a header recording the enum class and its layout fingerprint, so a {@link BitFieldReader} can check that the
+ * values are read back with a compatible enum. The number of values of the header is updated after each write, so the
+ * column is always readable, even if the buffer is not filled.
+ *
+ * @param <T> The enum which represents the value in the bit field.
+ * @author Florent Clarret
+ */
+public final class BitFieldWriter<T extends Enum<T> & BitFieldElement> {
+
+    /**
+     * The codec of the class represented in the bit field
+     */
+    private final BitFieldCodec<T> codec;
+
+    /**
+     * The target buffer, positioned after the last written value.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The position of the header in the buffer.
+     */
+    private final int start;
+
+    /**
+     * The number of values written so far.
+     */
+    private long count;
+
+    /**
+     * Creates a writer storing the values in the native byte order, and writes the header at the position of the
+     * buffer.
+     *
+     * @param enumClass The type of the elements stored in the bit field
+     * @param buffer The target buffer.
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement
+     * @throws java.nio.BufferOverflowException if the buffer is too small for the header
+     */
+    public BitFieldWriter(final Class<T> enumClass, final ByteBuffer buffer) {
+        this(enumClass, buffer, ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Creates a writer storing the values in the given byte order, and writes the header at the position of the
+     * buffer. The byte order of the buffer is changed to the given one.
+     *
+     * @param enumClass The type of the elements stored in the bit field
+     * @param buffer The target buffer.
+     * @param order The byte order of the values.
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement
+     * @throws java.nio.BufferOverflowException if the buffer is too small for the header
+     */
+    public BitFieldWriter(final Class<T> enumClass, final ByteBuffer buffer, final ByteOrder order) {
+        this.codec = BitFieldCodec.of(enumClass);
+        this.buffer = Objects.requireNonNull(buffer, "buffer can not be null");
+        this.start = buffer.position();
+        BitFieldHeader.write(buffer, codec, Objects.requireNonNull(order, "order can not be null"));
+    }
+
+    /**
+     * Map the beginning of the given file and create a writer for the given number of values.
+     *
+     * @param enumClass The type of the elements stored in the bit field
+     * @param channel The file, opened for reading and writing.
+     * @param count The number of values to write.
+     * @param <T> The BitFieldElement class.
+     * @return A writer over the mapped file.
+     * @throws IOException if the file can not be mapped
+     * @throws NullPointerException if any parameter is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement or if count is negative
+     */
+    public static <T extends Enum<T> & BitFieldElement> BitFieldWriter<T> map(final Class<T> enumClass,
+                                                                              final FileChannel channel,
+                                                                              final int count) throws IOException {
+        Objects.requireNonNull(channel, "channel can not be null");
+        if (count < 0) {
+            throw new IllegalArgumentException("count can not be negative");
+        }
+
+        final long size = BitFieldHeader.size(BitFieldCodec.of(enumClass)) + (long) count * Long.BYTES;
+        return new BitFieldWriter<>(enumClass, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+    }
+
+    /**
+     * Write the given bit field.
+     *
+     * @param bitField The bit field to write.
+     * @return The current writer.
+     * @throws NullPointerException if the bitField is null
+     * @throws java.nio.BufferOverflowException if the buffer is full
+     */
+    public BitFieldWriter<T> write(final BitField<T> bitField) {
+        buffer.putLong(Objects.requireNonNull(bitField, "bitField can not be null").getBitFieldValue());
+        BitFieldHeader.writeCount(buffer, start, ++count);
+        return this;
+    }
+
+    /**
+     * Write the given bit field value.
+     *
+     * @param bitField The binary representation of the bit field.
+     * @return The current writer.
+     * @throws IllegalArgumentException if any value in the field is not present in the BitFieldElement enum position's
+     * @throws java.nio.BufferOverflowException if the buffer is full
+     */
+    public BitFieldWriter<T> write(final long bitField) {
+        codec.checkValid(bitField);
+        buffer.putLong(bitField);
+        BitFieldHeader.writeCount(buffer, start, ++count);
+        return this;
+    }
+
+    /**
+     * Write all the given bit field values with a single bulk copy.
+     *
+     * @param values The binary representations of the bit fields.
+     * @return The current writer.
+     * @throws NullPointerException if the values are null
+     * @throws IllegalArgumentException if any value is not valid for the enum
+     * @throws java.nio.BufferOverflowException if the buffer is too small
+     */
+    public BitFieldWriter<T> writeAll(final long[] values) {
+        final int invalid = BitFieldArrays.validateAll(codec.getEnumClass(), values);
+        if (invalid >= 0) {
+            codec.checkValid(values[invalid]);
+        }
+
+        buffer.asLongBuffer().put(values);
+        buffer.position(buffer.position() + values.length * Long.BYTES);
+        count += values.length;
+        BitFieldHeader.writeCount(buffer, start, count);
+        return this;
+    }
+
+    /**
+     * Return the number of values written so far.
+     *
+     * @return The number of values.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Return the target buffer, positioned after the last written value.
+     *
+     * @return The target buffer.
+     */
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+}
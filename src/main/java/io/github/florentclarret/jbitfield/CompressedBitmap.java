@@ -0,0 +1,681 @@
+package io.github.florentclarret.jbitfield;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * A compressed set of non-negative row ids, using the container layout of Roaring bitmaps : the row ids are grouped by
+ * their 16 highest bits, and the 16 lowest bits of each group are stored in a container which is either
+ * <ul>
+ *     <li>a sorted array of chars when the group has at most 4096 values, i.e. 2 bytes per value</li>
+ *     <li>a bitmap of 65536 bits otherwise, i.e. 8KB whatever the number of values</li>
+ * </ul>
+ * The row ids are expected to be added by ascending order, which is the fastest path, but any order is supported.
+ * The instances are not thread-safe.
+ *
+ * @author Florent Clarret
+ */
+public final class CompressedBitmap {
+
+    /**
+     * The maximum number of values of an array container. Above, a bitmap container is smaller.
+     */
+    static final int ARRAY_MAX_SIZE = 4096;
+
+    /**
+     * The 16 highest bits of the row ids of each container, by ascending order.
+     */
+    private char[] keys;
+
+    /**
+     * The containers, in the same order than the keys.
+     */
+    private Container[] containers;
+
+    /**
+     * The number of containers.
+     */
+    private int size;
+
+    /**
+     * Creates an empty bitmap.
+     */
+    public CompressedBitmap() {
+        this(4);
+    }
+
+    private CompressedBitmap(final int capacity) {
+        this.keys = new char[capacity];
+        this.containers = new Container[capacity];
+    }
+
+    /**
+     * Creates a bitmap containing the given row ids.
+     *
+     * @param rowIds The row ids.
+     * @return A new bitmap.
+     * @throws NullPointerException if rowIds is null
+     * @throws IllegalArgumentException if any row id is negative
+     */
+    public static CompressedBitmap of(final int... rowIds) {
+        final CompressedBitmap bitmap = new CompressedBitmap();
+        for (final int rowId : Objects.requireNonNull(rowIds, "rowIds can not be null")) {
+            bitmap.add(rowId);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Add the given row id to the bitmap.
+     *
+     * @param rowId The row id.
+     * @throws IllegalArgumentException if the row id is negative
+     */
+    public void add(final int rowId) {
+        if (rowId < 0) {
+            throw new IllegalArgumentException(String.format("the row id [%d] can not be negative", rowId));
+        }
+
+        final char high = (char) (rowId >>> 16);
+        int index = (size > 0 && keys[size - 1] == high) ? size - 1 : Arrays.binarySearch(keys, 0, size, high);
+        if (index < 0) {
+            index = -index - 1;
+            insert(index, high, new ArrayContainer());
+        }
+        containers[index] = containers[index].add((char) rowId);
+    }
+
+    /**
+     * Return true if the bitmap contains the given row id.
+     *
+     * @param rowId The row id.
+     * @return true if the row id is in the bitmap.
+     */
+    public boolean contains(final int rowId) {
+        if (rowId < 0) {
+            return false;
+        }
+
+        final int index = Arrays.binarySearch(keys, 0, size, (char) (rowId >>> 16));
+        return index >= 0 && containers[index].contains((char) rowId);
+    }
+
+    /**
+     * Return the number of row ids in the bitmap.
+     *
+     * @return The cardinality of the bitmap.
+     */
+    public long cardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; ++i) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    /**
+     * Return true if the bitmap does not contain any row id.
+     *
+     * @return true if the bitmap is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Return the approximate memory used by the content of the bitmap.
+     *
+     * @return The size in bytes.
+     */
+    public long getSizeInBytes() {
+        long bytes = (long) size * (Character.BYTES + Integer.BYTES);
+        for (int i = 0; i < size; ++i) {
+            bytes += containers[i].getSizeInBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Return a new bitmap containing the row ids present in both bitmaps.
+     *
+     * @param other The other bitmap.
+     * @return The intersection of the bitmaps.
+     * @throws NullPointerException if other is null
+     */
+    public CompressedBitmap and(final CompressedBitmap other) {
+        Objects.requireNonNull(other, "other can not be null");
+
+        final CompressedBitmap result = new CompressedBitmap(Math.max(1, Math.min(size, other.size)));
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                ++i;
+            } else if (keys[i] > other.keys[j]) {
+                ++j;
+            } else {
+                result.append(keys[i], containers[i++].and(other.containers[j++]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Return a new bitmap containing the row ids present in any of the bitmaps.
+     *
+     * @param other The other bitmap.
+     * @return The union of the bitmaps.
+     * @throws NullPointerException if other is null
+     */
+    public CompressedBitmap or(final CompressedBitmap other) {
+        Objects.requireNonNull(other, "other can not be null");
+
+        final CompressedBitmap result = new CompressedBitmap(Math.max(1, size + other.size));
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || (i < size && keys[i] < other.keys[j])) {
+                result.append(keys[i], containers[i++].copy());
+            } else if (i == size || keys[i] > other.keys[j]) {
+                result.append(other.keys[j], other.containers[j++].copy());
+            } else {
+                result.append(keys[i], containers[i++].or(other.containers[j++]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Return a new bitmap containing the row ids of this bitmap which are not present in the other one.
+     *
+     * @param other The other bitmap.
+     * @return The difference of the bitmaps.
+     * @throws NullPointerException if other is null
+     */
+    public CompressedBitmap andNot(final CompressedBitmap other) {
+        Objects.requireNonNull(other, "other can not be null");
+
+        final CompressedBitmap result = new CompressedBitmap(Math.max(1, size));
+        int j = 0;
+        for (int i = 0; i < size; ++i) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                ++j;
+            }
+            if (j < other.size && other.keys[j] == keys[i]) {
+                result.append(keys[i], containers[i].andNot(other.containers[j]));
+            } else {
+                result.append(keys[i], containers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Apply the action on each row id, by ascending order.
+     *
+     * @param action The action to apply.
+     * @throws NullPointerException if action is null
+     */
+    public void forEach(final IntConsumer action) {
+        Objects.requireNonNull(action, "action can not be null");
+        for (int i = 0; i < size; ++i) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    /**
+     * Return the row ids of the bitmap.
+     *
+     * @return The row ids, by ascending order.
+     */
+    public int[] toArray() {
+        final int[] rowIds = new int[Math.toIntExact(cardinality())];
+        int offset = 0;
+        for (int i = 0; i < size; ++i) {
+            offset = containers[i].toArray(keys[i] << 16, rowIds, offset);
+        }
+        return rowIds;
+    }
+
+    /**
+     * Return a copy of this bitmap.
+     *
+     * @return A new bitmap with the same row ids.
+     */
+    public CompressedBitmap copy() {
+        final CompressedBitmap copy = new CompressedBitmap(Math.max(1, size));
+        for (int i = 0; i < size; ++i) {
+            copy.append(keys[i], containers[i].copy());
+        }
+        return copy;
+    }
+
+    /**
+     * Return true if the last container was stored as a bitmap, for tests.
+     *
+     * @return true if the last container is a bitmap container.
+     */
+    boolean isLastContainerBitmap() {
+        return size > 0 && containers[size - 1] instanceof BitmapContainer;
+    }
+
+    private void insert(final int index, final char key, final Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        ++size;
+    }
+
+    private void append(final char key, final Container container) {
+        if (container.cardinality() > 0) {
+            insert(size, key, container);
+        }
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        final CompressedBitmap that = (CompressedBitmap) o;
+        if (size != that.size) {
+            return false;
+        }
+        for (int i = 0; i < size; ++i) {
+            if (keys[i] != that.keys[i] || !containers[i].equals(that.containers[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 1;
+        for (int i = 0; i < size; ++i) {
+            hashCode = 31 * (31 * hashCode + keys[i]) + containers[i].hashCode();
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "CompressedBitmap{" + "cardinality=" + cardinality() + ", containers=" + size + '}';
+    }
+
+    /**
+     * The 16 lowest bits of the row ids sharing the same 16 highest bits. The containers are normalized after each
+     * operation : a container is an array container if and only if it has at most {@link #ARRAY_MAX_SIZE} values, so
+     * two containers with the same values are always equal.
+     */
+    private abstract static class Container {
+
+        abstract Container add(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        abstract Container and(Container other);
+
+        abstract Container or(Container other);
+
+        abstract Container andNot(Container other);
+
+        abstract void forEach(int high, IntConsumer action);
+
+        abstract int toArray(int high, int[] out, int offset);
+
+        abstract Container copy();
+
+        abstract int getSizeInBytes();
+    }
+
+    /**
+     * A container storing its values in a sorted array.
+     */
+    private static final class ArrayContainer extends Container {
+
+        private char[] values;
+
+        private int cardinality;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(final char[] values, final int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(final char value) {
+            int index = -cardinality - 1;
+            if (cardinality > 0 && values[cardinality - 1] >= value) {
+                index = Arrays.binarySearch(values, 0, cardinality, value);
+                if (index >= 0) {
+                    return this;
+                }
+            }
+            if (cardinality == ARRAY_MAX_SIZE) {
+                return toBitmap().add(value);
+            }
+
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX_SIZE, Math.max(4, cardinality * 2)));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            ++cardinality;
+            return this;
+        }
+
+        @Override
+        boolean contains(final char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Container and(final Container other) {
+            final char[] result = new char[cardinality];
+            int count = 0;
+            if (other instanceof ArrayContainer) {
+                final ArrayContainer that = (ArrayContainer) other;
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < that.cardinality) {
+                    if (values[i] < that.values[j]) {
+                        ++i;
+                    } else if (values[i] > that.values[j]) {
+                        ++j;
+                    } else {
+                        result[count++] = values[i++];
+                        ++j;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; ++i) {
+                    if (other.contains(values[i])) {
+                        result[count++] = values[i];
+                    }
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        @Override
+        Container or(final Container other) {
+            if (other instanceof BitmapContainer) {
+                return other.or(this);
+            }
+
+            final ArrayContainer that = (ArrayContainer) other;
+            if (cardinality + that.cardinality > ARRAY_MAX_SIZE) {
+                final BitmapContainer bitmap = toBitmap();
+                for (int j = 0; j < that.cardinality; ++j) {
+                    bitmap.add(that.values[j]);
+                }
+                return bitmap.normalize();
+            }
+
+            final char[] result = new char[cardinality + that.cardinality];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < that.cardinality) {
+                if (j == that.cardinality || (i < cardinality && values[i] < that.values[j])) {
+                    result[count++] = values[i++];
+                } else if (i == cardinality || values[i] > that.values[j]) {
+                    result[count++] = that.values[j++];
+                } else {
+                    result[count++] = values[i++];
+                    ++j;
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        @Override
+        Container andNot(final Container other) {
+            final char[] result = new char[cardinality];
+            int count = 0;
+            for (int i = 0; i < cardinality; ++i) {
+                if (!other.contains(values[i])) {
+                    result[count++] = values[i];
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        @Override
+        void forEach(final int high, final IntConsumer action) {
+            for (int i = 0; i < cardinality; ++i) {
+                action.accept(high | values[i]);
+            }
+        }
+
+        @Override
+        int toArray(final int high, final int[] out, final int offset) {
+            for (int i = 0; i < cardinality; ++i) {
+                out[offset + i] = high | values[i];
+            }
+            return offset + cardinality;
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(1, cardinality)), cardinality);
+        }
+
+        @Override
+        int getSizeInBytes() {
+            return values.length * Character.BYTES;
+        }
+
+        private BitmapContainer toBitmap() {
+            final BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; ++i) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof ArrayContainer)) {
+                return false;
+            }
+
+            final ArrayContainer that = (ArrayContainer) o;
+            if (cardinality != that.cardinality) {
+                return false;
+            }
+            for (int i = 0; i < cardinality; ++i) {
+                if (values[i] != that.values[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hashCode = 1;
+            for (int i = 0; i < cardinality; ++i) {
+                hashCode = 31 * hashCode + values[i];
+            }
+            return hashCode;
+        }
+    }
+
+    /**
+     * A container storing its values in a bitmap of 65536 bits.
+     */
+    private static final class BitmapContainer extends Container {
+
+        private final long[] words;
+
+        private int cardinality;
+
+        BitmapContainer() {
+            this(new long[1 << 10], 0);
+        }
+
+        BitmapContainer(final long[] words, final int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        BitmapContainer add(final char value) {
+            final long word = words[value >>> 6];
+            final long updated = word | (1L << value);
+            words[value >>> 6] = updated;
+            cardinality += (int) ((word ^ updated) >>> (value & 63));
+            return this;
+        }
+
+        @Override
+        boolean contains(final char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Container and(final Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+
+            final long[] that = ((BitmapContainer) other).words;
+            final long[] result = new long[words.length];
+            int count = 0;
+            for (int i = 0; i < words.length; ++i) {
+                result[i] = words[i] & that[i];
+                count += Long.bitCount(result[i]);
+            }
+            return new BitmapContainer(result, count).normalize();
+        }
+
+        @Override
+        Container or(final Container other) {
+            if (other instanceof ArrayContainer) {
+                final ArrayContainer that = (ArrayContainer) other;
+                final BitmapContainer result = (BitmapContainer) copy();
+                for (int j = 0; j < that.cardinality; ++j) {
+                    result.add(that.values[j]);
+                }
+                return result;
+            }
+
+            final long[] that = ((BitmapContainer) other).words;
+            final long[] result = new long[words.length];
+            int count = 0;
+            for (int i = 0; i < words.length; ++i) {
+                result[i] = words[i] | that[i];
+                count += Long.bitCount(result[i]);
+            }
+            return new BitmapContainer(result, count);
+        }
+
+        @Override
+        Container andNot(final Container other) {
+            if (other instanceof ArrayContainer) {
+                final ArrayContainer that = (ArrayContainer) other;
+                final BitmapContainer result = (BitmapContainer) copy();
+                for (int j = 0; j < that.cardinality; ++j) {
+                    final char value = that.values[j];
+                    final long word = result.words[value >>> 6];
+                    result.words[value >>> 6] = word & ~(1L << value);
+                    result.cardinality -= (int) ((word >>> (value & 63)) & 1);
+                }
+                return result.normalize();
+            }
+
+            final long[] that = ((BitmapContainer) other).words;
+            final long[] result = new long[words.length];
+            int count = 0;
+            for (int i = 0; i < words.length; ++i) {
+                result[i] = words[i] & ~that[i];
+                count += Long.bitCount(result[i]);
+            }
+            return new BitmapContainer(result, count).normalize();
+        }
+
+        @Override
+        void forEach(final int high, final IntConsumer action) {
+            for (int i = 0; i < words.length; ++i) {
+                for (long word = words[i]; word != 0; word &= word - 1) {
+                    action.accept(high | (i << 6) | Long.numberOfTrailingZeros(word));
+                }
+            }
+        }
+
+        @Override
+        int toArray(final int high, final int[] out, final int offset) {
+            int index = offset;
+            for (int i = 0; i < words.length; ++i) {
+                for (long word = words[i]; word != 0; word &= word - 1) {
+                    out[index++] = high | (i << 6) | Long.numberOfTrailingZeros(word);
+                }
+            }
+            return index;
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        int getSizeInBytes() {
+            return words.length * Long.BYTES;
+        }
+
+        private Container normalize() {
+            if (cardinality > ARRAY_MAX_SIZE) {
+                return this;
+            }
+
+            final char[] values = new char[Math.max(1, cardinality)];
+            int count = 0;
+            for (int i = 0; i < words.length; ++i) {
+                for (long word = words[i]; word != 0; word &= word - 1) {
+                    values[count++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+                }
+            }
+            return new ArrayContainer(values, count);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof BitmapContainer && Arrays.equals(words, ((BitmapContainer) o).words);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(words);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.florentclarret.jbitfield;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Ask the jbitfield-processor annotation processor to generate, at build time, a specialized codec for a
+ * {@link BitFieldElement} enum. For an enum named {@code WeekDay}, the generated class is {@code WeekDayBitFields}, in
+ * the same package, with a constant mask per element and static encode/decode methods which do not use reflection nor
+ * runtime validation.
+ * <p>
+ * The positions are read from the source code : each constant must give its position as an int literal argument of
+ * its constructor, at the index {@link #positionArgument()}, and {@link BitFieldElement#getBitFieldPosition()} must
+ * return it, which the generated class checks once when it is initialized : it fails with an
+ * ExceptionInInitializerError otherwise. The positions are validated at compile time : they must be unique, positive or
+ * null, and lower than 64.
+ *
+ * @author Florent Clarret
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateBitFields {
+
+    /**
+     * Return the index of the constructor argument giving the position of each constant.
+     *
+     * @return The index of the argument, 0 by default.
+     */
+    int positionArgument() default 0;
+}
@@ -0,0 +1,219 @@
+package io.github.florentclarret.jbitfield;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Represents a immutable bit field of BitFieldElement enum elements whose positions do not fit in a single long. The
+ * representation of the bit field is stored in an array of longs, using the same layout as
+ * {@link BitSet#toLongArray()} : the position p is stored in the bit (p % 64) of the word (p / 64). The number of
+ * words is derived from the highest position of the enum.
+ *
+ * @param <T> The enum which represents the value in the bit field.
+ * @author Florent Clarret
+ */
+public final class LargeBitField<T extends Enum<T> & BitFieldElement> implements Iterable<T> {
+
+    /**
+     * Binary representation of the bit field.
+     */
+    private final long[] words;
+
+    /**
+     * Set view of the bit field, created on the first call to {@link #getSet()}.
+     */
+    private Set<T> set;
+
+    /**
+     * The codec of the class represented in the bit field
+     */
+    private final LargeBitFieldCodec<T> codec;
+
+    /**
+     * The cached hash code
+     */
+    private int hashCode;
+
+    /**
+     * Creates a bit field initialized to zero for the given class.
+     * @param enumClass The type of the elements stored in the bit field
+     * @throws NullPointerException if the enumClass is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement
+     */
+    public LargeBitField(final Class<T> enumClass) {
+        this(enumClass, new long[0]);
+    }
+
+    /**
+     * Generates a new instance of the bit field using the given set of BitFieldElement. Duplicated values are used only
+     * once and automatically removed.
+     *
+     * @param set The set containing the element to place in the bit field.
+     * @param enumClass The type of the elements stored in the bit field
+     * @throws NullPointerException if the set is null
+     * @throws NullPointerException if the enumClass is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement
+     */
+    public LargeBitField(final Class<T> enumClass, final Set<T> set) {
+        Objects.requireNonNull(set, "set can not be null");
+
+        this.codec = LargeBitFieldCodec.of(enumClass);
+        this.words = codec.encode(set);
+    }
+
+    /**
+     * Generates an instance of LargeBitField from the binary bit field value. The array may be shorter than the number
+     * of words needed by the enum, the missing words are then considered as zero.
+     *
+     * @param enumClass the Class represented in the bit field
+     * @param bitField  The binary representation of the bit field, in the {@link BitSet#toLongArray()} layout.
+     * @throws IllegalArgumentException if any value in the field are not present in the BitFieldElement enum position's
+     * @throws NullPointerException if the enumClass or the bitField is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement
+     */
+    public LargeBitField(final Class<T> enumClass, final long[] bitField) {
+        this.codec = LargeBitFieldCodec.of(enumClass);
+        this.words = codec.normalize(bitField);
+    }
+
+    /**
+     * Generates an instance of LargeBitField from a BitSet.
+     *
+     * @param enumClass the Class represented in the bit field
+     * @param bitSet The bit set containing the positions of the elements.
+     * @throws IllegalArgumentException if any value in the field are not present in the BitFieldElement enum position's
+     * @throws NullPointerException if the enumClass or the bitSet is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement
+     */
+    public LargeBitField(final Class<T> enumClass, final BitSet bitSet) {
+        this(enumClass, Objects.requireNonNull(bitSet, "bitSet can not be null").toLongArray());
+    }
+
+    private LargeBitField(final LargeBitFieldCodec<T> codec, final long[] words) {
+        this.codec = codec;
+        this.words = words;
+    }
+
+    /**
+     * Return a new instance of a bit field using the given value. Duplicated values are used only once and
+     * automatically removed.
+     *
+     * @param set The set to define in the bit field.
+     * @return The newly generated bit field.
+     * @throws NullPointerException if the set is null
+     */
+    public LargeBitField<T> set(final Set<T> set) {
+        return new LargeBitField<>(codec.getEnumClass(), set);
+    }
+
+    /**
+     * Create a new instance of the current bit field with the given extra values. If the element is already in the bit
+     * field, nothing will be done.
+     *
+     * @param elements The elements to add to the current bit field
+     * @return The newly generated bit field with the extra values.
+     * @throws NullPointerException if elements is null
+     */
+    public LargeBitField<T> addAll(final Set<T> elements) {
+        Objects.requireNonNull(elements, "elements can not be null");
+
+        if (elements.isEmpty()) {
+            return this;
+        }
+
+        final long[] added = codec.encode(elements);
+        boolean changed = false;
+        for (int i = 0; i < added.length; ++i) {
+            changed |= (added[i] & ~words[i]) != 0;
+            added[i] |= words[i];
+        }
+
+        return changed ? new LargeBitField<>(codec, added) : this;
+    }
+
+    /**
+     * Create a new instance of the current bit field with the given extra value. If the element is already in the bit
+     * field, nothing will be done.
+     *
+     * @param element The element to add to the current bit field
+     * @return The newly generated bit field with the extra value.
+     * @throws NullPointerException if element is null
+     */
+    public LargeBitField<T> add(final T element) {
+        final int position = codec.getPosition(Objects.requireNonNull(element, "element can not be null"));
+        final int index = LargeBitFieldCodec.wordIndex(position);
+
+        if ((words[index] & (1L << position)) != 0) {
+            return this;
+        }
+
+        final long[] copy = words.clone();
+        copy[index] |= 1L << position;
+        return new LargeBitField<>(codec, copy);
+    }
+
+    /**
+     * Return a copy of the internal value of the bit field.
+     *
+     * @return The words representing the current bit field, in the {@link BitSet#toLongArray()} layout.
+     */
+    public long[] getBitFieldValue() {
+        return words.clone();
+    }
+
+    /**
+     * Return the current bit field as a BitSet.
+     *
+     * @return A new bit set with the positions of the elements of the bit field.
+     */
+    public BitSet toBitSet() {
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Return the Set containing all the value from the current bit field. The set is a read-only view reading the
+     * words of the bit field, which iterates over the elements by ascending position.
+     *
+     * @return A unmodifiable set of the value stored in the current bit field.
+     */
+    public Set<T> getSet() {
+        return (set == null) ? set = new LargeBitFieldSet<>(codec, words) : set;
+    }
+
+    /**
+     * Return an iterator over the elements of the bit field, by ascending position.
+     *
+     * @return An iterator which does not support removal.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return getSet().iterator();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        final LargeBitField<?> bitField1 = (LargeBitField<?>) o;
+
+        return Arrays.equals(words, bitField1.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return (hashCode == 0) ? hashCode = Arrays.hashCode(words) : hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "LargeBitField{" + "bitField=" + Arrays.toString(words) + ", set=" + getSet() + '}';
+    }
+}
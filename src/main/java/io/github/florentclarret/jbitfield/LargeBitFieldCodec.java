@@ -0,0 +1,165 @@
+package io.github.florentclarret.jbitfield;
+
+import java.lang.reflect.Array;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Precomputed conversion tables between a BitFieldElement enum and its multi-word bit field representation. The number
+ * of words is derived from the highest position of the enum.
+ *
+ * @param <T> The enum which represents the value in the bit field.
+ * @author Florent Clarret
+ */
+final class LargeBitFieldCodec<T extends Enum<T> & BitFieldElement> {
+
+    /**
+     * The codecs already computed, one per enum class.
+     */
+    private static final ClassValue<LargeBitFieldCodec<?>> REGISTRY = new ClassValue<LargeBitFieldCodec<?>>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected LargeBitFieldCodec<?> computeValue(final Class<?> type) {
+            return new LargeBitFieldCodec(type);
+        }
+    };
+
+    /**
+     * The class represented in the bit field
+     */
+    private final Class<T> enumClass;
+
+    /**
+     * The position of each constant, indexed by ordinal.
+     */
+    private final int[] positionsByOrdinal;
+
+    /**
+     * The constant stored at each position, null if the position is not used.
+     */
+    private final T[] elementsByPosition;
+
+    /**
+     * All the bits used by the enum, one long per word.
+     */
+    private final long[] validMasks;
+
+    @SuppressWarnings("unchecked")
+    private LargeBitFieldCodec(final Class<T> enumClass) {
+        if (!BitFieldHelper.isValidEnum(enumClass)) {
+            throw new IllegalArgumentException(String.format("the class [%s] is not a valid " +
+                    "BitFieldElement", enumClass.getName()));
+        }
+
+        final T[] constants = enumClass.getEnumConstants();
+        int maxPosition = -1;
+        for (final T element : constants) {
+            maxPosition = Math.max(maxPosition, element.getBitFieldPosition());
+        }
+
+        this.enumClass = enumClass;
+        this.positionsByOrdinal = new int[constants.length];
+        this.elementsByPosition = (T[]) Array.newInstance(enumClass, maxPosition + 1);
+        this.validMasks = new long[(maxPosition < 0) ? 0 : wordIndex(maxPosition) + 1];
+
+        for (final T element : constants) {
+            final int position = element.getBitFieldPosition();
+            positionsByOrdinal[element.ordinal()] = position;
+            elementsByPosition[position] = element;
+            validMasks[wordIndex(position)] |= 1L << position;
+        }
+    }
+
+    /**
+     * Return the codec of the given enum class.
+     *
+     * @param enumClass The type of the elements stored in the bit field
+     * @param <T> The BitFieldElement class.
+     * @return The codec of the enum class.
+     * @throws NullPointerException if the enumClass is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends Enum<T> & BitFieldElement> LargeBitFieldCodec<T> of(final Class<T> enumClass) {
+        return (LargeBitFieldCodec<T>) REGISTRY.get(Objects.requireNonNull(enumClass, "enumClass can not be null"));
+    }
+
+    /**
+     * Return the index of the word holding the given position.
+     *
+     * @param position The position in the bit field.
+     * @return The index of the word.
+     */
+    static int wordIndex(final int position) {
+        return position >>> 6;
+    }
+
+    Class<T> getEnumClass() {
+        return enumClass;
+    }
+
+    int getWordCount() {
+        return validMasks.length;
+    }
+
+    /**
+     * Return the position of a single element.
+     *
+     * @param element The element.
+     * @return The position of the element.
+     */
+    int getPosition(final T element) {
+        return positionsByOrdinal[element.ordinal()];
+    }
+
+    /**
+     * Return the words of the given set.
+     *
+     * @param set The elements to encode.
+     * @return The words of the bit field, always {@link #getWordCount()} long.
+     * @throws NullPointerException if the set or any of its elements is null
+     */
+    long[] encode(final Set<T> set) {
+        final long[] words = new long[validMasks.length];
+        for (final T element : Objects.requireNonNull(set, "set can not be null")) {
+            final int position = positionsByOrdinal[element.ordinal()];
+            words[wordIndex(position)] |= 1L << position;
+        }
+        return words;
+    }
+
+    /**
+     * Return the given words resized to {@link #getWordCount()}, after checking that all the bits are used by the
+     * enum.
+     *
+     * @param words The words of the bit field, in the {@link java.util.BitSet#toLongArray()} layout.
+     * @return A new array of {@link #getWordCount()} words.
+     * @throws NullPointerException if the words are null
+     * @throws IllegalArgumentException if any value in the field is not present in the BitFieldElement enum position's
+     */
+    long[] normalize(final long[] words) {
+        Objects.requireNonNull(words, "bitField can not be null");
+
+        for (int i = 0; i < words.length; ++i) {
+            final long validMask = (i < validMasks.length) ? validMasks[i] : 0;
+            if ((words[i] & ~validMask) != 0) {
+                throw new IllegalArgumentException(String.format("Invalid value found in word [%d] of bit field " +
+                        "[%s] for enum [%s]", i, words[i], enumClass.getName()));
+            }
+        }
+
+        final long[] copy = new long[validMasks.length];
+        System.arraycopy(words, 0, copy, 0, Math.min(words.length, copy.length));
+        return copy;
+    }
+
+    /**
+     * Return the element stored at the given position.
+     *
+     * @param position The position in the bit field, which must be used by the enum.
+     * @return The element.
+     */
+    T getElement(final int position) {
+        return elementsByPosition[position];
+    }
+}
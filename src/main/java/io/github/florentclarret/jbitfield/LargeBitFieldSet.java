@@ -0,0 +1,88 @@
+package io.github.florentclarret.jbitfield;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Read-only Set view of the words of a large bit field. The elements are never stored, all the operations are answered
+ * from the words. The iteration order is the ascending position of the elements in the bit field.
+ *
+ * @param <T> The enum which represents the value in the bit field.
+ * @author Florent Clarret
+ */
+final class LargeBitFieldSet<T extends Enum<T> & BitFieldElement> extends AbstractSet<T> {
+
+    /**
+     * The codec of the class represented in the bit field
+     */
+    private final LargeBitFieldCodec<T> codec;
+
+    /**
+     * Binary representation of the bit field, normalized for the enum. The array is never modified.
+     */
+    private final long[] words;
+
+    LargeBitFieldSet(final LargeBitFieldCodec<T> codec, final long[] words) {
+        this.codec = codec;
+        this.words = words;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int word = -1;
+
+            private long remaining;
+
+            @Override
+            public boolean hasNext() {
+                while (remaining == 0 && word + 1 < words.length) {
+                    remaining = words[++word];
+                }
+                return remaining != 0;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                final T element = codec.getElement((word << 6) + Long.numberOfTrailingZeros(remaining));
+                remaining &= remaining - 1;
+                return element;
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (final long word : words) {
+            size += Long.bitCount(word);
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (final long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean contains(final Object o) {
+        if (!codec.getEnumClass().isInstance(o)) {
+            return false;
+        }
+
+        final int position = codec.getPosition((T) o);
+        return (words[LargeBitFieldCodec.wordIndex(position)] & (1L << position)) != 0;
+    }
+}
@@ -0,0 +1,415 @@
+package io.github.florentclarret.jbitfield;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Growable column of bit field values stored off-heap, 8 bytes per value whatever the number of values, instead of a
+ * BitField object and its set per value on the heap. The values are stored in chunks of {@link #CHUNK_SIZE} longs,
+ * each one in a direct ByteBuffer using the native byte order, so the column is not limited to 2GB and grows without
+ * copying the values. The memory of the chunks is released by the garbage collector once the column is unreachable
+ * or {@link #clear() cleared}. The chunks count against the direct memory limit of the JVM, which defaults to the
+ * maximum heap size : 200 million values need about 1.6GB of direct buffers, so {@code -XX:MaxDirectMemorySize} must be
+ * sized accordingly.
+ * <p>
+ * The values are read either as canonical BitField instances, or through a reusable {@link Cursor} which answers the
+ * usual BitField queries directly from the stored value. The mask queries are delegated to {@link BitFieldColumns},
+ * chunk by chunk. The instances are not thread-safe.
+ *
+ * @param <T> The enum which represents the value in the bit field.
+ * @author Florent Clarret
+ */
+public final class OffHeapBitFieldColumn<T extends Enum<T> & BitFieldElement> {
+
+    /**
+     * The number of bits of the index of a value inside its chunk.
+     */
+    static final int CHUNK_SHIFT = 16;
+
+    /**
+     * The number of values of a chunk, 512KB of longs.
+     */
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    /**
+     * The codec of the class represented in the bit field
+     */
+    private final BitFieldCodec<T> codec;
+
+    /**
+     * The chunks allocated so far, all full but the last one, followed by free slots. The array grows geometrically.
+     */
+    private LongBuffer[] chunks = new LongBuffer[0];
+
+    /**
+     * The number of chunks allocated.
+     */
+    private int chunkCount;
+
+    /**
+     * The number of values of the column.
+     */
+    private long size;
+
+    /**
+     * Creates an empty column. No memory is allocated before the first value is appended.
+     *
+     * @param enumClass The type of the elements stored in the bit field
+     * @throws NullPointerException if the enumClass is null
+     * @throws IllegalArgumentException if the enumClass is not a valid BtFieldElement
+     */
+    public OffHeapBitFieldColumn(final Class<T> enumClass) {
+        this.codec = BitFieldCodec.of(enumClass);
+    }
+
+    /**
+     * Return the number of values of the column.
+     *
+     * @return The size of the column.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Return the number of off-heap bytes allocated by the column.
+     *
+     * @return The size of the chunks in bytes.
+     */
+    public long getSizeInBytes() {
+        return (long) chunkCount * CHUNK_SIZE * Long.BYTES;
+    }
+
+    /**
+     * Append a value at the end of the column.
+     *
+     * @param bitField The binary representation of the bit field.
+     * @return The index of the value.
+     * @throws IllegalArgumentException if the bit field is not valid for the enum
+     */
+    public long append(final long bitField) {
+        codec.checkValid(bitField);
+
+        final int chunk = (int) (size >>> CHUNK_SHIFT);
+        if (chunk == chunkCount) {
+            if (chunk == chunks.length) {
+                chunks = Arrays.copyOf(chunks, Math.max(1, chunk << 1));
+            }
+            chunks[chunk] = ByteBuffer.allocateDirect(CHUNK_SIZE * Long.BYTES).order(ByteOrder.nativeOrder())
+                    .asLongBuffer();
+            ++chunkCount;
+        }
+        chunks[chunk].put(offset(size), bitField);
+        return size++;
+    }
+
+    /**
+     * Append a bit field at the end of the column.
+     *
+     * @param bitField The bit field.
+     * @return The index of the value.
+     * @throws NullPointerException if the bit field is null
+     */
+    public long append(final BitField<T> bitField) {
+        return append(Objects.requireNonNull(bitField, "bitField can not be null").getBitFieldValue());
+    }
+
+    /**
+     * Return the value at the given index.
+     *
+     * @param index The index of the value.
+     * @return The binary representation of the bit field.
+     * @throws IndexOutOfBoundsException if the index is negative or not lower than the size
+     */
+    public long getValue(final long index) {
+        checkIndex(index);
+        return chunks[(int) (index >>> CHUNK_SHIFT)].get(offset(index));
+    }
+
+    /**
+     * Return the canonical bit field at the given index.
+     *
+     * @param index The index of the value.
+     * @return The bit field.
+     * @throws IndexOutOfBoundsException if the index is negative or not lower than the size
+     */
+    public BitField<T> get(final long index) {
+        return BitField.canonical(codec, getValue(index));
+    }
+
+    /**
+     * Replace the value at the given index.
+     *
+     * @param index The index of the value.
+     * @param bitField The binary representation of the bit field.
+     * @throws IndexOutOfBoundsException if the index is negative or not lower than the size
+     * @throws IllegalArgumentException if the bit field is not valid for the enum
+     */
+    public void set(final long index, final long bitField) {
+        checkIndex(index);
+        codec.checkValid(bitField);
+        chunks[(int) (index >>> CHUNK_SHIFT)].put(offset(index), bitField);
+    }
+
+    /**
+     * Replace the value at the given index.
+     *
+     * @param index The index of the value.
+     * @param bitField The bit field.
+     * @throws IndexOutOfBoundsException if the index is negative or not lower than the size
+     * @throws NullPointerException if the bit field is null
+     */
+    public void set(final long index, final BitField<T> bitField) {
+        set(index, Objects.requireNonNull(bitField, "bitField can not be null").getBitFieldValue());
+    }
+
+    /**
+     * Return the number of values of the column matching the mask.
+     *
+     * @param match The predicate to apply.
+     * @param mask The elements to look for.
+     * @return The number of matching values.
+     * @throws NullPointerException if any parameter is null
+     */
+    public long count(final BitFieldColumns.Match match, final BitField<T> mask) {
+        Objects.requireNonNull(match, "match can not be null");
+        Objects.requireNonNull(mask, "mask can not be null");
+
+        long count = 0;
+        for (int chunk = 0; chunk < chunkCount; ++chunk) {
+            count += BitFieldColumns.count(view(chunk), match, mask);
+        }
+        return count;
+    }
+
+    /**
+     * Call the action with the index of each value matching the mask, by ascending order.
+     *
+     * @param match The predicate to apply.
+     * @param mask The elements to look for.
+     * @param action The action receiving the indexes.
+     * @throws NullPointerException if any parameter is null
+     */
+    public void forEachMatch(final BitFieldColumns.Match match, final BitField<T> mask, final LongConsumer action) {
+        Objects.requireNonNull(match, "match can not be null");
+        Objects.requireNonNull(mask, "mask can not be null");
+        Objects.requireNonNull(action, "action can not be null");
+
+        for (int chunk = 0; chunk < chunkCount; ++chunk) {
+            final long[] bitmap = BitFieldColumns.bitmap(view(chunk), match, mask);
+            final long base = (long) chunk << CHUNK_SHIFT;
+            for (int word = 0; word < bitmap.length; ++word) {
+                for (long remaining = bitmap[word]; remaining != 0; remaining &= remaining - 1) {
+                    action.accept(base + word * Long.SIZE + Long.numberOfTrailingZeros(remaining));
+                }
+            }
+        }
+    }
+
+    /**
+     * Return a new cursor on the column, before its first value. A single cursor should be reused to read many values.
+     *
+     * @return A new cursor.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Remove all the values and release the chunks.
+     */
+    public void clear() {
+        chunks = new LongBuffer[0];
+        chunkCount = 0;
+        size = 0;
+    }
+
+    /**
+     * Return the number of chunks the chunk array can hold without growing.
+     *
+     * @return The length of the chunk array.
+     */
+    int getChunkCapacity() {
+        return chunks.length;
+    }
+
+    private LongBuffer view(final int chunk) {
+        final LongBuffer view = chunks[chunk].duplicate();
+        view.clear();
+        view.limit((int) Math.min(CHUNK_SIZE, size - ((long) chunk << CHUNK_SHIFT)));
+        return view;
+    }
+
+    private void checkIndex(final long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("the index [%d] is out of bounds [0, %d[", index, size));
+        }
+    }
+
+    private static int offset(final long index) {
+        return (int) index & (CHUNK_SIZE - 1);
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapBitFieldColumn{" + "enumClass=" + codec.getEnumClass().getName() + ", size=" + size + '}';
+    }
+
+    /**
+     * Flyweight view of one value of the column at a time. The cursor is moved with {@link #next()} or
+     * {@link #moveTo(long)} and answers the BitField queries on the current value without allocating any object.
+     */
+    public final class Cursor {
+
+        /**
+         * The index of the current value, -1 before the first value.
+         */
+        private long index = -1;
+
+        /**
+         * The current value.
+         */
+        private long value;
+
+        private Cursor() {
+        }
+
+        /**
+         * Move to the next value of the column.
+         *
+         * @return true if the cursor is on a value, false if the end of the column is reached.
+         */
+        public boolean next() {
+            if (index + 1 >= size) {
+                index = size;
+                return false;
+            }
+            value = getValue(++index);
+            return true;
+        }
+
+        /**
+         * Move to the value at the given index.
+         *
+         * @param newIndex The index of the value.
+         * @return The current cursor.
+         * @throws IndexOutOfBoundsException if the index is negative or not lower than the size
+         */
+        public Cursor moveTo(final long newIndex) {
+            value = getValue(newIndex);
+            index = newIndex;
+            return this;
+        }
+
+        /**
+         * Return the index of the current value.
+         *
+         * @return The index, -1 before the first value.
+         */
+        public long getIndex() {
+            return index;
+        }
+
+        /**
+         * Return the current value.
+         *
+         * @return The binary representation of the bit field.
+         */
+        public long getBitFieldValue() {
+            return value;
+        }
+
+        /**
+         * Return true if the current value contains the given element.
+         *
+         * @param element The element to look for.
+         * @return true if the element is present.
+         * @throws NullPointerException if the element is null
+         */
+        public boolean contains(final T element) {
+            return codec.contains(value, Objects.requireNonNull(element, "element can not be null"));
+        }
+
+        /**
+         * Return true if the current value contains all the elements of the other bit field.
+         *
+         * @param other The elements to look for.
+         * @return true if all the elements are present.
+         * @throws NullPointerException if other is null
+         */
+        public boolean containsAll(final BitField<T> other) {
+            final long mask = Objects.requireNonNull(other, "other can not be null").getBitFieldValue();
+            return (value & mask) == mask;
+        }
+
+        /**
+         * Return true if the current value contains at least one element of the other bit field.
+         *
+         * @param other The elements to look for.
+         * @return true if any element is present.
+         * @throws NullPointerException if other is null
+         */
+        public boolean intersects(final BitField<T> other) {
+            return (value & Objects.requireNonNull(other, "other can not be null").getBitFieldValue()) != 0;
+        }
+
+        /**
+         * Return the number of elements of the current value.
+         *
+         * @return The number of elements.
+         */
+        public int size() {
+            return Long.bitCount(value);
+        }
+
+        /**
+         * Return true if the current value is empty.
+         *
+         * @return true if there is no element.
+         */
+        public boolean isEmpty() {
+            return value == 0;
+        }
+
+        /**
+         * Call the action on each element of the current value, by ascending position.
+         *
+         * @param action The action.
+         * @throws NullPointerException if the action is null
+         */
+        public void forEach(final Consumer<? super T> action) {
+            codec.forEachSetElement(value, Objects.requireNonNull(action, "action can not be null"));
+        }
+
+        /**
+         * Replace the current value in the column.
+         *
+         * @param bitField The binary representation of the bit field.
+         * @throws IllegalArgumentException if the bit field is not valid for the enum
+         * @throws IndexOutOfBoundsException if the cursor is not on a value
+         */
+        public void set(final long bitField) {
+            OffHeapBitFieldColumn.this.set(index, bitField);
+            value = bitField;
+        }
+
+        /**
+         * Return the canonical bit field of the current value.
+         *
+         * @return The bit field.
+         */
+        public BitField<T> toBitField() {
+            return BitField.canonical(codec, value);
+        }
+
+        @Override
+        public String toString() {
+            return "Cursor{" + "index=" + index + ", bitField=" + value + '}';
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.florentclarret.jbitfield;
+
+import io.github.florentclarret.jbitfield.enums.WeekDay;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AtomicBitFieldTest {
+
+    @Test
+    public void testAddAndRemove() {
+        final AtomicBitField<WeekDay> bitField = new AtomicBitField<>(WeekDay.class);
+
+        assertTrue(bitField.add(WeekDay.MONDAY));
+        assertFalse(bitField.add(WeekDay.MONDAY));
+        assertTrue(bitField.contains(WeekDay.MONDAY));
+        assertTrue(bitField.addAll(EnumSet.of(WeekDay.MONDAY, WeekDay.FRIDAY)));
+        assertFalse(bitField.addAll(BitField.of(WeekDay.class, 17)));
+        assertEquals(17, bitField.getBitFieldValue());
+
+        assertTrue(bitField.remove(WeekDay.MONDAY));
+        assertFalse(bitField.remove(WeekDay.MONDAY));
+        assertSame(BitField.of(WeekDay.class, 16), bitField.get());
+    }
+
+    @Test
+    public void testCompareAndSet() {
+        final AtomicBitField<WeekDay> bitField = new AtomicBitField<>(WeekDay.class, 1);
+
+        assertFalse(bitField.compareAndSet(BitField.of(WeekDay.class, 2), BitField.of(WeekDay.class, 3)));
+        assertTrue(bitField.compareAndSet(BitField.of(WeekDay.class, 1), BitField.of(WeekDay.class, 3)));
+        assertEquals(3, bitField.getBitFieldValue());
+
+        bitField.set(BitField.of(WeekDay.class, 64));
+        assertEquals(64, bitField.getBitFieldValue());
+    }
+
+    @Test
+    public void testUpdate() {
+        final AtomicBitField<WeekDay> bitField = new AtomicBitField<>(WeekDay.class, 1);
+
+        assertSame(BitField.of(WeekDay.class, 1), bitField.getAndUpdate(current -> current.add(WeekDay.TUESDAY)));
+        assertSame(BitField.of(WeekDay.class, 7), bitField.updateAndGet(current -> current.add(WeekDay.WEDNESDAY)));
+        assertEquals("the result of the function can not be null", assertThrows(NullPointerException.class, () -> bitField.updateAndGet(current -> null)).getMessage());
+        assertEquals("AtomicBitField{bitField=7}", bitField.toString());
+    }
+
+    @Test
+    public void testConcurrentUpdates() throws InterruptedException {
+        final AtomicBitField<WeekDay> bitField = new AtomicBitField<>(WeekDay.class);
+        final AtomicInteger added = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        for (int i = 0; i < 1000; ++i) {
+            final WeekDay day = WeekDay.values()[i % WeekDay.values().length];
+            executor.execute(() -> {
+                if (bitField.add(day)) {
+                    added.incrementAndGet();
+                }
+                bitField.getAndUpdate(current -> current.add(day));
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(127, bitField.getBitFieldValue());
+        assertEquals(7, added.get());
+    }
+
+    @Test
+    public void testInvalidInput() {
+        final AtomicBitField<WeekDay> bitField = new AtomicBitField<>(WeekDay.class);
+
+        assertEquals("Invalid value found in bit field [128] for enum [io.github.florentclarret.jbitfield.enums.WeekDay]", assertThrows(IllegalArgumentException.class, () -> new AtomicBitField<>(WeekDay.class, 128)).getMessage());
+        assertEquals("element can not be null", assertThrows(NullPointerException.class, () -> bitField.add(null)).getMessage());
+        assertEquals("element can not be null", assertThrows(NullPointerException.class, () -> bitField.remove(null)).getMessage());
+        assertEquals("elements can not be null", assertThrows(NullPointerException.class, () -> bitField.addAll((EnumSet<WeekDay>) null)).getMessage());
+        assertEquals("expect can not be null", assertThrows(NullPointerException.class, () -> bitField.compareAndSet(null, null)).getMessage());
+        assertEquals("function can not be null", assertThrows(NullPointerException.class, () -> bitField.getAndUpdate(null)).getMessage());
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.florentclarret.jbitfield;
+
+import io.github.florentclarret.jbitfield.enums.WeekDay;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BitFieldAccumulatorTest {
+
+    @Test
+    public void testAccumulate() {
+        final BitFieldAccumulator<WeekDay> accumulator = new BitFieldAccumulator<>(WeekDay.class);
+        accumulator.add(WeekDay.MONDAY);
+        accumulator.addAll(EnumSet.of(WeekDay.TUESDAY));
+        accumulator.addAll(BitField.of(WeekDay.class, 4));
+        accumulator.accumulate(8);
+
+        assertSame(BitField.of(WeekDay.class, 15), accumulator.get());
+        assertSame(BitField.of(WeekDay.class, 15), accumulator.getThenReset());
+        assertEquals(0, accumulator.get().getBitFieldValue());
+
+        accumulator.add(WeekDay.SUNDAY);
+        accumulator.reset();
+        assertEquals(0, accumulator.get().getBitFieldValue());
+    }
+
+    @Test
+    public void testConcurrentAccumulate() throws InterruptedException {
+        final BitFieldAccumulator<WeekDay> accumulator = new BitFieldAccumulator<>(WeekDay.class);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        for (int i = 0; i < 1000; ++i) {
+            final WeekDay day = WeekDay.values()[i % WeekDay.values().length];
+            executor.execute(() -> accumulator.add(day));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(127, accumulator.get().getBitFieldValue());
+    }
+
+    @Test
+    public void testInvalidInput() {
+        final BitFieldAccumulator<WeekDay> accumulator = new BitFieldAccumulator<>(WeekDay.class);
+
+        assertEquals("Invalid value found in bit field [128] for enum [io.github.florentclarret.jbitfield.enums.WeekDay]", assertThrows(IllegalArgumentException.class, () -> accumulator.accumulate(128)).getMessage());
+        assertEquals("element can not be null", assertThrows(NullPointerException.class, () -> accumulator.add(null)).getMessage());
+        assertEquals("bitField can not be null", assertThrows(NullPointerException.class, () -> accumulator.addAll((BitField<WeekDay>) null)).getMessage());
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.florentclarret.jbitfield;
+
+import io.github.florentclarret.jbitfield.enums.WeekDay;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BitFieldArraysTest {
+
+    private static final int LARGE_SIZE = 5 * BitFieldArrays.CHUNK_SIZE + 17;
+
+    @Test
+    public void testEncodeAll() {
+        final List<Set<WeekDay>> sets = Arrays.asList(EnumSet.noneOf(WeekDay.class), EnumSet.of(WeekDay.MONDAY,
+                WeekDay.FRIDAY), EnumSet.allOf(WeekDay.class));
+        final long[] out = new long[4];
+
+        BitFieldArrays.encodeAll(WeekDay.class, sets, out);
+
+        assertArrayEquals(new long[]{0, 17, 127, 0}, out);
+    }
+
+    @Test
+    public void testEncodeAllWithInvalidInput() {
+        assertEquals("sets can not be null", assertThrows(NullPointerException.class, () -> BitFieldArrays.encodeAll(WeekDay.class, null, new long[0])).getMessage());
+        assertEquals("out can not be null", assertThrows(NullPointerException.class, () -> BitFieldArrays.encodeAll(WeekDay.class, Collections.emptyList(), null)).getMessage());
+        assertEquals("out is too small, expected at least [1] elements but was [0]", assertThrows(IllegalArgumentException.class, () -> BitFieldArrays.encodeAll(WeekDay.class, Collections.singletonList(EnumSet.of(WeekDay.MONDAY)), new long[0])).getMessage());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDecodeAll() {
+        final Set<WeekDay>[] out = new Set[3];
+
+        BitFieldArrays.decodeAll(WeekDay.class, new long[]{0, 17, 127}, out);
+
+        assertArrayEquals(new Object[]{EnumSet.noneOf(WeekDay.class), EnumSet.of(WeekDay.MONDAY, WeekDay.FRIDAY),
+                EnumSet.allOf(WeekDay.class)}, out);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDecodeAllWithInvalidInput() {
+        assertEquals("values can not be null", assertThrows(NullPointerException.class, () -> BitFieldArrays.decodeAll(WeekDay.class, null, new Set[0])).getMessage());
+        assertEquals("out is too small, expected at least [2] elements but was [1]", assertThrows(IllegalArgumentException.class, () -> BitFieldArrays.decodeAll(WeekDay.class, new long[2], new Set[1])).getMessage());
+        assertEquals("Invalid value found in bit field [128] for enum [io.github.florentclarret.jbitfield.enums.WeekDay]", assertThrows(IllegalArgumentException.class, () -> BitFieldArrays.decodeAll(WeekDay.class, new long[]{1, 128}, new Set[2])).getMessage());
+    }
+
+    @Test
+    public void testValidateAll() {
+        assertEquals(-1, BitFieldArrays.validateAll(WeekDay.class, new long[0]));
+        assertEquals(-1, BitFieldArrays.validateAll(WeekDay.class, new long[]{0, 17, 127}));
+        assertEquals(1, BitFieldArrays.validateAll(WeekDay.class, new long[]{0, 128, 127, -1}));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testParallelRoundTrip() {
+        final List<Set<WeekDay>> sets = new ArrayList<>(LARGE_SIZE);
+        for (int i = 0; i < LARGE_SIZE; ++i) {
+            sets.add(BitFieldCodec.of(WeekDay.class).decode(i % 128));
+        }
+
+        final long[] values = new long[LARGE_SIZE];
+        BitFieldArrays.parallelEncodeAll(WeekDay.class, sets, values);
+        for (int i = 0; i < LARGE_SIZE; ++i) {
+            assertEquals(i % 128, values[i]);
+        }
+
+        final Set<WeekDay>[] decoded = new Set[LARGE_SIZE];
+        BitFieldArrays.parallelDecodeAll(WeekDay.class, values, decoded);
+        assertEquals(sets, Arrays.asList(decoded));
+    }
+
+    @Test
+    public void testParallelValidateAll() {
+        final long[] values = new long[LARGE_SIZE];
+        assertEquals(-1, BitFieldArrays.parallelValidateAll(WeekDay.class, values));
+
+        values[LARGE_SIZE - 1] = 256;
+        values[3 * BitFieldArrays.CHUNK_SIZE + 5] = 128;
+        assertEquals(3 * BitFieldArrays.CHUNK_SIZE + 5, BitFieldArrays.parallelValidateAll(WeekDay.class, values));
+
+        values[7] = -1;
+        assertEquals(7, BitFieldArrays.parallelValidateAll(WeekDay.class, values));
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.florentclarret.jbitfield;
+
+import io.github.florentclarret.jbitfield.enums.WeekDay;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BitFieldBuilderTest {
+
+    @Test
+    public void testBuild() {
+        final BitFieldBuilder<WeekDay> builder = BitField.builder(WeekDay.class);
+
+        assertSame(builder, builder.set(WeekDay.MONDAY).set(WeekDay.FRIDAY).set(WeekDay.MONDAY));
+        assertEquals(17, builder.buildValue());
+        assertSame(BitField.of(WeekDay.class, 17), builder.build());
+        assertTrue(builder.contains(WeekDay.FRIDAY));
+        assertFalse(builder.contains(WeekDay.SUNDAY));
+    }
+
+    @Test
+    public void testClearAndToggle() {
+        final BitFieldBuilder<WeekDay> builder = new BitFieldBuilder<>(WeekDay.class).setAll(EnumSet.of(WeekDay.MONDAY, WeekDay.TUESDAY));
+
+        assertEquals(2, builder.clear(WeekDay.MONDAY).buildValue());
+        assertEquals(2, builder.clear(WeekDay.MONDAY).buildValue());
+        assertEquals(66, builder.toggle(WeekDay.SUNDAY).buildValue());
+        assertEquals(2, builder.toggle(WeekDay.SUNDAY).buildValue());
+    }
+
+    @Test
+    public void testSetWithValue() {
+        final BitFieldBuilder<WeekDay> builder = new BitFieldBuilder<>(WeekDay.class);
+
+        assertEquals(4, builder.set(WeekDay.WEDNESDAY, true).buildValue());
+        assertEquals(4, builder.set(WeekDay.WEDNESDAY, true).buildValue());
+        assertEquals(0, builder.set(WeekDay.WEDNESDAY, false).buildValue());
+        assertEquals(0, builder.set(WeekDay.WEDNESDAY, false).buildValue());
+    }
+
+    @Test
+    public void testReset() {
+        final BitFieldBuilder<WeekDay> builder = new BitFieldBuilder<>(WeekDay.class).set(WeekDay.SATURDAY);
+        final BitField<WeekDay> first = builder.build();
+
+        assertEquals(0, builder.reset().buildValue());
+        assertSame(BitField.of(WeekDay.class, 0), builder.build());
+        assertEquals(32, first.getBitFieldValue());
+        assertEquals("BitFieldBuilder{bitField=1}", builder.set(WeekDay.MONDAY).toString());
+    }
+
+    @Test
+    public void testInvalidInput() {
+        final BitFieldBuilder<WeekDay> builder = new BitFieldBuilder<>(WeekDay.class);
+
+        assertEquals("element can not be null", assertThrows(NullPointerException.class, () -> builder.set(null)).getMessage());
+        assertEquals("element can not be null", assertThrows(NullPointerException.class, () -> builder.set(null, true)).getMessage());
+        assertEquals("element can not be null", assertThrows(NullPointerException.class, () -> builder.clear(null)).getMessage());
+        assertEquals("element can not be null", assertThrows(NullPointerException.class, () -> builder.toggle(null)).getMessage());
+        assertEquals("elements can not be null", assertThrows(NullPointerException.class, () -> builder.setAll(null)).getMessage());
+        assertEquals("enumClass can not be null", assertThrows(NullPointerException.class, () -> BitField.builder(null)).getMessage());
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.florentclarret.jbitfield;
+
+import io.github.florentclarret.jbitfield.enums.WeekDay;
+import io.github.florentclarret.jbitfield.enums.WideEnum;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BitFieldCacheTest {
+
+    @Test
+    public void testDenseMode() {
+        final BitFieldCache<WeekDay> cache = new BitFieldCache<>(7, 12, 1024);
+        final BitField<WeekDay> bitField = new BitField<>(WeekDay.class, 17);
+
+        assertTrue(cache.isDense());
+        assertEquals(0, cache.getSlotCount());
+        assertNull(cache.get(17));
+        assertSame(bitField, cache.putIfAbsent(bitField));
+        assertSame(bitField, cache.putIfAbsent(new BitField<>(WeekDay.class, 17)));
+        assertSame(bitField, cache.get(17));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testSparseMode() {
+        final BitFieldCache<WeekDay> cache = new BitFieldCache<>(7, 6, 1024);
+        final BitField<WeekDay> bitField = new BitField<>(WeekDay.class, 17);
+
+        assertFalse(cache.isDense());
+        assertNull(cache.get(17));
+        assertSame(bitField, cache.putIfAbsent(bitField));
+        assertSame(bitField, cache.putIfAbsent(new BitField<>(WeekDay.class, 17)));
+        assertSame(bitField, cache.get(17));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testSparseModeReplacesCollidingValues() {
+        final BitFieldCache<WeekDay> cache = new BitFieldCache<>(7, 0, 2);
+        assertEquals(2, cache.getSlotCount());
+
+        for (long value = 0; value < 128; ++value) {
+            final BitField<WeekDay> bitField = new BitField<>(WeekDay.class, value);
+            assertSame(bitField, cache.putIfAbsent(bitField));
+            assertSame(bitField, cache.get(value));
+            assertTrue(cache.size() <= 2);
+        }
+
+        // Only the last value of each slot is still cached, a lookup never returns another value
+        int cached = 0;
+        for (long value = 0; value < 128; ++value) {
+            final BitField<WeekDay> bitField = cache.get(value);
+            if (bitField != null) {
+                assertEquals(value, bitField.getBitFieldValue());
+                ++cached;
+            }
+        }
+        assertEquals(cache.size(), cached);
+    }
+
+    @Test
+    public void testSparseModeSpreadsWideValues() {
+        final BitFieldCache<WideEnum> cache = new BitFieldCache<>(64, 12, 1024);
+        final long[] values = {0, 1L, 1L << 31, 1L << 32, 1L << 62, Long.MIN_VALUE, 0xC000000180000001L};
+
+        for (final long value : values) {
+            cache.putIfAbsent(new BitField<>(WideEnum.class, value));
+        }
+        for (final long value : values) {
+            assertNotNull(cache.get(value));
+        }
+        assertEquals(values.length, cache.size());
+    }
+
+    @Test
+    public void testSlotCount() {
+        assertEquals(1024, new BitFieldCache<WeekDay>(64).getSlotCount());
+        assertEquals(2, new BitFieldCache<WeekDay>(64, 12, 0).getSlotCount());
+        assertEquals(2048, new BitFieldCache<WeekDay>(64, 12, 1025).getSlotCount());
+    }
+
+    @Test
+    public void testWideEnumUsesSparseMode() {
+        assertFalse(new BitFieldCache<>(64).isDense());
+        assertFalse(new BitFieldCache<>(31, 40, 1024).isDense());
+    }
+}
@@ -0,0 +1,185 @@
+package io.github.florentclarret.jbitfield;
+
+import io.github.florentclarret.jbitfield.enums.DuplicatedEnum;
+import io.github.florentclarret.jbitfield.enums.NegativeEnum;
+import io.github.florentclarret.jbitfield.enums.ValidEnum;
+import io.github.florentclarret.jbitfield.enums.WeekDay;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class BitFieldCodecTest {
+
+    @Test
+    public void testOfReturnsCachedInstance() {
+        assertSame(BitFieldCodec.of(WeekDay.class), BitFieldCodec.of(WeekDay.class));
+        assertEquals(WeekDay.class, BitFieldCodec.of(WeekDay.class).getEnumClass());
+    }
+
+    @Test
+    public void testOfWithNullInput() {
+        assertEquals("enumClass can not be null", assertThrows(NullPointerException.class, () -> BitFieldCodec.of(null)).getMessage());
+    }
+
+    @Test
+    public void testOfWithInvalidEnum() {
+        assertEquals("the class [io.github.florentclarret.jbitfield.enums.NegativeEnum] is not a valid BitFieldElement", assertThrows(IllegalArgumentException.class, () -> BitFieldCodec.of(NegativeEnum.class)).getMessage());
+        assertEquals("the class [io.github.florentclarret.jbitfield.enums.DuplicatedEnum] is not a valid BitFieldElement", assertThrows(IllegalArgumentException.class, () -> BitFieldCodec.of(DuplicatedEnum.class)).getMessage());
+    }
+
+    @Test
+    public void testValidMask() {
+        assertEquals(127L, BitFieldCodec.of(WeekDay.class).getValidMask());
+        assertEquals(13L, BitFieldCodec.of(ValidEnum.class).getValidMask());
+    }
+
+    @Test
+    public void testGetMask() {
+        assertEquals(1L, BitFieldCodec.of(WeekDay.class).getMask(WeekDay.MONDAY));
+        assertEquals(64L, BitFieldCodec.of(WeekDay.class).getMask(WeekDay.SUNDAY));
+        assertEquals(8L, BitFieldCodec.of(ValidEnum.class).getMask(ValidEnum.THIRD_VALUE));
+    }
+
+    @Test
+    public void testGetElement() {
+        final BitFieldCodec<ValidEnum> codec = BitFieldCodec.of(ValidEnum.class);
+
+        assertSame(ValidEnum.FIRST_VALUE, codec.getElement(0));
+        assertNull(codec.getElement(1));
+        assertSame(ValidEnum.SECOND_VALUE, codec.getElement(2));
+        assertNull(codec.getElement(-1));
+        assertNull(codec.getElement(64));
+    }
+
+    @Test
+    public void testIsValid() {
+        final BitFieldCodec<ValidEnum> codec = BitFieldCodec.of(ValidEnum.class);
+
+        assertTrue(codec.isValid(0));
+        assertTrue(codec.isValid(13));
+        assertFalse(codec.isValid(2));
+        assertFalse(codec.isValid(Long.MIN_VALUE));
+    }
+
+    @Test
+    public void testCheckValid() {
+        final BitFieldCodec<ValidEnum> codec = BitFieldCodec.of(ValidEnum.class);
+
+        codec.checkValid(13);
+        assertEquals("Invalid value found in bit field [2] for enum [io.github.florentclarret.jbitfield.enums.ValidEnum]", assertThrows(IllegalArgumentException.class, () -> codec.checkValid(2)).getMessage());
+    }
+
+    @Test
+    public void testEncode() {
+        final BitFieldCodec<WeekDay> codec = BitFieldCodec.of(WeekDay.class);
+
+        assertEquals(0L, codec.encode(Collections.emptySet()));
+        assertEquals(17L, codec.encode(EnumSet.of(WeekDay.MONDAY, WeekDay.FRIDAY)));
+        assertEquals(127L, codec.encode(EnumSet.allOf(WeekDay.class)));
+    }
+
+    @Test
+    public void testEncodeWithNullInput() {
+        assertEquals("set can not be null", assertThrows(NullPointerException.class, () -> BitFieldCodec.of(WeekDay.class).encode((Set<WeekDay>) null)).getMessage());
+    }
+
+    @Test
+    public void testEncodeElements() {
+        final BitFieldCodec<WeekDay> codec = BitFieldCodec.of(WeekDay.class);
+
+        assertEquals(0L, codec.encode());
+        assertEquals(17L, codec.encode(WeekDay.MONDAY, WeekDay.FRIDAY));
+        assertEquals(17L, codec.encode(WeekDay.FRIDAY, WeekDay.MONDAY, WeekDay.FRIDAY));
+        assertEquals("elements can not be null", assertThrows(NullPointerException.class, () -> codec.encode((WeekDay[]) null)).getMessage());
+    }
+
+    @Test
+    public void testContains() {
+        final BitFieldCodec<WeekDay> codec = BitFieldCodec.of(WeekDay.class);
+
+        assertTrue(codec.contains(17, WeekDay.MONDAY));
+        assertTrue(codec.contains(17, WeekDay.FRIDAY));
+        assertFalse(codec.contains(17, WeekDay.TUESDAY));
+        assertFalse(codec.contains(0, WeekDay.SUNDAY));
+    }
+
+    @Test
+    public void testWithAndWithout() {
+        final BitFieldCodec<WeekDay> codec = BitFieldCodec.of(WeekDay.class);
+
+        assertEquals(17L, codec.with(1, WeekDay.FRIDAY));
+        assertEquals(17L, codec.with(17, WeekDay.FRIDAY));
+        assertEquals(1L, codec.without(17, WeekDay.FRIDAY));
+        assertEquals(1L, codec.without(1, WeekDay.FRIDAY));
+    }
+
+    @Test
+    public void testCardinality() {
+        final BitFieldCodec<WeekDay> codec = BitFieldCodec.of(WeekDay.class);
+
+        assertEquals(0, codec.cardinality(0));
+        assertEquals(2, codec.cardinality(17));
+        assertEquals(7, codec.cardinality(127));
+    }
+
+    @Test
+    public void testDecode() {
+        final BitFieldCodec<WeekDay> codec = BitFieldCodec.of(WeekDay.class);
+
+        assertEquals(EnumSet.noneOf(WeekDay.class), codec.decode(0));
+        assertEquals(EnumSet.of(WeekDay.MONDAY, WeekDay.FRIDAY), codec.decode(17));
+        assertEquals(EnumSet.allOf(WeekDay.class), codec.decode(127));
+    }
+
+    @Test
+    public void testDecodeWithInvalidValue() {
+        assertEquals("Invalid value found in bit field [2] for enum [io.github.florentclarret.jbitfield.enums.ValidEnum]", assertThrows(IllegalArgumentException.class, () -> BitFieldCodec.of(ValidEnum.class).decode(2)).getMessage());
+        assertEquals("Invalid value found in bit field [128] for enum [io.github.florentclarret.jbitfield.enums.WeekDay]", assertThrows(IllegalArgumentException.class, () -> BitFieldCodec.of(WeekDay.class).decode(128)).getMessage());
+    }
+
+    @Test
+    public void testDecodeWithMissingPositions() {
+        final BitFieldCodec<ValidEnum> codec = BitFieldCodec.of(ValidEnum.class);
+
+        assertEquals(EnumSet.of(ValidEnum.FIRST_VALUE, ValidEnum.THIRD_VALUE), codec.decode(9));
+        assertEquals(EnumSet.allOf(ValidEnum.class), codec.decode(13));
+    }
+
+    @Test
+    public void testForEachSetElement() {
+        final List<WeekDay> elements = new ArrayList<>();
+        BitFieldCodec.of(WeekDay.class).forEachSetElement(82, elements::add);
+
+        assertEquals(Arrays.asList(WeekDay.TUESDAY, WeekDay.FRIDAY, WeekDay.SUNDAY), elements);
+    }
+
+    @Test
+    public void testForEachSetElementWithEmptyBitField() {
+        BitFieldCodec.of(WeekDay.class).forEachSetElement(0, element -> fail("no element expected"));
+    }
+
+    @Test
+    public void testForEachSetElementWithInvalidInput() {
+        assertEquals("action can not be null", assertThrows(NullPointerException.class, () -> BitFieldCodec.of(WeekDay.class).forEachSetElement(0, null)).getMessage());
+        assertEquals("Invalid value found in bit field [130] for enum [io.github.florentclarret.jbitfield.enums.WeekDay]", assertThrows(IllegalArgumentException.class, () -> BitFieldCodec.of(WeekDay.class).forEachSetElement(130, element -> { })).getMessage());
+    }
+
+    @Test
+    public void testLayoutFingerprint() {
+        assertEquals(BitFieldCodec.of(WeekDay.class).getLayoutFingerprint(), BitFieldCodec.of(WeekDay.class).getLayoutFingerprint());
+        assertTrue(BitFieldCodec.of(WeekDay.class).getLayoutFingerprint() != BitFieldCodec.of(ValidEnum.class).getLayoutFingerprint());
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.florentclarret.jbitfield;
+
+import io.github.florentclarret.jbitfield.BitFieldColumns.Match;
+import io.github.florentclarret.jbitfield.enums.WeekDay;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BitFieldColumnsTest {
+
+    private static final long[] COLUMN = {0, 1, 16, 17, 127, 2, 19};
+
+    private static final BitField<WeekDay> MONDAY_FRIDAY = BitField.of(WeekDay.class, 17);
+
+    @Test
+    public void testMatch() {
+        assertTrue(Match.CONTAINS_ALL.test(19, 17));
+        assertFalse(Match.CONTAINS_ALL.test(16, 17));
+        assertTrue(Match.CONTAINS_ANY.test(16, 17));
+        assertFalse(Match.CONTAINS_ANY.test(2, 17));
+        assertTrue(Match.CONTAINS_NONE.test(2, 17));
+        assertFalse(Match.CONTAINS_NONE.test(1, 17));
+    }
+
+    @Test
+    public void testCount() {
+        assertEquals(3, BitFieldColumns.count(COLUMN, Match.CONTAINS_ALL, MONDAY_FRIDAY));
+        assertEquals(5, BitFieldColumns.count(COLUMN, Match.CONTAINS_ANY, MONDAY_FRIDAY));
+        assertEquals(2, BitFieldColumns.count(COLUMN, Match.CONTAINS_NONE, MONDAY_FRIDAY));
+        assertEquals(COLUMN.length, BitFieldColumns.count(COLUMN, Match.CONTAINS_ALL, new BitField<>(WeekDay.class)));
+        assertEquals(0, BitFieldColumns.count(COLUMN, Match.CONTAINS_ANY, new BitField<>(WeekDay.class)));
+    }
+
+    @Test
+    public void testIndices() {
+        assertArrayEquals(new int[]{3, 4, 6}, BitFieldColumns.indices(COLUMN, Match.CONTAINS_ALL, MONDAY_FRIDAY));
+        assertArrayEquals(new int[]{1, 2, 3, 4, 6}, BitFieldColumns.indices(COLUMN, Match.CONTAINS_ANY, MONDAY_FRIDAY));
+        assertArrayEquals(new int[]{0, 5}, BitFieldColumns.indices(COLUMN, Match.CONTAINS_NONE, MONDAY_FRIDAY));
+        assertArrayEquals(new int[0], BitFieldColumns.indices(new long[0], Match.CONTAINS_NONE, MONDAY_FRIDAY));
+    }
+
+    @Test
+    public void testBitmap() {
+        assertArrayEquals(new long[]{0b1011000}, BitFieldColumns.bitmap(COLUMN, Match.CONTAINS_ALL, MONDAY_FRIDAY));
+        assertArrayEquals(new long[]{0b0100001}, BitFieldColumns.bitmap(COLUMN, Match.CONTAINS_NONE, MONDAY_FRIDAY));
+    }
+
+    @Test
+    public void testLargeColumn() {
+        final long[] column = new long[1000];
+        final BitSet expected = new BitSet();
+        for (int i = 0; i < column.length; ++i) {
+            column[i] = i % 128;
+            if ((column[i] & 17) == 17) {
+                expected.set(i);
+            }
+        }
+
+        assertEquals(expected, BitSet.valueOf(BitFieldColumns.bitmap(column, Match.CONTAINS_ALL, MONDAY_FRIDAY)));
+        assertEquals(expected.cardinality(), BitFieldColumns.count(column, Match.CONTAINS_ALL, MONDAY_FRIDAY));
+        assertArrayEquals(expected.stream().toArray(), BitFieldColumns.indices(column, Match.CONTAINS_ALL, MONDAY_FRIDAY));
+
+        final LongBuffer direct = ByteBuffer.allocateDirect(column.length * Long.BYTES).asLongBuffer().put(column);
+        direct.flip();
+        assertEquals(expected, BitSet.valueOf(BitFieldColumns.bitmap(direct, Match.CONTAINS_ALL, MONDAY_FRIDAY)));
+        assertEquals(expected.cardinality(), BitFieldColumns.count(direct, Match.CONTAINS_ALL, MONDAY_FRIDAY));
+    }
+
+    @Test
+    public void testBuffer() {
+        final LongBuffer heap = LongBuffer.wrap(COLUMN);
+        heap.position(2);
+
+        assertEquals(3, BitFieldColumns.count(heap, Match.CONTAINS_ALL, MONDAY_FRIDAY));
+        assertArrayEquals(new int[]{1, 2, 4}, BitFieldColumns.indices(heap, Match.CONTAINS_ALL, MONDAY_FRIDAY));
+        assertEquals(2, heap.position());
+
+        final LongBuffer direct = ByteBuffer.allocateDirect(COLUMN.length * Long.BYTES).asLongBuffer().put(COLUMN);
+        direct.position(2);
+
+        assertEquals(3, BitFieldColumns.count(direct, Match.CONTAINS_ALL, MONDAY_FRIDAY));
+        assertEquals(1, BitFieldColumns.count(direct, Match.CONTAINS_NONE, MONDAY_FRIDAY));
+        assertArrayEquals(new int[]{1, 2, 4}, BitFieldColumns.indices(direct, Match.CONTAINS_ALL, MONDAY_FRIDAY));
+        assertArrayEquals(new int[]{0, 1, 2, 4}, BitFieldColumns.indices(direct, Match.CONTAINS_ANY, MONDAY_FRIDAY));
+    }
+
+    @Test
+    public void testWithNullInput() {
+        assertEquals("column can not be null", assertThrows(NullPointerException.class, () -> BitFieldColumns.count((long[]) null, Match.CONTAINS_ALL, MONDAY_FRIDAY)).getMessage());
+        assertEquals("match can not be null", assertThrows(NullPointerException.class, () -> BitFieldColumns.count(COLUMN, null, MONDAY_FRIDAY)).getMessage());
+        assertEquals("mask can not be null", assertThrows(NullPointerException.class, () -> BitFieldColumns.bitmap(COLUMN, Match.CONTAINS_ALL, (BitField<WeekDay>) null)).getMessage());
+    }
+}
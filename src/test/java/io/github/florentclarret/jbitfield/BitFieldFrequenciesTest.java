@@ -0,0 +1,69 @@
+package io.github.florentclarret.jbitfield;
+
+import io.github.florentclarret.jbitfield.enums.WeekDay;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BitFieldFrequenciesTest {
+
+    private static final long[] VALUES = {0, 1, 16, 17, 127, 2, 19};
+
+    private static EnumMap<WeekDay, Long> expected() {
+        final EnumMap<WeekDay, Long> expected = new EnumMap<>(WeekDay.class);
+        for (final WeekDay day : WeekDay.values()) {
+            expected.put(day, 1L);
+        }
+        expected.put(WeekDay.MONDAY, 4L);
+        expected.put(WeekDay.TUESDAY, 3L);
+        expected.put(WeekDay.FRIDAY, 4L);
+        return expected;
+    }
+
+    @Test
+    public void testCounting() {
+        assertEquals(expected(), Arrays.stream(VALUES).mapToObj(value -> BitField.of(WeekDay.class, value)).collect(BitFieldFrequencies.counting(WeekDay.class)));
+    }
+
+    @Test
+    public void testCountLongStream() {
+        assertEquals(expected(), BitFieldFrequencies.count(WeekDay.class, LongStream.of(VALUES)));
+    }
+
+    @Test
+    public void testCountArray() {
+        assertEquals(expected(), BitFieldFrequencies.count(WeekDay.class, VALUES));
+        assertEquals(expected(), BitFieldFrequencies.parallelCount(WeekDay.class, VALUES));
+    }
+
+    @Test
+    public void testCountEmpty() {
+        final EnumMap<WeekDay, Long> frequencies = BitFieldFrequencies.count(WeekDay.class, new long[0]);
+
+        assertEquals(WeekDay.values().length, frequencies.size());
+        assertEquals(0L, frequencies.get(WeekDay.SUNDAY).longValue());
+    }
+
+    @Test
+    public void testParallelMatchesSequential() {
+        final long[] values = new Random(42).longs(200_000, 0, 128).toArray();
+        final EnumMap<WeekDay, Long> expected = BitFieldFrequencies.count(WeekDay.class, values);
+
+        assertEquals(expected, BitFieldFrequencies.parallelCount(WeekDay.class, values));
+        assertEquals(expected, Arrays.stream(values).parallel().mapToObj(value -> BitField.of(WeekDay.class, value)).collect(BitFieldFrequencies.counting(WeekDay.class)));
+    }
+
+    @Test
+    public void testInvalidInput() {
+        assertEquals("Invalid value found in bit field [128] for enum [io.github.florentclarret.jbitfield.enums.WeekDay]", assertThrows(IllegalArgumentException.class, () -> BitFieldFrequencies.count(WeekDay.class, new long[]{1, 128})).getMessage());
+        assertEquals("Invalid value found in bit field [128] for enum [io.github.florentclarret.jbitfield.enums.WeekDay]", assertThrows(IllegalArgumentException.class, () -> BitFieldFrequencies.count(WeekDay.class, LongStream.of(128))).getMessage());
+        assertEquals("values can not be null", assertThrows(NullPointerException.class, () -> BitFieldFrequencies.count(WeekDay.class, (long[]) null)).getMessage());
+        assertEquals("enumClass can not be null", assertThrows(NullPointerException.class, () -> BitFieldFrequencies.counting(null)).getMessage());
+    }
+}
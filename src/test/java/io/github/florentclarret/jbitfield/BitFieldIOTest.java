@@ -0,0 +1,110 @@
+package io.github.florentclarret.jbitfield;
+
+import io.github.florentclarret.jbitfield.enums.WeekDay;
+import io.github.florentclarret.jbitfield.enums.WideEnum;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BitFieldIOTest {
+
+    private static DataInputStream input(final byte... bytes) {
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        BitFieldIO.write(out, BitField.of(WeekDay.class, 127));
+        BitFieldIO.write(out, BitField.of(WideEnum.class, Long.MIN_VALUE));
+
+        assertEquals(9, bytes.size());
+
+        final DataInputStream in = input(bytes.toByteArray());
+        assertSame(BitField.of(WeekDay.class, 127), BitFieldIO.read(in, WeekDay.class));
+        assertEquals(BitField.of(WideEnum.class, Long.MIN_VALUE), BitFieldIO.read(in, WideEnum.class));
+    }
+
+    @Test
+    public void testReadWithInvalidValue() {
+        assertEquals("Invalid value found in bit field [128] for enum [io.github.florentclarret.jbitfield.enums.WeekDay]", assertThrows(IllegalArgumentException.class, () -> BitFieldIO.read(input((byte) 0x80), WeekDay.class)).getMessage());
+        assertThrows(EOFException.class, () -> BitFieldIO.read(input(), WeekDay.class));
+    }
+
+    @Test
+    public void testWriteVarAndReadVar() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        BitFieldIO.writeVar(out, BitField.of(WeekDay.class, 17));
+        BitFieldIO.writeVar(out, BitField.of(WeekDay.class, 127));
+        BitFieldIO.writeVar(out, BitField.of(WideEnum.class, 1L << 31));
+
+        assertEquals(7, bytes.size());
+
+        final DataInputStream in = input(bytes.toByteArray());
+        assertSame(BitField.of(WeekDay.class, 17), BitFieldIO.readVar(in, WeekDay.class));
+        assertSame(BitField.of(WeekDay.class, 127), BitFieldIO.readVar(in, WeekDay.class));
+        assertEquals(BitField.of(WideEnum.class, 1L << 31), BitFieldIO.readVar(in, WideEnum.class));
+    }
+
+    @Test
+    public void testVarLong() throws IOException {
+        final long[] values = {0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, -1};
+
+        for (final long value : values) {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            BitFieldIO.writeVarLong(new DataOutputStream(bytes), value);
+
+            assertEquals(BitFieldIO.varLongSize(value), bytes.size());
+            assertEquals(value, BitFieldIO.readVarLong(input(bytes.toByteArray())));
+        }
+
+        assertEquals(1, BitFieldIO.varLongSize(0));
+        assertEquals(2, BitFieldIO.varLongSize(128));
+        assertEquals(10, BitFieldIO.varLongSize(-1));
+    }
+
+    @Test
+    public void testMalformedVarLong() {
+        final byte[] bytes = new byte[11];
+        Arrays.fill(bytes, (byte) 0x80);
+
+        assertEquals("Malformed variable length long, more than 10 bytes", assertThrows(IOException.class, () -> BitFieldIO.readVarLong(input(bytes))).getMessage());
+    }
+
+    @Test
+    public void testZigZag() throws IOException {
+        assertEquals(0, BitFieldIO.zigZagEncode(0));
+        assertEquals(1, BitFieldIO.zigZagEncode(-1));
+        assertEquals(2, BitFieldIO.zigZagEncode(1));
+        assertEquals(3, BitFieldIO.zigZagEncode(-2));
+        assertEquals(-1, BitFieldIO.zigZagEncode(Long.MIN_VALUE));
+
+        for (final long value : new long[]{0, -1, 1, -64, 64, Long.MIN_VALUE, Long.MAX_VALUE}) {
+            assertEquals(value, BitFieldIO.zigZagDecode(BitFieldIO.zigZagEncode(value)));
+
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            BitFieldIO.writeZigZagLong(new DataOutputStream(bytes), value);
+            assertEquals(value, BitFieldIO.readZigZagLong(input(bytes.toByteArray())));
+        }
+    }
+
+    @Test
+    public void testInvalidInput() {
+        assertEquals("bitField can not be null", assertThrows(NullPointerException.class, () -> BitFieldIO.write(new DataOutputStream(new ByteArrayOutputStream()), (BitField<WeekDay>) null)).getMessage());
+        assertEquals("out can not be null", assertThrows(NullPointerException.class, () -> BitFieldIO.writeVarLong(null, 0)).getMessage());
+        assertEquals("in can not be null", assertThrows(NullPointerException.class, () -> BitFieldIO.readVarLong(null)).getMessage());
+        assertEquals("enumClass can not be null", assertThrows(NullPointerException.class, () -> BitFieldIO.read(input(), null)).getMessage());
+    }
+}
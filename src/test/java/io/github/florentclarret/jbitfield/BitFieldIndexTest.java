@@ -0,0 +1,95 @@
+package io.github.florentclarret.jbitfield;
+
+import io.github.florentclarret.jbitfield.BitFieldColumns.Match;
+import io.github.florentclarret.jbitfield.enums.WeekDay;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BitFieldIndexTest {
+
+    private static final long[] VALUES = {0, 1, 16, 17, 127, 2, 19};
+
+    private static BitFieldIndex<WeekDay> index() {
+        final BitFieldIndex<WeekDay> index = new BitFieldIndex<>(WeekDay.class);
+        for (final long value : VALUES) {
+            index.append(BitField.of(WeekDay.class, value));
+        }
+        return index;
+    }
+
+    @Test
+    public void testAppend() {
+        final BitFieldIndex<WeekDay> index = index();
+
+        assertEquals(VALUES.length, index.getRowCount());
+        assertArrayEquals(new int[]{1, 3, 4, 6}, index.getRows(WeekDay.MONDAY).toArray());
+        assertEquals(7, index.append(BitField.of(WeekDay.class, 1)));
+        assertEquals(11, index.append(10, BitField.of(WeekDay.class, 1)).append(BitField.of(WeekDay.class, 1)));
+        assertArrayEquals(new int[]{1, 3, 4, 6, 7, 10, 11}, index.getRows(WeekDay.MONDAY).toArray());
+    }
+
+    @Test
+    public void testAppendAll() {
+        final BitFieldIndex<WeekDay> index = new BitFieldIndex<>(WeekDay.class).appendAll(Stream.of(BitField.of(WeekDay.class, 1), BitField.of(WeekDay.class, 2)));
+
+        assertArrayEquals(new int[]{0, 1}, index.getRows().toArray());
+        assertArrayEquals(new int[]{1}, index.getRows(WeekDay.TUESDAY).toArray());
+    }
+
+    @Test
+    public void testQuery() {
+        final BitFieldIndex<WeekDay> index = index();
+        final BitField<WeekDay> mask = BitField.of(WeekDay.class, 17);
+
+        assertArrayEquals(new int[]{3, 4, 6}, index.query(Match.CONTAINS_ALL, mask).toArray());
+        assertArrayEquals(new int[]{1, 2, 3, 4, 6}, index.query(Match.CONTAINS_ANY, mask).toArray());
+        assertArrayEquals(new int[]{0, 5}, index.query(Match.CONTAINS_NONE, mask).toArray());
+        assertArrayEquals(new int[]{0, 1, 2, 5}, index.not(index.query(Match.CONTAINS_ALL, mask)).toArray());
+    }
+
+    @Test
+    public void testQueryWithEmptyMask() {
+        final BitFieldIndex<WeekDay> index = index();
+        final BitField<WeekDay> mask = BitField.of(WeekDay.class, 0);
+
+        assertEquals(VALUES.length, index.query(Match.CONTAINS_ALL, mask).cardinality());
+        assertEquals(0, index.query(Match.CONTAINS_ANY, mask).cardinality());
+        assertEquals(VALUES.length, index.query(Match.CONTAINS_NONE, mask).cardinality());
+    }
+
+    @Test
+    public void testQueryAgainstColumns() {
+        final Random random = new Random(42);
+        final long[] column = new long[100_000];
+        final BitFieldIndex<WeekDay> index = new BitFieldIndex<>(WeekDay.class);
+        for (int i = 0; i < column.length; ++i) {
+            column[i] = random.nextInt(128);
+            index.append(i, BitField.of(WeekDay.class, column[i]));
+        }
+
+        for (final Match match : Match.values()) {
+            for (final long mask : new long[]{0, 1, 3, 64, 127}) {
+                final BitField<WeekDay> bitField = BitField.of(WeekDay.class, mask);
+                assertArrayEquals(BitFieldColumns.indices(column, match, bitField), index.query(match, bitField).toArray());
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidInput() {
+        final BitFieldIndex<WeekDay> index = index();
+
+        assertEquals("bitField can not be null", assertThrows(NullPointerException.class, () -> index.append(null)).getMessage());
+        assertEquals("element can not be null", assertThrows(NullPointerException.class, () -> index.getRows(null)).getMessage());
+        assertEquals("match can not be null", assertThrows(NullPointerException.class, () -> index.query(null, BitField.of(WeekDay.class, 0))).getMessage());
+        assertEquals("mask can not be null", assertThrows(NullPointerException.class, () -> index.query(Match.CONTAINS_ALL, null)).getMessage());
+        assertEquals("the row id [-1] can not be negative", assertThrows(IllegalArgumentException.class, () -> index.append(-1, BitField.of(WeekDay.class, 0))).getMessage());
+        assertEquals("enumClass can not be null", assertThrows(NullPointerException.class, () -> new BitFieldIndex<WeekDay>(null)).getMessage());
+    }
+}
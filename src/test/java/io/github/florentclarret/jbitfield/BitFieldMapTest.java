@@ -0,0 +1,159 @@
+package io.github.florentclarret.jbitfield;
+
+import io.github.florentclarret.jbitfield.enums.WeekDay;
+import io.github.florentclarret.jbitfield.enums.WideEnum;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BitFieldMapTest {
+
+    private static final long[] WIDE_MASKS = {1L, 1L << 31, 1L << 32, 1L << 62, 1L << 63};
+
+    private static long randomWideKey(final Random random) {
+        long key = 0;
+        for (final long mask : WIDE_MASKS) {
+            key |= random.nextBoolean() ? mask : 0;
+        }
+        return key;
+    }
+
+    private static long wideKey(final int index) {
+        long key = 0;
+        for (int i = 0; i < WIDE_MASKS.length; ++i) {
+            key |= ((index >>> i) & 1) != 0 ? WIDE_MASKS[i] : 0;
+        }
+        return key;
+    }
+
+    @Test
+    public void testDirectLayout() {
+        final BitFieldMap<WeekDay, String> map = new BitFieldMap<>(WeekDay.class);
+
+        assertTrue(map.isDirect());
+        assertNull(map.put(17, "a"));
+        assertEquals("a", map.put(BitField.of(WeekDay.class, 17), "b"));
+        assertEquals("b", map.get(17));
+        assertEquals("b", map.get(BitField.of(WeekDay.class, 17)));
+        assertNull(map.get(3));
+        assertNull(map.get(128));
+        assertNull(map.get(-1));
+        assertTrue(map.containsKey(17));
+        assertEquals(1, map.size());
+
+        assertNull(map.remove(-1));
+        assertEquals("b", map.remove(17));
+        assertNull(map.remove(17));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testHashLayout() {
+        final BitFieldMap<WideEnum, String> map = new BitFieldMap<>(WideEnum.class);
+
+        assertFalse(map.isDirect());
+        assertNull(map.put(Long.MIN_VALUE, "a"));
+        assertNull(map.put(0, "zero"));
+        assertEquals("a", map.put(Long.MIN_VALUE, "b"));
+        assertEquals("b", map.get(Long.MIN_VALUE));
+        assertEquals("zero", map.get(0));
+        assertNull(map.get(2));
+        assertEquals(2, map.size());
+        assertEquals("b", map.remove(Long.MIN_VALUE));
+        assertNull(map.get(Long.MIN_VALUE));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testHashLayoutAgainstHashMap() {
+        final Random random = new Random(42);
+        final BitFieldMap<WideEnum, Integer> map = new BitFieldMap<>(WideEnum.class, 2);
+        final Map<Long, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 20_000; ++i) {
+            final long key = randomWideKey(random);
+            switch (random.nextInt(3)) {
+                case 0:
+                    assertEquals(expected.put(key, i), map.put(key, i));
+                    break;
+                case 1:
+                    assertEquals(expected.remove(key), map.remove(key));
+                    break;
+                default:
+                    assertEquals(expected.get(key), map.get(key));
+                    break;
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        final Map<Long, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testComputeIfAbsent() {
+        final BitFieldMap<WeekDay, String> map = new BitFieldMap<>(WeekDay.class);
+
+        assertEquals("17", map.computeIfAbsent(17, Long::toString));
+        assertEquals("17", map.computeIfAbsent(17, key -> "other"));
+        assertEquals("the result of the function can not be null", assertThrows(NullPointerException.class, () -> map.computeIfAbsent(1, key -> null)).getMessage());
+    }
+
+    @Test
+    public void testClearAndForEach() {
+        final BitFieldMap<WeekDay, String> map = new BitFieldMap<>(WeekDay.class);
+        map.put(1, "a");
+        map.put(2, "b");
+
+        final Map<Long, String> entries = new HashMap<>();
+        map.forEach(entries::put);
+        assertEquals(2, entries.size());
+        assertEquals("b", entries.get(2L));
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1));
+    }
+
+    @Test
+    public void testCapacity() {
+        assertEquals(16, new BitFieldMap<>(WideEnum.class, 0).getCapacity());
+        assertEquals(2048, new BitFieldMap<>(WideEnum.class, 1000).getCapacity());
+        assertEquals(16, new BitFieldMap<>(WideEnum.class, 8, 16).getCapacity());
+    }
+
+    @Test
+    public void testMaxCapacity() {
+        final BitFieldMap<WideEnum, String> map = new BitFieldMap<>(WideEnum.class, 0, 16);
+        for (int i = 0; i < 8; ++i) {
+            map.put(wideKey(i), "a");
+        }
+
+        assertEquals("the map can not hold more than [8] entries", assertThrows(IllegalStateException.class, () -> map.put(wideKey(8), "b")).getMessage());
+        assertEquals(8, map.size());
+        assertNull(map.get(wideKey(8)));
+        assertEquals("a", map.put(wideKey(7), "c"));
+        assertEquals("c", map.get(wideKey(7)));
+    }
+
+    @Test
+    public void testInvalidInput() {
+        final BitFieldMap<WeekDay, String> map = new BitFieldMap<>(WeekDay.class);
+
+        assertEquals("Invalid value found in bit field [128] for enum [io.github.florentclarret.jbitfield.enums.WeekDay]", assertThrows(IllegalArgumentException.class, () -> map.put(128, "a")).getMessage());
+        assertEquals("value can not be null", assertThrows(NullPointerException.class, () -> map.put(1, null)).getMessage());
+        assertEquals("bitField can not be null", assertThrows(NullPointerException.class, () -> map.get(null)).getMessage());
+        assertEquals("expectedSize can not be negative [-1]", assertThrows(IllegalArgumentException.class, () -> new BitFieldMap<>(WeekDay.class, -1)).getMessage());
+        assertEquals("expectedSize can not be greater than [536870912], current value = [536870913]", assertThrows(IllegalArgumentException.class, () -> new BitFieldMap<>(WideEnum.class, (1 << 29) + 1)).getMessage());
+        assertThrows(IllegalArgumentException.class, () -> new BitFieldMap<>(WeekDay.class, Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,204 @@
+package io.github.florentclarret.jbitfield;
+
+import io.github.florentclarret.jbitfield.enums.WeekDay;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BitFieldMetricsTest {
+
+    private final List<String> events = new ArrayList<>();
+
+    private final BitFieldListener listener = new BitFieldListener() {
+        @Override
+        public void onEncode(final Class<?> enumClass, final long bitField) {
+            events.add("encode " + bitField);
+        }
+
+        @Override
+        public void onValidationFailure(final Class<?> enumClass, final long bitField) {
+            events.add("failure " + bitField);
+        }
+    };
+
+    @BeforeEach
+    public void setUp() {
+        BitFieldMetrics.getCounters(WeekDay.class).reset();
+        BitFieldMetrics.addListener(listener);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        BitFieldMetrics.disable();
+        BitFieldMetrics.removeListener(listener);
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        assertFalse(BitFieldMetrics.isEnabled());
+
+        BitFieldCodec.of(WeekDay.class).encode(WeekDay.MONDAY);
+        BitFieldCodec.of(WeekDay.class).decode(1);
+
+        assertEquals(0, BitFieldMetrics.getCounters(WeekDay.class).getEncodes());
+        assertEquals(0, BitFieldMetrics.getCounters(WeekDay.class).getDecodes());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void testCounters() {
+        BitFieldMetrics.enable();
+        final BitFieldCodec<WeekDay> codec = BitFieldCodec.of(WeekDay.class);
+
+        codec.encode(EnumSet.of(WeekDay.MONDAY));
+        codec.encode(WeekDay.TUESDAY);
+        codec.decode(3);
+        codec.forEachSetElement(3, day -> { });
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(128));
+
+        final BitFieldCounters counters = BitFieldMetrics.getCounters(WeekDay.class);
+        assertEquals(2, counters.getEncodes());
+        assertEquals(2, counters.getDecodes());
+        assertEquals(1, counters.getValidationFailures());
+        assertEquals("[encode 1, encode 2, failure 128]", events.toString());
+    }
+
+    @Test
+    public void testCountersOfBitField() {
+        BitFieldMetrics.enable();
+        final BitFieldCounters counters = BitFieldMetrics.getCounters(WeekDay.class);
+
+        final BitField<WeekDay> bitField = BitField.of(WeekDay.class, 3);
+        new BitField<>(WeekDay.class, 3);
+        assertEquals(0, counters.getEncodes());
+        assertEquals(0, counters.getDecodes());
+
+        bitField.add(WeekDay.SUNDAY).remove(WeekDay.MONDAY);
+        new BitField<>(WeekDay.class, EnumSet.of(WeekDay.MONDAY));
+        BitField.builder(WeekDay.class).set(WeekDay.MONDAY).toggle(WeekDay.FRIDAY).build();
+        assertEquals(5, counters.getEncodes());
+
+        bitField.iterator().forEachRemaining(day -> { });
+        bitField.getSet().forEach(day -> { });
+        bitField.forEach(day -> { });
+        assertEquals(2, bitField.stream().count());
+        assertEquals(2, bitField.stream().parallel().count());
+        assertEquals(5, counters.getDecodes());
+    }
+
+    @Test
+    public void testCacheCounters() {
+        BitFieldMetrics.enable();
+        final BitFieldCounters counters = BitFieldMetrics.getCounters(WeekDay.class);
+
+        BitField.of(WeekDay.class, 42);
+        BitField.of(WeekDay.class, 42);
+
+        assertEquals(2, counters.getCacheHits() + counters.getCacheMisses());
+        assertTrue(counters.getCacheHits() >= 1);
+    }
+
+    @Test
+    public void testMBean() throws Exception {
+        BitFieldMetrics.enable();
+        BitFieldCodec.of(WeekDay.class).encode(WeekDay.MONDAY);
+
+        final Object encodes = ManagementFactory.getPlatformMBeanServer().getAttribute(BitFieldMetrics.objectName(WeekDay.class.getName()), "Encodes");
+        assertEquals(1L, encodes);
+        assertSame(BitFieldMetrics.getCounters(WeekDay.class), BitFieldMetrics.getCounters(WeekDay.class));
+    }
+
+    @Test
+    public void testMBeanOfConcurrentFirstUse() throws Exception {
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<BitFieldCounters>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; ++i) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    BitFieldMetrics.recordEncode(RaceEnum.class, 1);
+                    return BitFieldMetrics.getCounters(RaceEnum.class);
+                }));
+            }
+            start.countDown();
+
+            for (final Future<BitFieldCounters> future : futures) {
+                assertSame(BitFieldMetrics.getCounters(RaceEnum.class), future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        final Object encodes = ManagementFactory.getPlatformMBeanServer().getAttribute(BitFieldMetrics.objectName(RaceEnum.class.getName()), "Encodes");
+        assertEquals((long) threads, encodes);
+        assertEquals(threads, BitFieldMetrics.getCounters(RaceEnum.class).getEncodes());
+    }
+
+    @Test
+    public void testServiceListenersLoadedOnEnable() {
+        BitFieldMetrics.enable();
+        BitFieldMetrics.enable();
+        assertTrue(BitFieldMetrics.isServiceListenersLoaded());
+        assertEquals(1, ServiceListener.INSTANCES.get());
+
+        final long before = ServiceListener.ENCODES.get();
+        BitFieldCodec.of(WeekDay.class).encode(WeekDay.MONDAY);
+        assertEquals(before + 1, ServiceListener.ENCODES.get());
+    }
+
+    @Test
+    public void testInvalidInput() {
+        assertEquals("enumClass can not be null", assertThrows(NullPointerException.class, () -> BitFieldMetrics.getCounters(null)).getMessage());
+        assertEquals("listener can not be null", assertThrows(NullPointerException.class, () -> BitFieldMetrics.addListener(null)).getMessage());
+    }
+
+    /**
+     * Enum whose counters are only used by the concurrent first use test.
+     */
+    private enum RaceEnum implements BitFieldElement {
+        FIRST_VALUE;
+
+        @Override
+        public int getBitFieldPosition() {
+            return 0;
+        }
+    }
+
+    /**
+     * Listener registered in the META-INF/services of the tests.
+     */
+    public static final class ServiceListener implements BitFieldListener {
+
+        static final AtomicInteger INSTANCES = new AtomicInteger();
+
+        static final AtomicLong ENCODES = new AtomicLong();
+
+        public ServiceListener() {
+            INSTANCES.incrementAndGet();
+        }
+
+        @Override
+        public void onEncode(final Class<?> enumClass, final long bitField) {
+            ENCODES.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.florentclarret.jbitfield;
+
+import io.github.florentclarret.jbitfield.BitFieldColumns.Match;
+import io.github.florentclarret.jbitfield.enums.ValidEnum;
+import io.github.florentclarret.jbitfield.enums.WeekDay;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BitFieldReaderTest {
+
+    private static final long[] VALUES = {0, 1, 16, 17, 127, 2, 19};
+
+    private static ByteBuffer column(final ByteOrder order) {
+        final ByteBuffer buffer = ByteBuffer.allocate(256);
+        new BitFieldWriter<>(WeekDay.class, buffer, order).writeAll(VALUES);
+        buffer.flip();
+        return buffer;
+    }
+
+    @Test
+    public void testRead() {
+        for (final ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            final BitFieldReader<WeekDay> reader = new BitFieldReader<>(WeekDay.class, column(order));
+
+            assertEquals(VALUES.length, reader.size());
+            assertEquals(17, reader.getValue(3));
+            assertSame(BitField.of(WeekDay.class, 127), reader.get(4));
+            assertEquals(-1, reader.validate());
+        }
+    }
+
+    @Test
+    public void testReadDoesNotMoveBuffer() {
+        final ByteBuffer buffer = column(ByteOrder.BIG_ENDIAN);
+        new BitFieldReader<>(WeekDay.class, buffer);
+
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void testQueries() {
+        final BitFieldReader<WeekDay> reader = new BitFieldReader<>(WeekDay.class, column(ByteOrder.LITTLE_ENDIAN));
+
+        assertEquals(3, reader.count(Match.CONTAINS_ALL, BitField.of(WeekDay.class, 17)));
+        assertArrayEquals(new int[]{0, 5}, reader.indices(Match.CONTAINS_NONE, BitField.of(WeekDay.class, 17)));
+    }
+
+    @Test
+    public void testValidate() {
+        final ByteBuffer buffer = column(ByteOrder.BIG_ENDIAN);
+        final int headerSize = BitFieldHeader.size(BitFieldCodec.of(WeekDay.class));
+        buffer.putLong(headerSize + 2 * Long.BYTES, 128);
+
+        final BitFieldReader<WeekDay> reader = new BitFieldReader<>(WeekDay.class, buffer);
+
+        assertEquals(2, reader.validate());
+        assertThrows(IllegalArgumentException.class, () -> reader.get(2));
+    }
+
+    @Test
+    public void testInvalidHeader() {
+        assertEquals("Invalid bit field column header : not a bit field column", assertThrows(IllegalArgumentException.class, () -> new BitFieldReader<>(WeekDay.class, ByteBuffer.allocate(64))).getMessage());
+        assertEquals("Invalid bit field column header : not a bit field column", assertThrows(IllegalArgumentException.class, () -> new BitFieldReader<>(WeekDay.class, ByteBuffer.allocate(4))).getMessage());
+        assertEquals("Invalid bit field column header : the column stores [io.github.florentclarret.jbitfield.enums.WeekDay] instead of [io.github.florentclarret.jbitfield.enums.ValidEnum]", assertThrows(IllegalArgumentException.class, () -> new BitFieldReader<>(ValidEnum.class, column(ByteOrder.BIG_ENDIAN))).getMessage());
+
+        final ByteBuffer buffer = column(ByteOrder.BIG_ENDIAN);
+        buffer.putLong(8, 42);
+        assertEquals("Invalid bit field column header : the layout of [io.github.florentclarret.jbitfield.enums.WeekDay] changed since the column was written", assertThrows(IllegalArgumentException.class, () -> new BitFieldReader<>(WeekDay.class, buffer)).getMessage());
+    }
+
+    @Test
+    public void testReadIgnoresTrailingSpace() {
+        final ByteBuffer buffer = ByteBuffer.allocate(256);
+        new BitFieldWriter<>(WeekDay.class, buffer).writeAll(VALUES);
+        buffer.clear();
+
+        final BitFieldReader<WeekDay> reader = new BitFieldReader<>(WeekDay.class, buffer);
+
+        assertEquals(VALUES.length, reader.size());
+        assertEquals(VALUES.length, reader.getValues().remaining());
+        assertEquals(7, reader.count(Match.CONTAINS_ALL, BitField.of(WeekDay.class, 0)));
+        assertThrows(IndexOutOfBoundsException.class, () -> reader.getValue(VALUES.length));
+    }
+
+    @Test
+    public void testTruncatedColumn() {
+        final ByteBuffer buffer = column(ByteOrder.BIG_ENDIAN);
+        buffer.limit(buffer.limit() - 1);
+
+        assertEquals("Invalid bit field column header : truncated column, [7] values expected but only [6] found", assertThrows(IllegalArgumentException.class, () -> new BitFieldReader<>(WeekDay.class, buffer)).getMessage());
+
+        buffer.putLong(BitFieldHeader.COUNT_OFFSET, -1);
+        assertThrows(IllegalArgumentException.class, () -> new BitFieldReader<>(WeekDay.class, buffer));
+    }
+
+    @Test
+    public void testMappedFile(@TempDir final Path directory) throws IOException {
+        final Path file = directory.resolve("column.bin");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            BitFieldWriter.map(WeekDay.class, channel, VALUES.length).writeAll(VALUES);
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final BitFieldReader<WeekDay> reader = BitFieldReader.map(WeekDay.class, channel);
+
+            assertEquals(VALUES.length, reader.size());
+            assertEquals(19, reader.getValue(6));
+            assertEquals(3, reader.count(Match.CONTAINS_ALL, BitField.of(WeekDay.class, 17)));
+        }
+    }
+}
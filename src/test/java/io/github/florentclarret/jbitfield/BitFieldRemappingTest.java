@@ -0,0 +1,106 @@
+package io.github.florentclarret.jbitfield;
+
+import io.github.florentclarret.jbitfield.BitFieldRemapping.Mode;
+import io.github.florentclarret.jbitfield.enums.OldWeekDay;
+import io.github.florentclarret.jbitfield.enums.WeekDay;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BitFieldRemappingTest {
+
+    private static final String UNKNOWN_BITS = "Unknown bits [%d] found in bit field [%d] remapped to enum [io.github.florentclarret.jbitfield.enums.WeekDay]";
+
+    private static Map<Integer, WeekDay> mapping() {
+        final Map<Integer, WeekDay> mapping = new HashMap<>();
+        mapping.put(0, WeekDay.SUNDAY);
+        mapping.put(1, WeekDay.MONDAY);
+        mapping.put(3, null);
+        mapping.put(9, WeekDay.SATURDAY);
+        return mapping;
+    }
+
+    @Test
+    public void testRemapFromMapping() {
+        final BitFieldRemapping<WeekDay> remapping = BitFieldRemapping.of(WeekDay.class, mapping(), Mode.STRICT);
+
+        assertEquals(0, remapping.remap(0));
+        assertEquals(WeekDay.SUNDAY.getBitFieldPosition(), Long.numberOfTrailingZeros(remapping.remap(1)));
+        assertEquals(BitFieldCodec.of(WeekDay.class).encode(WeekDay.SUNDAY, WeekDay.MONDAY, WeekDay.SATURDAY), remapping.remap(0b10_0000_1011));
+        assertSame(BitField.of(WeekDay.class, EnumSet.of(WeekDay.MONDAY)), remapping.toBitField(0b1010));
+    }
+
+    @Test
+    public void testStrictAndLenientModes() {
+        final BitFieldRemapping<WeekDay> strict = BitFieldRemapping.of(WeekDay.class, mapping(), Mode.STRICT);
+        final BitFieldRemapping<WeekDay> lenient = BitFieldRemapping.of(WeekDay.class, mapping(), Mode.LENIENT);
+
+        assertEquals(String.format(UNKNOWN_BITS, 4, 5), assertThrows(IllegalArgumentException.class, () -> strict.remap(5)).getMessage());
+        assertEquals(String.format(UNKNOWN_BITS, Long.MIN_VALUE, Long.MIN_VALUE), assertThrows(IllegalArgumentException.class, () -> strict.remap(Long.MIN_VALUE)).getMessage());
+        assertEquals(BitFieldCodec.of(WeekDay.class).encode(WeekDay.SUNDAY), lenient.remap(5));
+        assertEquals(0, lenient.remap(Long.MIN_VALUE));
+        assertEquals(4, lenient.getUnknownBits(5 | 8));
+        assertEquals(Mode.LENIENT, lenient.getMode());
+    }
+
+    @Test
+    public void testRemapFromPreviousEnum() {
+        final BitFieldRemapping<WeekDay> remapping = BitFieldRemapping.of(OldWeekDay.class, WeekDay.class, Mode.STRICT);
+        final BitFieldCodec<OldWeekDay> previous = BitFieldCodec.of(OldWeekDay.class);
+
+        for (final OldWeekDay day : OldWeekDay.values()) {
+            final long expected = day == OldWeekDay.HOLIDAY ? 0 : BitFieldCodec.of(WeekDay.class).getMask(WeekDay.valueOf(day.name()));
+            assertEquals(expected, remapping.remap(previous.getMask(day)));
+        }
+        assertEquals(BitFieldCodec.of(WeekDay.class).getValidMask(), remapping.remap(previous.getValidMask()));
+        assertThrows(IllegalArgumentException.class, () -> remapping.remap(1L << 7));
+    }
+
+    @Test
+    public void testRemapMatchesElementWiseRemap() {
+        final BitFieldRemapping<WeekDay> remapping = BitFieldRemapping.of(OldWeekDay.class, WeekDay.class, Mode.STRICT);
+        final BitFieldCodec<OldWeekDay> previous = BitFieldCodec.of(OldWeekDay.class);
+        final Random random = new Random(42);
+
+        for (int i = 0; i < 1000; ++i) {
+            final long value = random.nextLong() & previous.getValidMask();
+            final EnumSet<WeekDay> expected = EnumSet.noneOf(WeekDay.class);
+            previous.forEachSetElement(value, day -> {
+                if (day != OldWeekDay.HOLIDAY) {
+                    expected.add(WeekDay.valueOf(day.name()));
+                }
+            });
+            assertEquals(expected, remapping.toBitField(value).getSet());
+        }
+    }
+
+    @Test
+    public void testRemapAll() {
+        final BitFieldRemapping<WeekDay> remapping = BitFieldRemapping.of(WeekDay.class, mapping(), Mode.STRICT);
+        final long[] values = {0, 1, 2, 8, 512};
+
+        remapping.remapAll(values, values);
+        assertArrayEquals(new long[]{0, 64, 1, 0, 32}, values);
+
+        assertEquals("out is too small, expected at least [5] elements but was [1]", assertThrows(IllegalArgumentException.class, () -> remapping.remapAll(values, new long[1])).getMessage());
+        assertEquals("values can not be null", assertThrows(NullPointerException.class, () -> remapping.remapAll(null, values)).getMessage());
+    }
+
+    @Test
+    public void testInvalidMapping() {
+        final Map<Integer, WeekDay> mapping = new HashMap<>();
+        mapping.put(64, WeekDay.MONDAY);
+
+        assertEquals("the previous position [64] must be between 0 and 63", assertThrows(IllegalArgumentException.class, () -> BitFieldRemapping.of(WeekDay.class, mapping, Mode.STRICT)).getMessage());
+        assertEquals("mode can not be null", assertThrows(NullPointerException.class, () -> BitFieldRemapping.of(WeekDay.class, mapping(), null)).getMessage());
+        assertEquals("mapping can not be null", assertThrows(NullPointerException.class, () -> BitFieldRemapping.of(WeekDay.class, (Map<Integer, WeekDay>) null, Mode.STRICT)).getMessage());
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.florentclarret.jbitfield;
+
+import io.github.florentclarret.jbitfield.enums.WeekDay;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BitFieldSpliteratorTest {
+
+    private static BitFieldSpliterator<WeekDay> spliterator(final long bitField) {
+        return new BitFieldSpliterator<>(BitFieldCodec.of(WeekDay.class), bitField);
+    }
+
+    @Test
+    public void testTryAdvance() {
+        final Spliterator<WeekDay> spliterator = spliterator(82);
+        final List<WeekDay> elements = new ArrayList<>();
+
+        assertEquals(3, spliterator.estimateSize());
+        assertTrue(spliterator.tryAdvance(elements::add));
+        assertEquals(2, spliterator.estimateSize());
+        spliterator.forEachRemaining(elements::add);
+
+        assertEquals(Arrays.asList(WeekDay.TUESDAY, WeekDay.FRIDAY, WeekDay.SUNDAY), elements);
+        assertEquals(0, spliterator.estimateSize());
+        assertFalse(spliterator.tryAdvance(elements::add));
+    }
+
+    @Test
+    public void testTrySplit() {
+        final Spliterator<WeekDay> spliterator = spliterator(127);
+        final Spliterator<WeekDay> prefix = spliterator.trySplit();
+        final List<WeekDay> elements = new ArrayList<>();
+
+        assertEquals(3, prefix.estimateSize());
+        assertEquals(4, spliterator.estimateSize());
+        prefix.forEachRemaining(elements::add);
+        spliterator.forEachRemaining(elements::add);
+
+        assertEquals(Arrays.asList(WeekDay.values()), elements);
+    }
+
+    @Test
+    public void testTrySplitWithSingleElement() {
+        assertNull(spliterator(0).trySplit());
+        assertNull(spliterator(64).trySplit());
+    }
+
+    @Test
+    public void testCharacteristics() {
+        final Spliterator<WeekDay> spliterator = spliterator(3);
+
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+        assertTrue(spliterator.hasCharacteristics(Spliterator.DISTINCT));
+        assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED));
+        assertFalse(spliterator.hasCharacteristics(Spliterator.SORTED));
+    }
+}
@@ -1,8 +1,11 @@
 package io.github.florentclarret.jbitfield;
 
 import io.github.florentclarret.jbitfield.enums.DuplicatedEnum;
+import io.github.florentclarret.jbitfield.enums.LargeEnum;
 import io.github.florentclarret.jbitfield.enums.NegativeEnum;
+import io.github.florentclarret.jbitfield.enums.ShuffledEnum;
 import io.github.florentclarret.jbitfield.enums.WeekDay;
+import io.github.florentclarret.jbitfield.enums.WideEnum;
 import org.junit.Assert;
 import org.junit.jupiter.api.DynamicTest;
 import org.junit.jupiter.api.Test;
@@ -17,11 +20,15 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -124,6 +131,96 @@ public class BitFieldTest {
         assertEquals("the class [io.github.florentclarret.jbitfield.enums.NegativeEnum] is not a valid BitFieldElement", assertThrows(IllegalArgumentException.class, () -> new BitField<>(NegativeEnum.class, 0)).getMessage());
     }
 
+    @Test
+    public void testHighPositions() {
+        assertEquals(1L << 31, new BitField<>(WideEnum.class, EnumSet.of(WideEnum.SECOND_VALUE)).getBitFieldValue());
+        assertEquals(1L << 32, new BitField<>(WideEnum.class, EnumSet.of(WideEnum.THIRD_VALUE)).getBitFieldValue());
+        assertEquals(Long.MIN_VALUE, new BitField<>(WideEnum.class, EnumSet.of(WideEnum.FIFTH_VALUE)).getBitFieldValue());
+        assertEquals(EnumSet.of(WideEnum.FIRST_VALUE, WideEnum.FOURTH_VALUE, WideEnum.FIFTH_VALUE), new BitField<>(WideEnum.class, Long.MIN_VALUE | (1L << 62) | 1L).getSet());
+        assertEquals(EnumSet.allOf(WideEnum.class), new BitField<>(WideEnum.class, new BitField<>(WideEnum.class, EnumSet.allOf(WideEnum.class)).getBitFieldValue()).getSet());
+    }
+
+    @Test
+    public void testConstructorWithTooLargePosition() {
+        assertEquals("the position [64] of [THIRD_VALUE] does not fit in a long, use a LargeBitField instead", assertThrows(IllegalArgumentException.class, () -> new BitField<>(LargeEnum.class)).getMessage());
+    }
+
+    @Test
+    public void testOf() {
+        assertSame(BitField.of(WeekDay.class, 17), BitField.of(WeekDay.class, 17));
+        assertSame(BitField.of(WeekDay.class, 17), BitField.of(WeekDay.class, EnumSet.of(WeekDay.MONDAY, WeekDay.FRIDAY)));
+        assertSame(BitField.of(WideEnum.class, Long.MIN_VALUE), BitField.of(WideEnum.class, Long.MIN_VALUE));
+        assertEquals(new BitField<>(WeekDay.class, 17), BitField.of(WeekDay.class, 17));
+        assertEquals(EnumSet.of(WeekDay.MONDAY, WeekDay.FRIDAY), BitField.of(WeekDay.class, 17).getSet());
+    }
+
+    @Test
+    public void testOfWithInvalidInput() {
+        assertEquals("enumClass can not be null", assertThrows(NullPointerException.class, () -> BitField.<WeekDay>of(null, 0)).getMessage());
+        assertEquals("set can not be null", assertThrows(NullPointerException.class, () -> BitField.of(WeekDay.class, (Set<WeekDay>) null)).getMessage());
+        assertEquals("Invalid value found in bit field [128] for enum [io.github.florentclarret.jbitfield.enums.WeekDay]", assertThrows(IllegalArgumentException.class, () -> BitField.of(WeekDay.class, 128)).getMessage());
+    }
+
+    @Test
+    public void testAddReturnCanonicalInstance() {
+        assertSame(BitField.of(WeekDay.class, 17), new BitField<>(WeekDay.class, 1).add(WeekDay.FRIDAY));
+        assertSame(BitField.of(WeekDay.class, 17), new BitField<>(WeekDay.class, 1).addAll(EnumSet.of(WeekDay.FRIDAY)));
+        assertSame(BitField.of(WeekDay.class, 17), new BitField<>(WeekDay.class).set(EnumSet.of(WeekDay.MONDAY, WeekDay.FRIDAY)));
+    }
+
+    @Test
+    public void testContains() {
+        final BitField<WeekDay> bitField = new BitField<>(WeekDay.class, 17);
+
+        assertTrue(bitField.contains(WeekDay.MONDAY));
+        assertTrue(bitField.contains(WeekDay.FRIDAY));
+        assertFalse(bitField.contains(WeekDay.SUNDAY));
+        assertEquals("element can not be null", assertThrows(NullPointerException.class, () -> bitField.contains(null)).getMessage());
+    }
+
+    @Test
+    public void testSizeAndIsEmpty() {
+        assertEquals(0, new BitField<>(WeekDay.class).size());
+        assertTrue(new BitField<>(WeekDay.class).isEmpty());
+        assertEquals(2, new BitField<>(WeekDay.class, 17).size());
+        assertFalse(new BitField<>(WeekDay.class, 17).isEmpty());
+        assertEquals(2, new BitField<>(WideEnum.class, Long.MIN_VALUE | 1L).size());
+    }
+
+    @Test
+    public void testGetSetView() {
+        final Set<WeekDay> set = new BitField<>(WeekDay.class, 82).getSet();
+
+        assertEquals(3, set.size());
+        assertTrue(set.contains(WeekDay.TUESDAY));
+        assertFalse(set.contains(WeekDay.MONDAY));
+        assertFalse(set.contains(WideEnum.SECOND_VALUE));
+        assertFalse(set.contains(null));
+        assertEquals(Arrays.asList(WeekDay.TUESDAY, WeekDay.FRIDAY, WeekDay.SUNDAY), new ArrayList<>(set));
+        assertEquals(EnumSet.of(WeekDay.TUESDAY, WeekDay.FRIDAY, WeekDay.SUNDAY).hashCode(), set.hashCode());
+        assertEquals("[TUESDAY, FRIDAY, SUNDAY]", set.toString());
+    }
+
+    @Test
+    public void testGetSetIsUnmodifiable() {
+        final Set<WeekDay> set = new BitField<>(WeekDay.class, 82).getSet();
+
+        assertThrows(UnsupportedOperationException.class, () -> set.add(WeekDay.MONDAY));
+        assertThrows(UnsupportedOperationException.class, () -> set.remove(WeekDay.TUESDAY));
+        assertThrows(UnsupportedOperationException.class, set::clear);
+        assertThrows(UnsupportedOperationException.class, () -> set.iterator().remove());
+        assertEquals(3, set.size());
+    }
+
+    @Test
+    public void testIteratorEnd() {
+        final Iterator<WeekDay> iterator = new BitField<>(WeekDay.class, 1).iterator();
+
+        assertEquals(WeekDay.MONDAY, iterator.next());
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
     @TestFactory
     public Stream<DynamicTest> testGetSet() {
         final List<Set<WeekDay>> list = new ArrayList<>();
@@ -231,6 +328,80 @@ public class BitFieldTest {
         assertEquals("elements can not be null", assertThrows(NullPointerException.class, () -> new BitField<>(WeekDay.class).addAll(set)).getMessage());
     }
 
+    @Test
+    public void testRemoveValue() {
+        final BitField<WeekDay> bitField = BitField.of(WeekDay.class, EnumSet.of(WeekDay.MONDAY, WeekDay.FRIDAY));
+
+        assertSame(BitField.of(WeekDay.class, EnumSet.of(WeekDay.FRIDAY)), bitField.remove(WeekDay.MONDAY));
+        assertSame(bitField, bitField.remove(WeekDay.SUNDAY));
+        assertSame(BitField.of(WeekDay.class, 0), bitField.removeAll(EnumSet.of(WeekDay.MONDAY, WeekDay.FRIDAY, WeekDay.SUNDAY)));
+        assertSame(bitField, bitField.removeAll(EnumSet.of(WeekDay.SUNDAY)));
+        assertEquals("element can not be null", assertThrows(NullPointerException.class, () -> bitField.remove(null)).getMessage());
+        assertEquals("elements can not be null", assertThrows(NullPointerException.class, () -> bitField.removeAll(null)).getMessage());
+    }
+
+    @Test
+    public void testSetAlgebra() {
+        final BitField<WeekDay> left = BitField.of(WeekDay.class, EnumSet.of(WeekDay.MONDAY, WeekDay.TUESDAY, WeekDay.FRIDAY));
+        final BitField<WeekDay> right = BitField.of(WeekDay.class, EnumSet.of(WeekDay.TUESDAY, WeekDay.SUNDAY));
+
+        assertSame(BitField.of(WeekDay.class, EnumSet.of(WeekDay.MONDAY, WeekDay.TUESDAY, WeekDay.FRIDAY, WeekDay.SUNDAY)), left.union(right));
+        assertSame(BitField.of(WeekDay.class, EnumSet.of(WeekDay.TUESDAY)), left.intersect(right));
+        assertSame(BitField.of(WeekDay.class, EnumSet.of(WeekDay.MONDAY, WeekDay.FRIDAY)), left.difference(right));
+        assertSame(BitField.of(WeekDay.class, EnumSet.of(WeekDay.MONDAY, WeekDay.FRIDAY, WeekDay.SUNDAY)), left.symmetricDifference(right));
+        assertSame(BitField.of(WeekDay.class, EnumSet.of(WeekDay.WEDNESDAY, WeekDay.THURSDAY, WeekDay.SATURDAY, WeekDay.SUNDAY)), left.complement());
+        assertSame(left, left.union(left.intersect(right)));
+        assertSame(left, left.complement().complement());
+    }
+
+    @Test
+    public void testComplementOfWideEnum() {
+        assertEquals(BitField.of(WideEnum.class, EnumSet.allOf(WideEnum.class)), BitField.of(WideEnum.class, 0).complement());
+        assertEquals(0, BitField.of(WideEnum.class, EnumSet.allOf(WideEnum.class)).complement().getBitFieldValue());
+    }
+
+    @Test
+    public void testContainsAllAndIntersects() {
+        final BitField<WeekDay> bitField = BitField.of(WeekDay.class, EnumSet.of(WeekDay.MONDAY, WeekDay.FRIDAY));
+
+        assertTrue(bitField.containsAll(BitField.of(WeekDay.class, EnumSet.of(WeekDay.MONDAY))));
+        assertTrue(bitField.containsAll(BitField.of(WeekDay.class, 0)));
+        assertFalse(bitField.containsAll(BitField.of(WeekDay.class, EnumSet.of(WeekDay.MONDAY, WeekDay.SUNDAY))));
+        assertTrue(bitField.intersects(BitField.of(WeekDay.class, EnumSet.of(WeekDay.MONDAY, WeekDay.SUNDAY))));
+        assertFalse(bitField.intersects(BitField.of(WeekDay.class, EnumSet.of(WeekDay.SUNDAY))));
+        assertFalse(bitField.intersects(BitField.of(WeekDay.class, 0)));
+    }
+
+    @Test
+    public void testCollector() {
+        assertSame(BitField.of(WeekDay.class, EnumSet.of(WeekDay.MONDAY, WeekDay.FRIDAY)), Stream.of(WeekDay.FRIDAY, WeekDay.MONDAY, WeekDay.FRIDAY).collect(BitField.collector(WeekDay.class)));
+        assertSame(BitField.of(WeekDay.class, 0), Stream.<WeekDay>empty().collect(BitField.collector(WeekDay.class)));
+        assertSame(BitField.of(WeekDay.class, 127), Stream.generate(() -> WeekDay.values()).limit(10_000).flatMap(Arrays::stream).parallel().collect(BitField.collector(WeekDay.class)));
+        assertEquals("element can not be null", assertThrows(NullPointerException.class, () -> Stream.of((WeekDay) null).collect(BitField.collector(WeekDay.class))).getMessage());
+    }
+
+    @Test
+    public void testStream() {
+        final BitField<WeekDay> bitField = BitField.of(WeekDay.class, EnumSet.of(WeekDay.SUNDAY, WeekDay.MONDAY, WeekDay.FRIDAY));
+
+        assertEquals(Arrays.asList(WeekDay.MONDAY, WeekDay.FRIDAY, WeekDay.SUNDAY), bitField.stream().collect(Collectors.toList()));
+        assertEquals(Arrays.asList(WeekDay.MONDAY, WeekDay.FRIDAY, WeekDay.SUNDAY), bitField.getSet().stream().collect(Collectors.toList()));
+        assertEquals(3, bitField.stream().parallel().count());
+        assertSame(bitField, bitField.stream().parallel().collect(BitField.collector(WeekDay.class)));
+    }
+
+    @Test
+    public void testSetAlgebraWithNullInput() {
+        final BitField<WeekDay> bitField = BitField.of(WeekDay.class, 1);
+
+        assertEquals("other can not be null", assertThrows(NullPointerException.class, () -> bitField.union(null)).getMessage());
+        assertEquals("other can not be null", assertThrows(NullPointerException.class, () -> bitField.intersect(null)).getMessage());
+        assertEquals("other can not be null", assertThrows(NullPointerException.class, () -> bitField.difference(null)).getMessage());
+        assertEquals("other can not be null", assertThrows(NullPointerException.class, () -> bitField.symmetricDifference(null)).getMessage());
+        assertEquals("other can not be null", assertThrows(NullPointerException.class, () -> bitField.containsAll(null)).getMessage());
+        assertEquals("other can not be null", assertThrows(NullPointerException.class, () -> bitField.intersects(null)).getMessage());
+    }
+
     @TestFactory
     public Stream<DynamicTest> testSetValue() {
         final List<Set<WeekDay>> list = new ArrayList<>();
@@ -300,6 +471,24 @@ public class BitFieldTest {
                 "]", () -> assertTrue(this.isSameIterator(element.getKey().iterator(), element.getValue().iterator()))));
     }
 
+    @Test
+    public void testIterationByPosition() {
+        final BitField<ShuffledEnum> bitField = new BitField<>(ShuffledEnum.class, EnumSet.allOf(ShuffledEnum.class));
+        final List<ShuffledEnum> expected = Arrays.asList(ShuffledEnum.SECOND_VALUE, ShuffledEnum.FOURTH_VALUE,
+                ShuffledEnum.FIRST_VALUE, ShuffledEnum.THIRD_VALUE);
+
+        assertEquals(expected, new ArrayList<>(bitField.getSet()));
+        assertEquals(expected, bitField.stream().collect(Collectors.toList()));
+
+        final List<ShuffledEnum> iterated = new ArrayList<>();
+        bitField.iterator().forEachRemaining(iterated::add);
+        assertEquals(expected, iterated);
+
+        final List<ShuffledEnum> consumed = new ArrayList<>();
+        bitField.forEach(consumed::add);
+        assertEquals(expected, consumed);
+    }
+
     private <T> boolean isSameIterator(final Iterator<T> iterator1, final Iterator<T> iterator2) {
         while(iterator1.hasNext()){
             if(!iterator2.hasNext() || !iterator1.next().equals(iterator2.next())){
@@ -0,0 +1,137 @@
+package io.github.florentclarret.jbitfield;
+
+import io.github.florentclarret.jbitfield.enums.ValidEnum;
+import io.github.florentclarret.jbitfield.enums.WeekDay;
+import io.github.florentclarret.jbitfield.enums.WideEnum;
+import org.junit.jupiter.api.Test;
+
+import java.nio.CharBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BitFieldTextCodecTest {
+
+    private static final BitFieldTextCodec<WeekDay> CODEC = BitFieldTextCodec.of(WeekDay.class);
+
+    private static void assertInvalid(final String message, final Runnable runnable) {
+        assertEquals(message, assertThrows(IllegalArgumentException.class, runnable::run).getMessage());
+    }
+
+    @Test
+    public void testRegistry() {
+        assertSame(CODEC, BitFieldTextCodec.of(WeekDay.class));
+        assertEquals("BitFieldTextCodec{enumClass=io.github.florentclarret.jbitfield.enums.WeekDay}", CODEC.toString());
+        assertEquals("enumClass can not be null", assertThrows(NullPointerException.class, () -> BitFieldTextCodec.of(null)).getMessage());
+    }
+
+    @Test
+    public void testParse() {
+        assertEquals(0, CODEC.parse("", '|'));
+        assertEquals(0, CODEC.parse("  ", '|'));
+        assertEquals(1, CODEC.parse("MONDAY", '|'));
+        assertEquals(17, CODEC.parse("MONDAY|FRIDAY", '|'));
+        assertEquals(17, CODEC.parse(" FRIDAY , MONDAY,FRIDAY ", ','));
+        assertEquals(127, CODEC.parse(CharBuffer.wrap("xMONDAY|TUESDAY|WEDNESDAY|THURSDAY|FRIDAY|SATURDAY|SUNDAYx".toCharArray(), 1, 56), '|'));
+
+        for (final WeekDay day : WeekDay.values()) {
+            assertEquals(BitFieldCodec.of(WeekDay.class).getMask(day), CODEC.parse(day.name(), ';'));
+        }
+    }
+
+    @Test
+    public void testParseInvalid() {
+        assertInvalid("Unknown element [monday] for enum [io.github.florentclarret.jbitfield.enums.WeekDay]", () -> CODEC.parse("monday", '|'));
+        assertInvalid("Unknown element [MONDAYS] for enum [io.github.florentclarret.jbitfield.enums.WeekDay]", () -> CODEC.parse("MONDAYS", '|'));
+        assertInvalid("Unknown element [MONDAY FRIDAY] for enum [io.github.florentclarret.jbitfield.enums.WeekDay]", () -> CODEC.parse("MONDAY FRIDAY", '|'));
+        assertInvalid("Empty element name at index [7] of [MONDAY||FRIDAY]", () -> CODEC.parse("MONDAY||FRIDAY", '|'));
+        assertInvalid("Empty element name at index [7] of [MONDAY|]", () -> CODEC.parse("MONDAY|", '|'));
+        assertEquals("text can not be null", assertThrows(NullPointerException.class, () -> CODEC.parse(null, '|')).getMessage());
+    }
+
+    @Test
+    public void testParseJson() {
+        assertEquals(0, CODEC.parseJson("[]"));
+        assertEquals(0, CODEC.parseJson(" [ ] "));
+        assertEquals(64, CODEC.parseJson("[\"SUNDAY\"]"));
+        assertEquals(17, CODEC.parseJson(" [ \"FRIDAY\" ,\"MONDAY\", \"MONDAY\" ] "));
+    }
+
+    @Test
+    public void testParseJsonInvalid() {
+        assertInvalid("Malformed JSON array of names [] at index [0] : expected '['", () -> CODEC.parseJson(""));
+        assertInvalid("Malformed JSON array of names [[\"MONDAY\"] at index [9] : expected ','", () -> CODEC.parseJson("[\"MONDAY\""));
+        assertInvalid("Malformed JSON array of names [[\"MONDAY] at index [8] : unterminated string", () -> CODEC.parseJson("[\"MONDAY"));
+        assertInvalid("Malformed JSON array of names [[MONDAY]] at index [1] : expected '\"'", () -> CODEC.parseJson("[MONDAY]"));
+        assertInvalid("Malformed JSON array of names [[\"MONDAY\",]] at index [10] : expected '\"'", () -> CODEC.parseJson("[\"MONDAY\",]"));
+        assertInvalid("Malformed JSON array of names [[] x] at index [2] : unexpected content after the array", () -> CODEC.parseJson("[] x"));
+        assertInvalid("Malformed JSON array of names [[\"MON\\u0044AY\"]] at index [5] : escape sequences are not supported", () -> CODEC.parseJson("[\"MON\\u0044AY\"]"));
+        assertInvalid("Unknown element [HOLIDAY] for enum [io.github.florentclarret.jbitfield.enums.WeekDay]", () -> CODEC.parseJson("[\"HOLIDAY\"]"));
+        assertEquals("json can not be null", assertThrows(NullPointerException.class, () -> CODEC.parseJson(null)).getMessage());
+    }
+
+    @Test
+    public void testFormat() {
+        assertEquals("", CODEC.format(0, '|'));
+        assertEquals("MONDAY|FRIDAY", CODEC.format(17, '|'));
+        assertEquals("[]", CODEC.formatJson(0));
+        assertEquals("[\"MONDAY\",\"FRIDAY\"]", CODEC.formatJson(17));
+
+        for (long value = 0; value < 128; ++value) {
+            assertEquals(value, CODEC.parse(CODEC.format(value, ','), ','));
+            assertEquals(value, CODEC.parseJson(CODEC.formatJson(value)));
+        }
+
+        assertInvalid("Invalid value found in bit field [128] for enum [io.github.florentclarret.jbitfield.enums.WeekDay]", () -> CODEC.format(128, '|'));
+        assertInvalid("Invalid value found in bit field [128] for enum [io.github.florentclarret.jbitfield.enums.WeekDay]", () -> CODEC.formatJson(128));
+    }
+
+    @Test
+    public void testHex() {
+        assertEquals("0", CODEC.toHex(0));
+        assertEquals("7f", CODEC.toHex(127));
+        assertEquals(127, CODEC.fromHex("7F"));
+        assertEquals(17, CODEC.fromHex("0011"));
+
+        final BitFieldTextCodec<WideEnum> wide = BitFieldTextCodec.of(WideEnum.class);
+        assertEquals("c000000180000001", wide.toHex(0xC000000180000001L));
+        assertEquals(0xC000000180000001L, wide.fromHex("C000000180000001"));
+
+        assertInvalid("Invalid hexadecimal bit field []", () -> CODEC.fromHex(""));
+        assertInvalid("Invalid hexadecimal bit field [0x11]", () -> CODEC.fromHex("0x11"));
+        assertInvalid("Invalid hexadecimal bit field [00000000000000011]", () -> CODEC.fromHex("00000000000000011"));
+        assertInvalid("Invalid value found in bit field [128] for enum [io.github.florentclarret.jbitfield.enums.WeekDay]", () -> CODEC.fromHex("80"));
+    }
+
+    @Test
+    public void testBase64() {
+        assertEquals("AA", CODEC.toBase64(0));
+        assertEquals("EQ", CODEC.toBase64(17));
+        assertEquals("fw", CODEC.toBase64(127));
+
+        for (long value = 0; value < 128; ++value) {
+            assertEquals(value, CODEC.fromBase64(CODEC.toBase64(value)));
+        }
+
+        final BitFieldTextCodec<WideEnum> wide = BitFieldTextCodec.of(WideEnum.class);
+        assertEquals("wAAAAYAAAAE", wide.toBase64(0xC000000180000001L));
+        assertEquals(0xC000000180000001L, wide.fromBase64("wAAAAYAAAAE"));
+        assertEquals(0, wide.fromBase64("AAAAAAAAAAA"));
+
+        assertInvalid("Invalid base64 bit field [EQ=], expected [2] characters", () -> CODEC.fromBase64("EQ="));
+        assertInvalid("Invalid base64 bit field [E+]", () -> CODEC.fromBase64("E+"));
+        assertInvalid("Invalid base64 bit field [ER]", () -> CODEC.fromBase64("ER"));
+        assertInvalid("Invalid base64 bit field [Eé]", () -> CODEC.fromBase64("Eé"));
+        assertInvalid("Invalid value found in bit field [128] for enum [io.github.florentclarret.jbitfield.enums.WeekDay]", () -> CODEC.fromBase64("gA"));
+    }
+
+    @Test
+    public void testAllEnums() {
+        final BitFieldTextCodec<ValidEnum> codec = BitFieldTextCodec.of(ValidEnum.class);
+        final long all = BitFieldCodec.of(ValidEnum.class).getValidMask();
+
+        assertEquals(all, codec.parse(codec.format(all, '|'), '|'));
+        assertEquals(all, codec.fromBase64(codec.toBase64(all)));
+    }
+}
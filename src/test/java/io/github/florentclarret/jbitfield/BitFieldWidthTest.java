@@ -0,0 +1,56 @@
+package io.github.florentclarret.jbitfield;
+
+import io.github.florentclarret.jbitfield.enums.WeekDay;
+import io.github.florentclarret.jbitfield.enums.WideEnum;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BitFieldWidthTest {
+
+    @Test
+    public void testOf() {
+        assertEquals(BitFieldWidth.BYTE, BitFieldWidth.of(WeekDay.class));
+        assertEquals(BitFieldWidth.LONG, BitFieldWidth.of(WideEnum.class));
+        assertEquals("enumClass can not be null", assertThrows(NullPointerException.class, () -> BitFieldWidth.of(null)).getMessage());
+    }
+
+    @Test
+    public void testOfBits() {
+        assertEquals(BitFieldWidth.BYTE, BitFieldWidth.ofBits(0));
+        assertEquals(BitFieldWidth.BYTE, BitFieldWidth.ofBits(8));
+        assertEquals(BitFieldWidth.SHORT, BitFieldWidth.ofBits(9));
+        assertEquals(BitFieldWidth.SHORT, BitFieldWidth.ofBits(16));
+        assertEquals(BitFieldWidth.INT, BitFieldWidth.ofBits(17));
+        assertEquals(BitFieldWidth.INT, BitFieldWidth.ofBits(32));
+        assertEquals(BitFieldWidth.LONG, BitFieldWidth.ofBits(33));
+        assertEquals(BitFieldWidth.LONG, BitFieldWidth.ofBits(64));
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        final long[] values = {0xFFL, 0xFFFFL, 0xFFFFFFFFL, -1L};
+
+        for (int i = 0; i < values.length; ++i) {
+            final BitFieldWidth width = BitFieldWidth.values()[i];
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            width.write(new DataOutputStream(bytes), values[i]);
+
+            assertEquals(width.getBytes(), bytes.size());
+            assertEquals(values[i], width.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+        }
+    }
+
+    @Test
+    public void testWriteAndReadWithInvalidInput() {
+        assertEquals("out can not be null", assertThrows(NullPointerException.class, () -> BitFieldWidth.BYTE.write(null, 0)).getMessage());
+        assertEquals("in can not be null", assertThrows(NullPointerException.class, () -> BitFieldWidth.BYTE.read(null)).getMessage());
+    }
+}
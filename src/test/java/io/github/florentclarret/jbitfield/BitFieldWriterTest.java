@@ -0,0 +1,69 @@
+package io.github.florentclarret.jbitfield;
+
+import io.github.florentclarret.jbitfield.enums.WeekDay;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BitFieldWriterTest {
+
+    @Test
+    public void testHeader() {
+        final ByteBuffer buffer = ByteBuffer.allocate(128);
+        new BitFieldWriter<>(WeekDay.class, buffer, ByteOrder.LITTLE_ENDIAN);
+
+        assertEquals(BitFieldHeader.size(BitFieldCodec.of(WeekDay.class)), buffer.position());
+        assertEquals(0, buffer.position() % 8);
+        assertEquals(ByteOrder.LITTLE_ENDIAN, buffer.order());
+
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        assertEquals(BitFieldHeader.MAGIC, buffer.getInt(0));
+        assertEquals(BitFieldHeader.VERSION, buffer.getShort(4));
+        assertEquals(1, buffer.get(6));
+        assertEquals(BitFieldCodec.of(WeekDay.class).getLayoutFingerprint(), buffer.getLong(8));
+        assertEquals(0, buffer.getLong(BitFieldHeader.COUNT_OFFSET));
+    }
+
+    @Test
+    public void testWrite() {
+        final ByteBuffer buffer = ByteBuffer.allocate(128);
+        final BitFieldWriter<WeekDay> writer = new BitFieldWriter<>(WeekDay.class, buffer, ByteOrder.BIG_ENDIAN);
+        final int headerSize = buffer.position();
+
+        assertSame(writer, writer.write(17).write(BitField.of(WeekDay.class, 64)).writeAll(new long[]{1, 2}));
+        assertEquals(headerSize + 4 * Long.BYTES, buffer.position());
+        assertEquals(17, buffer.getLong(headerSize));
+        assertEquals(64, buffer.getLong(headerSize + 8));
+        assertEquals(2, buffer.getLong(headerSize + 24));
+        assertEquals(4, writer.getCount());
+        assertEquals(4, buffer.getLong(BitFieldHeader.COUNT_OFFSET));
+    }
+
+    @Test
+    public void testCountInHeader() {
+        final ByteBuffer buffer = ByteBuffer.allocate(128);
+        buffer.position(8);
+        final BitFieldWriter<WeekDay> writer = new BitFieldWriter<>(WeekDay.class, buffer, ByteOrder.LITTLE_ENDIAN);
+
+        writer.write(1).writeAll(new long[]{2, 3});
+
+        assertEquals(3, writer.getCount());
+        assertEquals(ByteOrder.LITTLE_ENDIAN, buffer.order());
+        assertEquals(3, buffer.duplicate().order(ByteOrder.BIG_ENDIAN).getLong(8 + BitFieldHeader.COUNT_OFFSET));
+    }
+
+    @Test
+    public void testWriteWithInvalidInput() {
+        final BitFieldWriter<WeekDay> writer = new BitFieldWriter<>(WeekDay.class, ByteBuffer.allocate(128));
+
+        assertEquals("Invalid value found in bit field [128] for enum [io.github.florentclarret.jbitfield.enums.WeekDay]", assertThrows(IllegalArgumentException.class, () -> writer.write(128)).getMessage());
+        assertEquals("Invalid value found in bit field [-1] for enum [io.github.florentclarret.jbitfield.enums.WeekDay]", assertThrows(IllegalArgumentException.class, () -> writer.writeAll(new long[]{1, -1})).getMessage());
+        assertEquals("bitField can not be null", assertThrows(NullPointerException.class, () -> writer.write(null)).getMessage());
+        assertEquals("buffer can not be null", assertThrows(NullPointerException.class, () -> new BitFieldWriter<>(WeekDay.class, null)).getMessage());
+    }
+}
@@ -0,0 +1,122 @@
+package io.github.florentclarret.jbitfield;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompressedBitmapTest {
+
+    private static CompressedBitmap of(final BitSet bitSet) {
+        return CompressedBitmap.of(bitSet.stream().toArray());
+    }
+
+    private static BitSet random(final Random random, final int range, final double density) {
+        final BitSet bitSet = new BitSet(range);
+        for (int i = 0; i < range; ++i) {
+            if (random.nextDouble() < density) {
+                bitSet.set(i);
+            }
+        }
+        return bitSet;
+    }
+
+    @Test
+    public void testAdd() {
+        final CompressedBitmap bitmap = CompressedBitmap.of(5, 1, 70000, 3, 5, Integer.MAX_VALUE);
+
+        assertArrayEquals(new int[]{1, 3, 5, 70000, Integer.MAX_VALUE}, bitmap.toArray());
+        assertEquals(5, bitmap.cardinality());
+        assertTrue(bitmap.contains(70000));
+        assertFalse(bitmap.contains(70001));
+        assertFalse(bitmap.contains(-1));
+        assertFalse(bitmap.isEmpty());
+        assertTrue(new CompressedBitmap().isEmpty());
+    }
+
+    @Test
+    public void testAddWithInvalidInput() {
+        assertEquals("the row id [-1] can not be negative", assertThrows(IllegalArgumentException.class, () -> CompressedBitmap.of(-1)).getMessage());
+        assertEquals("rowIds can not be null", assertThrows(NullPointerException.class, () -> CompressedBitmap.of((int[]) null)).getMessage());
+    }
+
+    @Test
+    public void testContainerConversion() {
+        final CompressedBitmap bitmap = new CompressedBitmap();
+        for (int i = 0; i < CompressedBitmap.ARRAY_MAX_SIZE; ++i) {
+            bitmap.add(i * 2);
+        }
+        assertFalse(bitmap.isLastContainerBitmap());
+
+        bitmap.add(1);
+        assertTrue(bitmap.isLastContainerBitmap());
+        assertEquals(CompressedBitmap.ARRAY_MAX_SIZE + 1, bitmap.cardinality());
+        assertEquals(8192, bitmap.getSizeInBytes() - 6);
+
+        final CompressedBitmap small = bitmap.and(CompressedBitmap.of(1, 2, 3));
+        assertFalse(small.isLastContainerBitmap());
+        assertArrayEquals(new int[]{1, 2}, small.toArray());
+    }
+
+    @Test
+    public void testOperationsAgainstBitSet() {
+        final Random random = new Random(42);
+        final List<BitSet> bitSets = new ArrayList<>();
+        for (final double density : new double[]{0.001, 0.05, 0.5, 0.95}) {
+            bitSets.add(random(random, 300_000, density));
+        }
+
+        for (final BitSet left : bitSets) {
+            for (final BitSet right : bitSets) {
+                final CompressedBitmap leftBitmap = of(left);
+                final CompressedBitmap rightBitmap = of(right);
+
+                final BitSet and = (BitSet) left.clone();
+                and.and(right);
+                final BitSet or = (BitSet) left.clone();
+                or.or(right);
+                final BitSet andNot = (BitSet) left.clone();
+                andNot.andNot(right);
+
+                assertEquals(of(and), leftBitmap.and(rightBitmap));
+                assertEquals(of(or), leftBitmap.or(rightBitmap));
+                assertEquals(of(andNot), leftBitmap.andNot(rightBitmap));
+                assertArrayEquals(and.stream().toArray(), leftBitmap.and(rightBitmap).toArray());
+                assertEquals(or.cardinality(), leftBitmap.or(rightBitmap).cardinality());
+            }
+        }
+    }
+
+    @Test
+    public void testForEach() {
+        final BitSet bitSet = random(new Random(7), 200_000, 0.2);
+        final List<Integer> rowIds = new ArrayList<>();
+        of(bitSet).forEach(rowIds::add);
+
+        assertEquals(bitSet.cardinality(), rowIds.size());
+        assertArrayEquals(bitSet.stream().toArray(), rowIds.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    @Test
+    public void testCopyAndEquals() {
+        final CompressedBitmap bitmap = CompressedBitmap.of(1, 2, 100_000);
+        final CompressedBitmap copy = bitmap.copy();
+
+        assertEquals(bitmap, copy);
+        assertEquals(bitmap.hashCode(), copy.hashCode());
+
+        copy.add(3);
+        assertNotEquals(bitmap, copy);
+        assertEquals(3, bitmap.cardinality());
+        assertEquals("CompressedBitmap{cardinality=3, containers=2}", bitmap.toString());
+    }
+}
@@ -0,0 +1,160 @@
+package io.github.florentclarret.jbitfield;
+
+import io.github.florentclarret.jbitfield.enums.DuplicatedEnum;
+import io.github.florentclarret.jbitfield.enums.LargeEnum;
+import io.github.florentclarret.jbitfield.enums.ShuffledEnum;
+import io.github.florentclarret.jbitfield.enums.WeekDay;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LargeBitFieldTest {
+
+    @Test
+    public void testDefaultConstructor() {
+        final LargeBitField<LargeEnum> bitField = new LargeBitField<>(LargeEnum.class);
+
+        assertArrayEquals(new long[3], bitField.getBitFieldValue());
+        assertTrue(bitField.getSet().isEmpty());
+    }
+
+    @Test
+    public void testDefaultConstructorWithInvalidInput() {
+        assertEquals("enumClass can not be null", assertThrows(NullPointerException.class, () -> new LargeBitField<LargeEnum>(null)).getMessage());
+        assertEquals("the class [io.github.florentclarret.jbitfield.enums.DuplicatedEnum] is not a valid BitFieldElement", assertThrows(IllegalArgumentException.class, () -> new LargeBitField<>(DuplicatedEnum.class)).getMessage());
+    }
+
+    @Test
+    public void testConstructorFromSet() {
+        assertArrayEquals(new long[]{1L, 0, 0}, new LargeBitField<>(LargeEnum.class, EnumSet.of(LargeEnum.FIRST_VALUE)).getBitFieldValue());
+        assertArrayEquals(new long[]{Long.MIN_VALUE, 1L, 0}, new LargeBitField<>(LargeEnum.class, EnumSet.of(LargeEnum.SECOND_VALUE, LargeEnum.THIRD_VALUE)).getBitFieldValue());
+        assertArrayEquals(new long[]{0, 1L << 36, 2L}, new LargeBitField<>(LargeEnum.class, EnumSet.of(LargeEnum.FOURTH_VALUE, LargeEnum.FIFTH_VALUE)).getBitFieldValue());
+    }
+
+    @Test
+    public void testConstructorFromSetWithNullInput() {
+        assertEquals("set can not be null", assertThrows(NullPointerException.class, () -> new LargeBitField<>(LargeEnum.class, (Set<LargeEnum>) null)).getMessage());
+    }
+
+    @Test
+    public void testConstructorFromBitField() {
+        assertEquals(EnumSet.of(LargeEnum.FIRST_VALUE, LargeEnum.FIFTH_VALUE), new LargeBitField<>(LargeEnum.class, new long[]{1L, 0, 2L}).getSet());
+        assertEquals(EnumSet.of(LargeEnum.SECOND_VALUE), new LargeBitField<>(LargeEnum.class, new long[]{Long.MIN_VALUE}).getSet());
+        assertArrayEquals(new long[]{Long.MIN_VALUE, 0, 0}, new LargeBitField<>(LargeEnum.class, new long[]{Long.MIN_VALUE}).getBitFieldValue());
+        assertEquals(EnumSet.of(LargeEnum.THIRD_VALUE), new LargeBitField<>(LargeEnum.class, new long[]{0, 1L, 0, 0}).getSet());
+    }
+
+    @Test
+    public void testConstructorFromBitFieldWithInvalidValue() {
+        assertEquals("Invalid value found in word [0] of bit field [2] for enum [io.github.florentclarret.jbitfield.enums.LargeEnum]", assertThrows(IllegalArgumentException.class, () -> new LargeBitField<>(LargeEnum.class, new long[]{2L})).getMessage());
+        assertEquals("Invalid value found in word [3] of bit field [1] for enum [io.github.florentclarret.jbitfield.enums.LargeEnum]", assertThrows(IllegalArgumentException.class, () -> new LargeBitField<>(LargeEnum.class, new long[]{0, 0, 0, 1L})).getMessage());
+        assertEquals("bitField can not be null", assertThrows(NullPointerException.class, () -> new LargeBitField<>(LargeEnum.class, (long[]) null)).getMessage());
+    }
+
+    @Test
+    public void testBitSetConversion() {
+        final BitSet bitSet = new BitSet();
+        bitSet.set(64);
+        bitSet.set(129);
+
+        final LargeBitField<LargeEnum> bitField = new LargeBitField<>(LargeEnum.class, bitSet);
+
+        assertEquals(EnumSet.of(LargeEnum.THIRD_VALUE, LargeEnum.FIFTH_VALUE), bitField.getSet());
+        assertEquals(bitSet, bitField.toBitSet());
+    }
+
+    @Test
+    public void testSmallEnum() {
+        final LargeBitField<WeekDay> bitField = new LargeBitField<>(WeekDay.class, EnumSet.of(WeekDay.MONDAY, WeekDay.FRIDAY));
+
+        assertArrayEquals(new long[]{17L}, bitField.getBitFieldValue());
+    }
+
+    @Test
+    public void testAdd() {
+        final LargeBitField<LargeEnum> bitField = new LargeBitField<>(LargeEnum.class, EnumSet.of(LargeEnum.FIRST_VALUE));
+
+        assertEquals(new LargeBitField<>(LargeEnum.class, EnumSet.of(LargeEnum.FIRST_VALUE, LargeEnum.FOURTH_VALUE)), bitField.add(LargeEnum.FOURTH_VALUE));
+        assertNotSame(bitField, bitField.add(LargeEnum.FOURTH_VALUE));
+        assertSame(bitField, bitField.add(LargeEnum.FIRST_VALUE));
+        assertEquals("element can not be null", assertThrows(NullPointerException.class, () -> bitField.add(null)).getMessage());
+    }
+
+    @Test
+    public void testAddAll() {
+        final LargeBitField<LargeEnum> bitField = new LargeBitField<>(LargeEnum.class, EnumSet.of(LargeEnum.FIRST_VALUE));
+
+        assertEquals(new LargeBitField<>(LargeEnum.class, EnumSet.of(LargeEnum.FIRST_VALUE, LargeEnum.THIRD_VALUE, LargeEnum.FIFTH_VALUE)), bitField.addAll(EnumSet.of(LargeEnum.THIRD_VALUE, LargeEnum.FIFTH_VALUE)));
+        assertEquals(EnumSet.of(LargeEnum.FIRST_VALUE, LargeEnum.THIRD_VALUE), bitField.addAll(EnumSet.of(LargeEnum.THIRD_VALUE)).getSet());
+        assertSame(bitField, bitField.addAll(Collections.emptySet()));
+        assertSame(bitField, bitField.addAll(EnumSet.of(LargeEnum.FIRST_VALUE)));
+        assertEquals("elements can not be null", assertThrows(NullPointerException.class, () -> bitField.addAll(null)).getMessage());
+    }
+
+    @Test
+    public void testSet() {
+        assertEquals(EnumSet.of(LargeEnum.FOURTH_VALUE), new LargeBitField<>(LargeEnum.class, EnumSet.of(LargeEnum.FIRST_VALUE)).set(EnumSet.of(LargeEnum.FOURTH_VALUE)).getSet());
+    }
+
+    @Test
+    public void testGetBitFieldValueReturnCopy() {
+        final LargeBitField<LargeEnum> bitField = new LargeBitField<>(LargeEnum.class, EnumSet.of(LargeEnum.FIRST_VALUE));
+        bitField.getBitFieldValue()[0] = 0;
+
+        assertArrayEquals(new long[]{1L, 0, 0}, bitField.getBitFieldValue());
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        final LargeBitField<LargeEnum> bitField = new LargeBitField<>(LargeEnum.class, EnumSet.of(LargeEnum.FOURTH_VALUE));
+
+        assertEquals(bitField, new LargeBitField<>(LargeEnum.class, new long[]{0, 1L << 36}));
+        assertEquals(bitField.hashCode(), new LargeBitField<>(LargeEnum.class, new long[]{0, 1L << 36}).hashCode());
+        assertNotEquals(bitField, new LargeBitField<>(LargeEnum.class));
+    }
+
+    @Test
+    public void testSetView() {
+        final LargeBitField<LargeEnum> bitField = new LargeBitField<>(LargeEnum.class, new long[]{Long.MIN_VALUE | 1L, 0, 2L});
+        final Set<LargeEnum> set = bitField.getSet();
+
+        assertSame(set, bitField.getSet());
+        assertEquals(3, set.size());
+        assertTrue(set.contains(LargeEnum.SECOND_VALUE));
+        assertTrue(set.contains(LargeEnum.FIFTH_VALUE));
+        assertFalse(set.contains(LargeEnum.THIRD_VALUE));
+        assertFalse(set.contains(WeekDay.MONDAY));
+        assertFalse(set.contains(null));
+        assertEquals(EnumSet.of(LargeEnum.FIRST_VALUE, LargeEnum.SECOND_VALUE, LargeEnum.FIFTH_VALUE), set);
+        assertThrows(UnsupportedOperationException.class, () -> set.add(LargeEnum.THIRD_VALUE));
+        assertTrue(new LargeBitField<>(LargeEnum.class).getSet().isEmpty());
+    }
+
+    @Test
+    public void testIterationByPosition() {
+        final LargeBitField<ShuffledEnum> bitField = new LargeBitField<>(ShuffledEnum.class, EnumSet.allOf(ShuffledEnum.class));
+
+        assertEquals(Arrays.asList(ShuffledEnum.SECOND_VALUE, ShuffledEnum.FOURTH_VALUE, ShuffledEnum.FIRST_VALUE, ShuffledEnum.THIRD_VALUE),
+                new ArrayList<>(bitField.getSet()));
+
+        final Iterator<ShuffledEnum> iterator = new LargeBitField<>(ShuffledEnum.class, EnumSet.of(ShuffledEnum.THIRD_VALUE)).iterator();
+        assertSame(ShuffledEnum.THIRD_VALUE, iterator.next());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+}
@@ -0,0 +1,162 @@
+package io.github.florentclarret.jbitfield;
+
+import io.github.florentclarret.jbitfield.BitFieldColumns.Match;
+import io.github.florentclarret.jbitfield.enums.WeekDay;
+import io.github.florentclarret.jbitfield.enums.WideEnum;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OffHeapBitFieldColumnTest {
+
+    private static final BitField<WeekDay> WEEK_END = BitField.of(WeekDay.class, EnumSet.of(WeekDay.SATURDAY, WeekDay.SUNDAY));
+
+    private static OffHeapBitFieldColumn<WeekDay> column(final long size) {
+        final OffHeapBitFieldColumn<WeekDay> column = new OffHeapBitFieldColumn<>(WeekDay.class);
+        for (long i = 0; i < size; ++i) {
+            assertEquals(i, column.append(i % 128));
+        }
+        return column;
+    }
+
+    @Test
+    public void testAppendAndGet() {
+        final OffHeapBitFieldColumn<WeekDay> column = new OffHeapBitFieldColumn<>(WeekDay.class);
+        assertEquals(0, column.size());
+        assertEquals(0, column.getSizeInBytes());
+
+        assertEquals(0, column.append(17));
+        assertEquals(1, column.append(WEEK_END));
+        assertEquals(2, column.size());
+        assertEquals(OffHeapBitFieldColumn.CHUNK_SIZE * Long.BYTES, column.getSizeInBytes());
+        assertEquals(17, column.getValue(0));
+        assertSame(WEEK_END, column.get(1));
+        assertEquals("OffHeapBitFieldColumn{enumClass=io.github.florentclarret.jbitfield.enums.WeekDay, size=2}", column.toString());
+    }
+
+    @Test
+    public void testSeveralChunks() {
+        final long size = OffHeapBitFieldColumn.CHUNK_SIZE * 2L + 100;
+        final OffHeapBitFieldColumn<WeekDay> column = column(size);
+
+        assertEquals(size, column.size());
+        assertEquals(3L * OffHeapBitFieldColumn.CHUNK_SIZE * Long.BYTES, column.getSizeInBytes());
+        assertEquals(4, column.getChunkCapacity());
+        for (long i = 0; i < size; i += 997) {
+            assertEquals(i % 128, column.getValue(i));
+        }
+        assertEquals((size - 1) % 128, column.getValue(size - 1));
+    }
+
+    @Test
+    public void testSet() {
+        final OffHeapBitFieldColumn<WeekDay> column = column(10);
+
+        column.set(3, 127);
+        column.set(4, WEEK_END);
+        assertEquals(127, column.getValue(3));
+        assertSame(WEEK_END, column.get(4));
+        assertEquals(5, column.getValue(5));
+    }
+
+    @Test
+    public void testWideValues() {
+        final OffHeapBitFieldColumn<WideEnum> column = new OffHeapBitFieldColumn<>(WideEnum.class);
+        column.append(0xC000000180000001L);
+
+        assertEquals(0xC000000180000001L, column.getValue(0));
+        assertEquals(1, column.count(Match.CONTAINS_ALL, BitField.of(WideEnum.class, EnumSet.of(WideEnum.FIFTH_VALUE))));
+    }
+
+    @Test
+    public void testMaskQueries() {
+        final long size = OffHeapBitFieldColumn.CHUNK_SIZE + 1000;
+        final OffHeapBitFieldColumn<WeekDay> column = column(size);
+
+        for (final Match match : Match.values()) {
+            final long[] expected = LongStream.range(0, size).filter(i -> match.test(i % 128, WEEK_END.getBitFieldValue())).toArray();
+            final List<Long> indices = new ArrayList<>();
+            column.forEachMatch(match, WEEK_END, indices::add);
+
+            assertEquals(expected.length, column.count(match, WEEK_END));
+            assertEquals(expected.length, indices.size());
+            for (int i = 0; i < expected.length; ++i) {
+                assertEquals(expected[i], indices.get(i).longValue());
+            }
+        }
+    }
+
+    @Test
+    public void testCursor() {
+        final OffHeapBitFieldColumn<WeekDay> column = column(130);
+        final OffHeapBitFieldColumn<WeekDay>.Cursor cursor = column.cursor();
+
+        assertEquals(-1, cursor.getIndex());
+        long count = 0;
+        while (cursor.next()) {
+            assertEquals(cursor.getIndex() % 128, cursor.getBitFieldValue());
+            count += cursor.containsAll(WEEK_END) ? 1 : 0;
+        }
+        assertEquals(32, count);
+        assertEquals(130, cursor.getIndex());
+        assertFalse(cursor.next());
+
+        assertSame(cursor, cursor.moveTo(97));
+        assertEquals(97, cursor.getBitFieldValue());
+        assertTrue(cursor.contains(WeekDay.MONDAY));
+        assertFalse(cursor.contains(WeekDay.TUESDAY));
+        assertTrue(cursor.intersects(WEEK_END));
+        assertTrue(cursor.containsAll(WEEK_END));
+        assertEquals(3, cursor.size());
+        assertFalse(cursor.isEmpty());
+        assertSame(BitField.of(WeekDay.class, 97), cursor.toBitField());
+        assertEquals("Cursor{index=97, bitField=97}", cursor.toString());
+
+        final List<WeekDay> days = new ArrayList<>();
+        cursor.forEach(days::add);
+        assertEquals(new ArrayList<>(EnumSet.of(WeekDay.MONDAY, WeekDay.SATURDAY, WeekDay.SUNDAY)), days);
+
+        cursor.set(0);
+        assertTrue(cursor.isEmpty());
+        assertEquals(0, column.getValue(97));
+    }
+
+    @Test
+    public void testClear() {
+        final OffHeapBitFieldColumn<WeekDay> column = column(10);
+        column.clear();
+
+        assertEquals(0, column.size());
+        assertEquals(0, column.getSizeInBytes());
+        assertEquals(0, column.getChunkCapacity());
+        assertEquals(0, column.count(Match.CONTAINS_NONE, WEEK_END));
+        assertEquals(0, column.append(1));
+        assertEquals(1, column.getChunkCapacity());
+    }
+
+    @Test
+    public void testInvalidInput() {
+        final OffHeapBitFieldColumn<WeekDay> column = column(10);
+
+        assertEquals("Invalid value found in bit field [128] for enum [io.github.florentclarret.jbitfield.enums.WeekDay]",
+                assertThrows(IllegalArgumentException.class, () -> column.append(128)).getMessage());
+        assertEquals("Invalid value found in bit field [128] for enum [io.github.florentclarret.jbitfield.enums.WeekDay]",
+                assertThrows(IllegalArgumentException.class, () -> column.set(0, 128)).getMessage());
+        assertEquals("the index [10] is out of bounds [0, 10[", assertThrows(IndexOutOfBoundsException.class, () -> column.getValue(10)).getMessage());
+        assertEquals("the index [-1] is out of bounds [0, 10[", assertThrows(IndexOutOfBoundsException.class, () -> column.set(-1, 0)).getMessage());
+        assertThrows(IndexOutOfBoundsException.class, () -> column.cursor().set(0));
+        assertEquals("bitField can not be null", assertThrows(NullPointerException.class, () -> column.append((BitField<WeekDay>) null)).getMessage());
+        assertEquals("match can not be null", assertThrows(NullPointerException.class, () -> column.count(null, WEEK_END)).getMessage());
+        assertEquals("mask can not be null", assertThrows(NullPointerException.class, () -> column.forEachMatch(Match.CONTAINS_ALL, null, i -> { })).getMessage());
+        assertEquals(10, column.size());
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.florentclarret.jbitfield.enums;
+
+import io.github.florentclarret.jbitfield.BitFieldElement;
+
+public enum LargeEnum implements BitFieldElement {
+    FIRST_VALUE(0),
+    SECOND_VALUE(63),
+    THIRD_VALUE(64),
+    FOURTH_VALUE(100),
+    FIFTH_VALUE(129);
+
+    private final int position;
+
+    LargeEnum(final int position) {
+        this.position = position;
+    }
+
+    @Override
+    public int getBitFieldPosition() {
+        return position;
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.florentclarret.jbitfield.enums;
+
+import io.github.florentclarret.jbitfield.BitFieldElement;
+
+public enum OldWeekDay implements BitFieldElement {
+    SUNDAY(0),
+    MONDAY(1),
+    TUESDAY(2),
+    HOLIDAY(3),
+    WEDNESDAY(4),
+    THURSDAY(5),
+    FRIDAY(6),
+    SATURDAY(12);
+
+    private final int position;
+
+    OldWeekDay(final int position) {
+        this.position = position;
+    }
+
+    @Override
+    public int getBitFieldPosition() {
+        return position;
+    }
+}
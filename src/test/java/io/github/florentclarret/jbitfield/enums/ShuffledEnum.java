@@ -0,0 +1,21 @@
+package io.github.florentclarret.jbitfield.enums;
+
+import io.github.florentclarret.jbitfield.BitFieldElement;
+
+public enum ShuffledEnum implements BitFieldElement {
+    FIRST_VALUE(5),
+    SECOND_VALUE(0),
+    THIRD_VALUE(63),
+    FOURTH_VALUE(2);
+
+    private final int position;
+
+    ShuffledEnum(final int position) {
+        this.position = position;
+    }
+
+    @Override
+    public int getBitFieldPosition() {
+        return position;
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.florentclarret.jbitfield.enums;
+
+import io.github.florentclarret.jbitfield.BitFieldElement;
+
+public enum WideEnum implements BitFieldElement {
+    FIRST_VALUE(0),
+    SECOND_VALUE(31),
+    THIRD_VALUE(32),
+    FOURTH_VALUE(62),
+    FIFTH_VALUE(63);
+
+    private final int position;
+
+    WideEnum(final int position) {
+        this.position = position;
+    }
+
+    @Override
+    public int getBitFieldPosition() {
+        return position;
+    }
+}